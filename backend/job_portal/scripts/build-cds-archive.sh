@@ -0,0 +1,31 @@
+#!/bin/sh
+# Builds an AppCDS archive for the boot jar (requires a JDK 13+ runtime).
+#
+# CDS cannot share classes loaded from nested jars or directories, so the boot jar is unpacked into a
+# flat class path of plain jars (target/cds/application.jar and target/cds/lib). A training run then
+# starts the application with the fast-startup profile and dumps the loaded classes on exit.
+# Run the result with:
+#   java -XX:SharedArchiveFile=target/cds/app.jsa -cp "target/cds/application.jar:target/cds/lib/*" \
+#        com.mitcsn.job_portal.JobPortalApplication --spring.profiles.active=fast-startup
+set -e
+
+cd "$(dirname "$0")/.."
+
+sh ./mvnw -q -DskipTests package
+
+JAR=$(ls target/job_portal-*.jar | grep -v original | head -n 1)
+rm -rf target/cds
+mkdir -p target/cds/unpacked
+(cd target/cds/unpacked && jar -xf "../../$(basename "$JAR")")
+mv target/cds/unpacked/BOOT-INF/lib target/cds/lib
+jar -cf target/cds/application.jar -C target/cds/unpacked/BOOT-INF/classes .
+rm -rf target/cds/unpacked
+
+java -XX:ArchiveClassesAtExit=target/cds/app.jsa \
+     -cp "target/cds/application.jar:target/cds/lib/*" \
+     com.mitcsn.job_portal.JobPortalApplication \
+     --spring.profiles.active=fast-startup \
+     --jobportal.startup.exit-after-ready=true \
+     "$@"
+
+echo "CDS archive written to target/cds/app.jsa"
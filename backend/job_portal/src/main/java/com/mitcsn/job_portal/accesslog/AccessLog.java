@@ -0,0 +1,137 @@
+package com.mitcsn.job_portal.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log: one JSON line per captured request, written by a background thread.
+ *
+ * Request threads only decide whether to capture and copy a few references into the
+ * {@link AccessLogRing}; formatting and the actual logging happen on the writer thread.
+ * Successful reads are sampled at {@code sampleRate}, while errors, slow requests and writes are
+ * always captured. If the writer cannot keep up, events are dropped and the count is reported.
+ */
+@Slf4j
+public class AccessLog {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DROP_REPORT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int DRAIN_BATCH = 256;
+
+    private final Logger target;
+    private final AccessLogRing ring;
+    private final double sampleRate;
+    private final long slowNanos;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AccessLog(Logger target, int bufferSize, double sampleRate, long slowNanos) {
+        this.target = target;
+        this.ring = new AccessLogRing(bufferSize);
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowNanos;
+        this.writer = new Thread(this::write, "access-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    public void start() {
+        writer.start();
+    }
+
+    // Writes what is still buffered, waiting at most the given time
+    public void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(timeoutMillis);
+    }
+
+    /**
+     * Records a finished request if it is captured.
+     *
+     * @return true when the event was queued
+     */
+    public boolean record(long timestampMillis, String method, String uri, String query, String client,
+                          int status, long durationNanos, long responseBytes) {
+        if (!isCaptured(method, status, durationNanos)) {
+            return false;
+        }
+        return ring.offer(timestampMillis, method, uri, query, client, status, durationNanos, responseBytes);
+    }
+
+    boolean isCaptured(String method, int status, long durationNanos) {
+        if (status >= 400 || durationNanos >= slowNanos || !("GET".equals(method) || "HEAD".equals(method))) {
+            return true;
+        }
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public long pending() {
+        return ring.size();
+    }
+
+    private void write() {
+        long lastDropReport = System.nanoTime();
+        while (true) {
+            int drained = ring.drain(this::write, DRAIN_BATCH);
+            if (drained == 0) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            long now = System.nanoTime();
+            if (now - lastDropReport >= DROP_REPORT_NANOS) {
+                lastDropReport = now;
+                long dropped = ring.droppedAndReset();
+                if (dropped > 0) {
+                    log.warn("Access log buffer full, dropped {} events", dropped);
+                }
+            }
+        }
+    }
+
+    private void write(AccessLogEvent event) {
+        if (!target.isInfoEnabled()) {
+            return;
+        }
+        line.setLength(0);
+        line.append("{\"time\":\"").append(Instant.ofEpochMilli(event.getTimestampMillis()))
+                .append("\",\"method\":\"").append(event.getMethod())
+                .append("\",\"uri\":");
+        appendString(event.getUri());
+        line.append(",\"query\":");
+        appendString(event.getQuery());
+        line.append(",\"client\":");
+        appendString(event.getClient());
+        line.append(",\"status\":").append(event.getStatus())
+                .append(",\"durationMs\":").append(event.getDurationNanos() / 1000 / 1000d)
+                .append(",\"bytes\":").append(event.getResponseBytes())
+                .append('}');
+        target.info(line.toString());
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
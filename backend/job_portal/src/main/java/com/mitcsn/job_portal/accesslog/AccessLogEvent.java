@@ -0,0 +1,81 @@
+package com.mitcsn.job_portal.accesslog;
+
+/**
+ * One request in the {@link AccessLogRing}. Instances are slots that are reused, so handlers must
+ * copy what they need before returning.
+ */
+public final class AccessLogEvent {
+
+    private long timestampMillis;
+    private String method;
+    private String uri;
+    private String query;
+    private String client;
+    private int status;
+    private long durationNanos;
+    private long responseBytes;
+    private volatile long publishedSequence = -1;
+
+    void set(long timestampMillis, String method, String uri, String query, String client,
+             int status, long durationNanos, long responseBytes) {
+        this.timestampMillis = timestampMillis;
+        this.method = method;
+        this.uri = uri;
+        this.query = query;
+        this.client = client;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.responseBytes = responseBytes;
+    }
+
+    // The volatile write makes the fields above visible to the consumer
+    void publish(long sequence) {
+        publishedSequence = sequence;
+    }
+
+    long publishedSequence() {
+        return publishedSequence;
+    }
+
+    // Drops the string references so a quiet ring does not keep request data alive
+    void clear() {
+        method = null;
+        uri = null;
+        query = null;
+        client = null;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    // Null when the request had no query string
+    public String getQuery() {
+        return query;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    // -1 when unknown
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+}
@@ -0,0 +1,185 @@
+package com.mitcsn.job_portal.accesslog;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request and hands it to the {@link AccessLog}, written to the {@code access}
+ * logger. Runs before the other filters so throttled and failed requests are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "jobportal.accesslog.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    @Value("${jobportal.accesslog.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${jobportal.accesslog.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${jobportal.accesslog.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    @Value("${jobportal.accesslog.include-query:true}")
+    private boolean includeQuery;
+
+    private volatile AccessLog accessLog;
+
+    // Called by Spring and again by the servlet container, the first call starts the writer
+    @Override
+    protected synchronized void initFilterBean() {
+        if (accessLog != null) {
+            return;
+        }
+        accessLog = new AccessLog(LoggerFactory.getLogger("access"), bufferSize, sampleRate,
+                TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis));
+        accessLog.start();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            accessLog.stop(1000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        CountingResponse counting = new CountingResponse(response);
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, counting);
+            status = counting.getStatus();
+        } finally {
+            if (status != HttpServletResponse.SC_INTERNAL_SERVER_ERROR && request.isAsyncStarted()) {
+                // A streamed response is still being written, record it once it has completed
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting.getStatus(), started, counting.bytesWritten());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // An exception escaping the chain is recorded as 500
+                record(request, status, started, counting.bytesWritten());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long started, long bytes) {
+        accessLog.record(System.currentTimeMillis(), request.getMethod(), request.getRequestURI(),
+                includeQuery ? request.getQueryString() : null, request.getRemoteAddr(),
+                status, System.nanoTime() - started, bytes);
+    }
+
+    // Counts the bytes written through the output stream, which is what the message converters use
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingStream stream;
+        private boolean usedWriter;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                stream = new CountingStream(super.getOutputStream());
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            usedWriter = true;
+            return super.getWriter();
+        }
+
+        // Falls back to the declared length for responses written as text, -1 when unknown
+        long bytesWritten() {
+            if (stream != null && !usedWriter) {
+                return stream.count;
+            }
+            String length = getHeader("Content-Length");
+            return length == null ? (usedWriter ? -1 : 0) : Long.parseLong(length);
+        }
+    }
+
+    private static final class CountingStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        CountingStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mitcsn.job_portal.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated {@link AccessLogEvent}s.
+ *
+ * Producers claim a sequence with a CAS on the tail, fill the slot and publish it by writing the
+ * sequence into the slot; they never block and never allocate. When the consumer has fallen a full
+ * ring behind, events are dropped and counted instead. The single consumer reads slots in sequence
+ * order and releases them by advancing the head.
+ */
+public final class AccessLogRing {
+
+    private final AccessLogEvent[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AccessLogRing(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new AccessLogEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AccessLogEvent();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return false when the ring is full and the event was dropped
+     */
+    public boolean offer(long timestampMillis, String method, String uri, String query, String client,
+                         int status, long durationNanos, long responseBytes) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        AccessLogEvent event = slots[(int) sequence & mask];
+        event.set(timestampMillis, method, uri, query, client, status, durationNanos, responseBytes);
+        event.publish(sequence);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published events to the handler, in order, and releases their
+     * slots. Only the consumer thread may call this.
+     *
+     * @return the number of events handled
+     */
+    public int drain(Handler handler, int max) {
+        long next = head.get();
+        int count = 0;
+        while (count < max) {
+            AccessLogEvent event = slots[(int) next & mask];
+            if (event.publishedSequence() != next) {
+                break;
+            }
+            handler.handle(event);
+            event.clear();
+            next++;
+            count++;
+            // Releasing per event lets producers reuse the slot as early as possible
+            head.lazySet(next);
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long size() {
+        return tail.get() - head.get();
+    }
+
+    public long droppedAndReset() {
+        return dropped.getAndSet(0);
+    }
+
+    public interface Handler {
+
+        void handle(AccessLogEvent event);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mitcsn.job_portal.alert;
+
+import com.mitcsn.job_portal.entity.JobAlert;
+import com.mitcsn.job_portal.repository.JobAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the alert outbox in batches, sending one notification per address for all of its
+ * pending alerts in the batch. Pending rows are locked with {@code SKIP LOCKED}, so several
+ * instances can dispatch at the same time without sending an alert twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobAlertDispatcher {
+
+    private final JobAlertRepository jobAlertRepository;
+    private final JobAlertSender jobAlertSender;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jobportal.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.alerts.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${jobportal.alerts.dispatch-interval-ms:30000}",
+            initialDelayString = "${jobportal.alerts.dispatch-interval-ms:30000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int sent;
+        do {
+            Integer batch = transactionTemplate.execute(status -> dispatchBatch());
+            sent = batch == null ? 0 : batch;
+        } while (sent == batchSize);
+    }
+
+    // Returns the number of alerts sent; fewer than a full batch ends the run
+    private int dispatchBatch() {
+        List<JobAlert> pending = jobAlertRepository.findPendingForUpdate(PageRequest.of(0, batchSize));
+        Map<String, List<JobAlert>> byEmail = new LinkedHashMap<>();
+        for (JobAlert alert : pending) {
+            byEmail.computeIfAbsent(alert.getEmail(), email -> new ArrayList<>()).add(alert);
+        }
+
+        int sent = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, List<JobAlert>> entry : byEmail.entrySet()) {
+            List<Long> jobIds = new ArrayList<>(entry.getValue().size());
+            for (JobAlert alert : entry.getValue()) {
+                jobIds.add(alert.getJobId());
+            }
+            try {
+                jobAlertSender.send(entry.getKey(), jobIds);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to send {} alerts to {}, retrying next run: {}", jobIds.size(), entry.getKey(), ex.getMessage());
+                continue;
+            }
+            for (JobAlert alert : entry.getValue()) {
+                alert.setSentAt(now);
+            }
+            sent += entry.getValue().size();
+        }
+        if (sent > 0) {
+            log.info("Sent {} job alerts to {} addresses", sent, byEmail.size());
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mitcsn.job_portal.alert;
+
+import java.util.List;
+
+/**
+ * Delivers one notification per address. Throwing leaves the alerts queued for the next run.
+ */
+public interface JobAlertSender {
+
+    void send(String email, List<Long> jobIds);
+}
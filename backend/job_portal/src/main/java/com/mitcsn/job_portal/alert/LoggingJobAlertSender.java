@@ -0,0 +1,19 @@
+package com.mitcsn.job_portal.alert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sender that only logs the alerts, until a mail integration is configured.
+ */
+@Component
+@Slf4j
+public class LoggingJobAlertSender implements JobAlertSender {
+
+    @Override
+    public void send(String email, List<Long> jobIds) {
+        log.info("Job alert for {}: {} new matching jobs {}", email, jobIds.size(), jobIds);
+    }
+}
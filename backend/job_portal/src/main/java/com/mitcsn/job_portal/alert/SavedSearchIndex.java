@@ -0,0 +1,293 @@
+package com.mitcsn.job_portal.alert;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.entity.SavedSearch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse index of saved searches: instead of running every saved search against a new job, the
+ * job is used to look up the few searches that could match it.
+ *
+ * Each search is filed under exactly one key, taken from its most selective predicate:
+ * <ol>
+ *     <li>its lower-cased skill, position or company text (whichever is filed least often), together
+ *     with its job type and location type if it has them</li>
+ *     <li>its job type and location type together, or either one alone</li>
+ *     <li>its minimum salary, in a sorted map</li>
+ *     <li>otherwise a bucket of searches that match every job</li>
+ * </ol>
+ * Text filters are case-insensitive substring matches like in {@code searchJobs}, so a job probes
+ * every substring of its texts with a length some filed text has, combined with each of its enum
+ * keys, plus its enum keys alone and the salary bounds up to its salary. Only those candidates are
+ * checked against the full predicate.
+ */
+public class SavedSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TextIndex skills = new TextIndex();
+    private final TextIndex positions = new TextIndex();
+    private final TextIndex companies = new TextIndex();
+    private final Map<String, Map<Long, Query>> enumKeys = new HashMap<>();
+    private final NavigableMap<BigDecimal, Map<Long, Query>> salaryBounds = new TreeMap<>();
+    private final Map<Long, Query> matchAll = new LinkedHashMap<>();
+    private final Map<Long, Query> byId = new HashMap<>();
+
+    public void add(SavedSearch savedSearch) {
+        Query query = new Query(savedSearch);
+        lock.writeLock().lock();
+        try {
+            removeLocked(query.id);
+            file(query);
+            byId.put(query.id, query);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the saved searches the job matches, in no particular order.
+     */
+    public List<Query> match(JobResponseDto job) {
+        List<Query> matches = new ArrayList<>();
+        for (Query candidate : candidates(job)) {
+            if (candidate.matches(job)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    // Every search filed under a key the job probes; each search is filed once so there are no repeats
+    List<Query> candidates(JobResponseDto job) {
+        List<Query> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<String> keys = enumKeys(job.getJobType(), job.getJobLocationType());
+            skills.probe(job.getSkillsRequired(), keys, candidates);
+            positions.probe(job.getJobPosition(), keys, candidates);
+            companies.probe(job.getCompanyName(), keys, candidates);
+            for (String key : keys) {
+                Map<Long, Query> bucket = enumKeys.get(key);
+                if (bucket != null) {
+                    candidates.addAll(bucket.values());
+                }
+            }
+            if (job.getSalaryPackage() != null) {
+                for (Map<Long, Query> bucket : salaryBounds.headMap(job.getSalaryPackage(), true).values()) {
+                    candidates.addAll(bucket.values());
+                }
+            }
+            candidates.addAll(matchAll.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidates;
+    }
+
+    private void file(Query query) {
+        String enumKey = enumKey(query.jobType, query.jobLocationType);
+        TextIndex text = null;
+        String needle = null;
+        int filed = Integer.MAX_VALUE;
+        if (query.skill != null && skills.count(query.skill, enumKey) < filed) {
+            text = skills;
+            needle = query.skill;
+            filed = skills.count(needle, enumKey);
+        }
+        if (query.position != null && positions.count(query.position, enumKey) < filed) {
+            text = positions;
+            needle = query.position;
+            filed = positions.count(needle, enumKey);
+        }
+        if (query.company != null && companies.count(query.company, enumKey) < filed) {
+            text = companies;
+            needle = query.company;
+        }
+
+        if (text != null) {
+            text.add(query, needle, enumKey);
+        } else if (query.jobType != null || query.jobLocationType != null) {
+            fileUnder(query, enumKeys, enumKey);
+        } else if (query.minSalary != null) {
+            fileUnder(query, salaryBounds, query.minSalary);
+        } else {
+            query.bucket = matchAll;
+            matchAll.put(query.id, query);
+        }
+    }
+
+    private static <K> void fileUnder(Query query, Map<K, Map<Long, Query>> index, K key) {
+        Map<Long, Query> bucket = index.computeIfAbsent(key, k -> new HashMap<>());
+        bucket.put(query.id, query);
+        query.bucket = bucket;
+        query.owner = index;
+        query.key = key;
+    }
+
+    private void removeLocked(Long id) {
+        Query query = byId.remove(id);
+        if (query == null) {
+            return;
+        }
+        query.bucket.remove(id);
+        if (query.owner != null && query.bucket.isEmpty()) {
+            query.owner.remove(query.key);
+        }
+        if (query.text != null) {
+            query.text.lengths.merge(query.textLength, -1, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    // A search is filed under neither, one or both enums; a job probes all four combinations
+    private static List<String> enumKeys(Job.JobType jobType, Job.JobLocationType jobLocationType) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(enumKey(null, null));
+        if (jobType != null && jobLocationType != null) {
+            keys.add(enumKey(jobType, jobLocationType));
+        }
+        if (jobType != null) {
+            keys.add(enumKey(jobType, null));
+        }
+        if (jobLocationType != null) {
+            keys.add(enumKey(null, jobLocationType));
+        }
+        return keys;
+    }
+
+    private static String enumKey(Job.JobType jobType, Job.JobLocationType jobLocationType) {
+        return (jobType == null ? "" : jobType.name()) + "|" + (jobLocationType == null ? "" : jobLocationType.name());
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String text, String needle) {
+        return needle == null || (text != null && text.toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    // Filters on one text field, keyed by the lower-cased filter text and the enum key
+    private static final class TextIndex {
+
+        private final Map<String, Map<Long, Query>> byText = new HashMap<>();
+        // Number of filed searches per text length, so a job only probes substrings of those lengths
+        private final NavigableMap<Integer, Integer> lengths = new TreeMap<>();
+
+        int count(String needle, String enumKey) {
+            Map<Long, Query> bucket = byText.get(needle + '\0' + enumKey);
+            return bucket == null ? 0 : bucket.size();
+        }
+
+        void add(Query query, String needle, String enumKey) {
+            fileUnder(query, byText, needle + '\0' + enumKey);
+            query.text = this;
+            query.textLength = needle.length();
+            lengths.merge(needle.length(), 1, Integer::sum);
+        }
+
+        void probe(String text, List<String> enumKeys, List<Query> candidates) {
+            if (text == null || byText.isEmpty()) {
+                return;
+            }
+            String lower = text.toLowerCase(Locale.ROOT);
+            // Distinct substrings only, a search must not be returned twice
+            Set<String> seen = new HashSet<>();
+            for (int length : lengths.headMap(lower.length(), true).keySet()) {
+                for (int start = 0; start + length <= lower.length(); start++) {
+                    String substring = lower.substring(start, start + length);
+                    if (!seen.add(substring)) {
+                        continue;
+                    }
+                    for (String enumKey : enumKeys) {
+                        Map<Long, Query> bucket = byText.get(substring + '\0' + enumKey);
+                        if (bucket != null) {
+                            candidates.addAll(bucket.values());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The part of a saved search needed for matching, with text filters lower-cased once.
+     */
+    public static final class Query {
+
+        private final long id;
+        private final String email;
+        private final String company;
+        private final String position;
+        private final String skill;
+        private final Job.JobType jobType;
+        private final Job.JobLocationType jobLocationType;
+        private final BigDecimal minSalary;
+
+        // Where the query is filed, for removal
+        private Map<Long, Query> bucket;
+        private Map<?, Map<Long, Query>> owner;
+        private Object key;
+        private TextIndex text;
+        private int textLength;
+
+        private Query(SavedSearch savedSearch) {
+            this.id = savedSearch.getId();
+            this.email = savedSearch.getEmail();
+            this.company = lower(savedSearch.getCompanyName());
+            this.position = lower(savedSearch.getJobPosition());
+            this.skill = lower(savedSearch.getSkill());
+            this.jobType = savedSearch.getJobType();
+            this.jobLocationType = savedSearch.getJobLocationType();
+            this.minSalary = savedSearch.getMinSalary();
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public boolean matches(JobResponseDto job) {
+            return contains(job.getSkillsRequired(), skill)
+                    && contains(job.getJobPosition(), position)
+                    && contains(job.getCompanyName(), company)
+                    && (jobType == null || jobType == job.getJobType())
+                    && (jobLocationType == null || jobLocationType == job.getJobLocationType())
+                    && (minSalary == null || (job.getSalaryPackage() != null && job.getSalaryPackage().compareTo(minSalary) >= 0));
+        }
+    }
+}
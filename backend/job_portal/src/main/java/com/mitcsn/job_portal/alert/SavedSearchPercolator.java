@@ -0,0 +1,226 @@
+package com.mitcsn.job_portal.alert;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.entity.SavedSearch;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.SavedSearchChangedEvent;
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Matches created and updated jobs against the saved searches and queues an alert for each match.
+ *
+ * Alerts are written to the {@code job_alert_outbox} table in the transaction that changes the
+ * job, so they are committed or rolled back together with it, and sent later by the
+ * {@link JobAlertDispatcher}. An update only alerts searches the job did not match before.
+ * Matching uses a {@link SavedSearchIndex} that follows local changes immediately. Saved searches
+ * are never updated, so a periodic refresh only loads the searches created since the previous one
+ * and compares the table's row count with the index; the whole table is streamed back in only when
+ * the counts differ (a search deleted on another instance) or once per reconcile interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchPercolator {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO job_alert_outbox (saved_search_id, job_id, email, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT id, email, company_name, job_position, skill, job_type, "
+            + "job_location_type, min_salary, created_at FROM saved_searches";
+    private static final String SELECT_CREATED_SQL = SELECT_SQL + " WHERE created_at >= ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM saved_searches";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jobportal.alerts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.alerts.index-reconcile-ms:3600000}")
+    private long reconcileIntervalMillis;
+
+    // Covers transactions still open when the previous refresh ran and clock skew between instances
+    @Value("${jobportal.alerts.index-overlap-ms:60000}")
+    private long overlapMillis;
+
+    @Value("${jobportal.alerts.fetch-size:5000}")
+    private int fetchSize;
+
+    private volatile SavedSearchIndex index;
+    private List<SavedSearchChangedEvent> pendingEvents;
+    // Start of the last successful load, on this instance's clock
+    private volatile LocalDateTime loadedFrom;
+    private volatile long reconciledAt;
+
+    @EventListener(WarmUpEvent.class)
+    public void onWarmUp() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.alerts.index-refresh-ms:60000}",
+            initialDelayString = "${jobportal.alerts.index-refresh-ms:60000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        if (index == null || System.currentTimeMillis() - reconciledAt >= reconcileIntervalMillis) {
+            reconcile();
+        } else if (!refresh()) {
+            reconcile();
+        }
+    }
+
+    // Loads the searches created since the last load, false when the index no longer matches the table
+    private boolean refresh() {
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+        LocalDateTime started = LocalDateTime.now();
+        List<SavedSearch> created = new ArrayList<>();
+        long total;
+        try {
+            stream(SELECT_CREATED_SQL, created::add,
+                    Timestamp.valueOf(loadedFrom.minus(Duration.ofMillis(overlapMillis))));
+            total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh saved searches, keeping the previous index: {}", ex.getMessage());
+            synchronized (this) {
+                pendingEvents = null;
+            }
+            return true;
+        }
+
+        SavedSearchIndex current = index;
+        synchronized (this) {
+            created.forEach(current::add);
+            // Replayed so a search deleted while the rows were read stays deleted
+            for (SavedSearchChangedEvent event : pendingEvents) {
+                apply(current, event);
+            }
+            pendingEvents = null;
+            loadedFrom = started;
+        }
+        if (total != current.size()) {
+            log.debug("Index holds {} saved searches but the table {}, reconciling", current.size(), total);
+            return false;
+        }
+        return true;
+    }
+
+    private void reconcile() {
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+        LocalDateTime started = LocalDateTime.now();
+        SavedSearchIndex loaded = new SavedSearchIndex();
+        try {
+            stream(SELECT_SQL, loaded::add);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load saved searches, keeping the previous index: {}", ex.getMessage());
+            synchronized (this) {
+                pendingEvents = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (SavedSearchChangedEvent event : pendingEvents) {
+                apply(loaded, event);
+            }
+            pendingEvents = null;
+            index = loaded;
+            loadedFrom = started;
+            reconciledAt = System.currentTimeMillis();
+        }
+        log.debug("Loaded {} saved searches in {} ms", loaded.size(),
+                Duration.between(started, LocalDateTime.now()).toMillis());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onSavedSearchChanged(SavedSearchChangedEvent event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        SavedSearchIndex current = index;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    // Runs before the job's transaction commits so the alerts are part of it
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onJobChanged(JobChangedEvent event) {
+        SavedSearchIndex current = index;
+        JobResponseDto job = event.getAfter();
+        if (current == null || event.isRemote() || job == null || !Boolean.TRUE.equals(job.getIsActive())) {
+            return;
+        }
+
+        JobResponseDto before = event.getBefore();
+        List<Object[]> alerts = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (SavedSearchIndex.Query query : current.match(job)) {
+            if (before == null || !query.matches(before)) {
+                alerts.add(new Object[]{query.getId(), job.getId(), query.getEmail(), now});
+            }
+        }
+        if (!alerts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, alerts);
+            log.debug("Queued {} alerts for job {}", alerts.size(), job.getId());
+        }
+    }
+
+    public int size() {
+        SavedSearchIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    // Streams in a read-only transaction so the driver fetches fetchSize rows at a time
+    private void stream(String sql, Consumer<SavedSearch> consumer, Object... args) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> streaming.query(sql,
+                (ResultSet rs) -> consumer.accept(toSavedSearch(rs)), args));
+    }
+
+    private static SavedSearch toSavedSearch(ResultSet rs) throws SQLException {
+        String jobType = rs.getString("job_type");
+        String jobLocationType = rs.getString("job_location_type");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new SavedSearch(rs.getLong("id"), rs.getString("email"), rs.getString("company_name"),
+                rs.getString("job_position"), rs.getString("skill"),
+                jobType == null ? null : Job.JobType.valueOf(jobType),
+                jobLocationType == null ? null : Job.JobLocationType.valueOf(jobLocationType),
+                rs.getBigDecimal("min_salary"), createdAt == null ? null : createdAt.toLocalDateTime());
+    }
+
+    private static void apply(SavedSearchIndex target, SavedSearchChangedEvent event) {
+        if (event.getAfter() == null) {
+            target.remove(event.getSavedSearchId());
+        } else {
+            target.add(event.getAfter());
+        }
+    }
+}
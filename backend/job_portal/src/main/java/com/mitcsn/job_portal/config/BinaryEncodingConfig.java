@@ -0,0 +1,39 @@
+package com.mitcsn.job_portal.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) as
+ * alternatives to JSON, selected with the Accept and Content-Type headers. The converters are
+ * placed after JSON so it stays the default, and use the same mapper configuration as JSON,
+ * including date handling and the {@code ?fields=} filter.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+    
+    // Prototype bean, every getObject() returns a builder with Spring Boot's customizations applied
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC registers both formats with a plain ObjectMapper when the libraries are present
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.mitcsn.job_portal.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Adds the full-text column used by {@code jobportal.search.backend=fulltext} to the jobs table,
+ * after Hibernate has created or updated it. The column is generated by Postgres (12 or later)
+ * from position (weight A), skills and company (B) and description (C), so it never needs to be
+ * written by the application, and is covered by a GIN index.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.search.backend", havingValue = "fulltext")
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class FullTextSearchSchema {
+
+    // Text search configuration of the column; queries must parse with the same one
+    public static final String TEXT_CONFIG = "english";
+
+    public static final String INDEX_NAME = "idx_jobs_search_vector";
+
+    private static final String ADD_COLUMN_SQL = "ALTER TABLE jobs ADD COLUMN IF NOT EXISTS search_vector tsvector "
+            + "GENERATED ALWAYS AS ("
+            + "setweight(to_tsvector('" + TEXT_CONFIG + "', coalesce(job_position, '')), 'A') || "
+            + "setweight(to_tsvector('" + TEXT_CONFIG + "', coalesce(skills_required, '')), 'B') || "
+            + "setweight(to_tsvector('" + TEXT_CONFIG + "', coalesce(company_name, '')), 'B') || "
+            + "setweight(to_tsvector('" + TEXT_CONFIG + "', coalesce(job_description, '')), 'C')) STORED";
+
+    private static final String CREATE_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS " + INDEX_NAME + " ON jobs USING GIN (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createSchema() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.execute(ADD_COLUMN_SQL);
+        jdbcTemplate.execute(CREATE_INDEX_SQL);
+        log.info("Full-text search column and index ready in {} ms", System.currentTimeMillis() - started);
+    }
+}
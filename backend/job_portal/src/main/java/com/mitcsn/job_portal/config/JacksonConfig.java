@@ -0,0 +1,27 @@
+package com.mitcsn.job_portal.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Attaches the {@code ?fields=} property filter to {@link JobResponseDto} through a mix-in, so only
+ * the application's ObjectMapper knows about it; the default filter writes every property.
+ */
+@Configuration
+public class JacksonConfig {
+    
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer jobFieldsFilterCustomizer() {
+        return builder -> builder
+                .mixIn(JobResponseDto.class, JobFieldsMixin.class)
+                .filters(JobFieldSet.ALL.getFilterProvider());
+    }
+    
+    @JsonFilter(JobFieldSet.FILTER_ID)
+    interface JobFieldsMixin {
+    }
+}
@@ -0,0 +1,59 @@
+package com.mitcsn.job_portal.config;
+
+import com.mitcsn.job_portal.dto.ImportReportDto;
+import com.mitcsn.job_portal.service.JobImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Imports a CSV or JSONL file at startup, e.g.
+ * {@code java -jar job_portal.jar --jobportal.import.file=jobs.csv --spring.main.web-application-type=none}
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class JobImportRunner implements CommandLineRunner {
+    
+    private final JobImportService jobImportService;
+    
+    @Value("${jobportal.import.file}")
+    private String file;
+    
+    @Value("${jobportal.import.format:}")
+    private String format;
+    
+    @Override
+    public void run(String... args) throws Exception {
+        Path path = Paths.get(file);
+        JobImportService.Format importFormat = format.isEmpty()
+                ? JobImportService.Format.fromFileName(path.getFileName().toString())
+                : JobImportService.Format.fromName(format);
+        if (importFormat == null) {
+            throw new IllegalArgumentException("Unable to determine import format for " + path
+                    + ", set jobportal.import.format=csv or jsonl");
+        }
+        
+        log.info("Importing jobs from {}", path.toAbsolutePath());
+        ImportReportDto report;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            report = jobImportService.importJobs(inputStream, importFormat);
+        }
+        
+        report.getErrors().forEach(error -> log.warn("Row {} rejected: {}", error.getRow(), error.getErrors()));
+        if (report.isErrorsTruncated()) {
+            log.warn("Only the first {} row errors were reported", report.getErrors().size());
+        }
+        log.info("Imported {} of {} rows from {} ({} failed) in {} ms", report.getImportedRows(),
+                report.getTotalRows(), path.getFileName(), report.getFailedRows(), report.getDurationMs());
+    }
+}
@@ -0,0 +1,29 @@
+package com.mitcsn.job_portal.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shuts the application down as soon as it is ready. Used for the class-data sharing training
+ * run, where the JVM dumps the archive of loaded classes on exit.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.startup.exit-after-ready", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class TrainingRunExitListener implements ApplicationListener<ApplicationReadyEvent> {
+    
+    private final ApplicationContext applicationContext;
+    
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Application ready, exiting after training run");
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
@@ -0,0 +1,66 @@
+package com.mitcsn.job_portal.config;
+
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Publishes the {@link WarmUpEvent} when the application is ready, or with
+ * {@code jobportal.startup.defer-loading} on the first request, so the instance starts without
+ * touching the database. Requests arriving while it is published wait for it, which keeps the
+ * saved-search index loaded before the first job is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUpTrigger extends OncePerRequestFilter {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jobportal.startup.defer-loading:false}")
+    private boolean deferLoading;
+
+    private volatile boolean warmedUp;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!deferLoading) {
+            warmUp();
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!warmedUp) {
+            warmUp();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private synchronized void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+        if (deferLoading) {
+            log.info("First request received, loading the in-memory job views");
+        }
+        eventPublisher.publishEvent(new WarmUpEvent());
+        warmedUp = true;
+    }
+}
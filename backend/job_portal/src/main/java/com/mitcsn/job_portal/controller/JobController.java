@@ -1,21 +1,41 @@
 package com.mitcsn.job_portal.controller;
 
+import com.mitcsn.job_portal.dto.DedupeReportDto;
+import com.mitcsn.job_portal.dto.EmployerJobPageDto;
+import com.mitcsn.job_portal.dto.JobBatchRequestDto;
+import com.mitcsn.job_portal.dto.JobBatchResponseDto;
+import com.mitcsn.job_portal.dto.JobFieldSet;
 import com.mitcsn.job_portal.dto.JobRequestDto;
 import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobSearchPageDto;
+import com.mitcsn.job_portal.dto.JobStatisticsDto;
 import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.service.JobDedupeService;
+import com.mitcsn.job_portal.service.JobFeedService;
 import com.mitcsn.job_portal.service.JobService;
+import com.mitcsn.job_portal.service.JobStatisticsService;
+import com.mitcsn.job_portal.stream.JobStreamer;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/jobs")
@@ -25,10 +45,18 @@ import java.util.List;
 public class JobController {
     
     private final JobService jobService;
+    private final JobFeedService jobFeedService;
+    private final JobDedupeService jobDedupeService;
+    private final JobStatisticsService jobStatisticsService;
+    private final JobStreamer jobStreamer;
+    
+    // Request header carrying the signed-in employer's id, set by the gateway that authenticates the user
+    @Value("${jobportal.employer.header:X-Employer-Id}")
+    private String employerHeader;
     
     @PostMapping
     public ResponseEntity<JobResponseDto> createJob(@Valid @RequestBody JobRequestDto jobRequestDto) {
-        log.info("Received request to create job for company: {}", jobRequestDto.getCompanyName());
+        log.debug("Received request to create job for company: {}", jobRequestDto.getCompanyName());
         JobResponseDto createdJob = jobService.createJob(jobRequestDto);
         return new ResponseEntity<>(createdJob, HttpStatus.CREATED);
     }
@@ -37,22 +65,71 @@ public class JobController {
     public ResponseEntity<JobResponseDto> updateJob(
             @PathVariable Long id, 
             @Valid @RequestBody JobRequestDto jobRequestDto) {
-        log.info("Received request to update job with ID: {}", id);
+        log.debug("Received request to update job with ID: {}", id);
         JobResponseDto updatedJob = jobService.updateJob(id, jobRequestDto);
         return ResponseEntity.ok(updatedJob);
     }
     
+    @PatchMapping("/{id}")
+    public ResponseEntity<JobResponseDto> patchJob(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> fields) {
+        log.debug("Received request to patch job with ID: {}", id);
+        JobResponseDto patchedJob = jobService.patchJob(id, fields);
+        return ResponseEntity.ok(patchedJob);
+    }
+    
+    @GetMapping("/batch")
+    public ResponseEntity<JobBatchResponseDto> getJobsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get {} jobs by ID", ids.size());
+        return ResponseEntity.ok(jobService.getJobsByIds(ids, JobFieldSet.parse(fields)));
+    }
+    
+    // Same as GET /batch, for ID lists too long for a query string
+    @PostMapping("/batch")
+    public ResponseEntity<JobBatchResponseDto> getJobsByIdsPost(
+            @Valid @RequestBody JobBatchRequestDto request,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get {} jobs by ID", request.getIds().size());
+        return ResponseEntity.ok(jobService.getJobsByIds(request.getIds(), JobFieldSet.parse(fields)));
+    }
+    
+    @GetMapping("/featured")
+    public ResponseEntity<List<JobResponseDto>> getFeaturedJobs(
+            @RequestParam(defaultValue = "6") int limit) {
+        log.debug("Received request to get {} featured jobs", limit);
+        return ResponseEntity.ok(jobFeedService.getFeaturedJobs(limit));
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<JobStatisticsDto> getStatistics() {
+        log.debug("Received request to get job statistics");
+        return ResponseEntity.ok(jobStatisticsService.getStatistics());
+    }
+    
+    @GetMapping("/recent")
+    public ResponseEntity<List<JobResponseDto>> getRecentJobs(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Received request to get {} recent jobs", limit);
+        return ResponseEntity.ok(jobFeedService.getRecentJobs(limit));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<JobResponseDto> getJobById(@PathVariable Long id) {
-        log.info("Received request to get job with ID: {}", id);
-        JobResponseDto job = jobService.getJobById(id);
+    public ResponseEntity<JobResponseDto> getJobById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get job with ID: {}", id);
+        JobResponseDto job = jobService.getJobById(id, JobFieldSet.parse(fields));
         return ResponseEntity.ok(job);
     }
     
     @GetMapping
-    public ResponseEntity<List<JobResponseDto>> getAllJobs() {
-        log.info("Received request to get all active jobs");
-        List<JobResponseDto> jobs = jobService.getAllActiveJobs();
+    public ResponseEntity<List<JobResponseDto>> getAllJobs(
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get all active jobs");
+        List<JobResponseDto> jobs = jobService.getAllActiveJobs(JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
@@ -61,72 +138,83 @@ public class JobController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
         
-        log.info("Received request to get paginated jobs - page: {}, size: {}, sortBy: {}, sortDir: {}", 
+        log.debug("Received request to get paginated jobs - page: {}, size: {}, sortBy: {}, sortDir: {}", 
                 page, size, sortBy, sortDir);
         
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<JobResponseDto> jobs = jobService.getAllActiveJobs(pageable);
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+        Page<JobResponseDto> jobs = jobService.getAllActiveJobs(pageable, JobFieldSet.parse(fields));
         
         return ResponseEntity.ok(jobs);
     }
     
+    // Applies the duplicate policy to the jobs already in the table, oldest posting of each group wins
+    @PostMapping("/dedupe")
+    public ResponseEntity<DedupeReportDto> dedupeJobs(@RequestParam(defaultValue = "false") boolean dryRun) {
+        log.debug("Received request to dedupe existing jobs, dry run: {}", dryRun);
+        return ResponseEntity.ok(jobDedupeService.dedupeExistingJobs(dryRun));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJob(@PathVariable Long id) {
-        log.info("Received request to delete job with ID: {}", id);
+        log.debug("Received request to delete job with ID: {}", id);
         jobService.deleteJob(id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/search/company")
     public ResponseEntity<List<JobResponseDto>> searchJobsByCompany(
-            @RequestParam String companyName) {
-        log.info("Received request to search jobs by company: {}", companyName);
-        List<JobResponseDto> jobs = jobService.searchJobsByCompany(companyName);
+            @RequestParam String companyName,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to search jobs by company: {}", companyName);
+        List<JobResponseDto> jobs = jobService.searchJobsByCompany(companyName, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
     @GetMapping("/search/position")
     public ResponseEntity<List<JobResponseDto>> searchJobsByPosition(
-            @RequestParam String jobPosition) {
-        log.info("Received request to search jobs by position: {}", jobPosition);
-        List<JobResponseDto> jobs = jobService.searchJobsByPosition(jobPosition);
+            @RequestParam String jobPosition,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to search jobs by position: {}", jobPosition);
+        List<JobResponseDto> jobs = jobService.searchJobsByPosition(jobPosition, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
     @GetMapping("/search/skill")
     public ResponseEntity<List<JobResponseDto>> searchJobsBySkill(
-            @RequestParam String skill) {
-        log.info("Received request to search jobs by skill: {}", skill);
-        List<JobResponseDto> jobs = jobService.searchJobsBySkill(skill);
+            @RequestParam String skill,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to search jobs by skill: {}", skill);
+        List<JobResponseDto> jobs = jobService.searchJobsBySkill(skill, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
     @GetMapping("/filter/type")
     public ResponseEntity<List<JobResponseDto>> getJobsByType(
-            @RequestParam Job.JobType jobType) {
-        log.info("Received request to get jobs by type: {}", jobType);
-        List<JobResponseDto> jobs = jobService.getJobsByType(jobType);
+            @RequestParam Job.JobType jobType,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get jobs by type: {}", jobType);
+        List<JobResponseDto> jobs = jobService.getJobsByType(jobType, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
     @GetMapping("/filter/location-type")
     public ResponseEntity<List<JobResponseDto>> getJobsByLocationType(
-            @RequestParam Job.JobLocationType jobLocationType) {
-        log.info("Received request to get jobs by location type: {}", jobLocationType);
-        List<JobResponseDto> jobs = jobService.getJobsByLocationType(jobLocationType);
+            @RequestParam Job.JobLocationType jobLocationType,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get jobs by location type: {}", jobLocationType);
+        List<JobResponseDto> jobs = jobService.getJobsByLocationType(jobLocationType, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
     @GetMapping("/filter/company-size")
     public ResponseEntity<List<JobResponseDto>> getJobsByCompanySize(
-            @RequestParam Job.CompanySize companySize) {
-        log.info("Received request to get jobs by company size: {}", companySize);
-        List<JobResponseDto> jobs = jobService.getJobsByCompanySize(companySize);
+            @RequestParam Job.CompanySize companySize,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get jobs by company size: {}", companySize);
+        List<JobResponseDto> jobs = jobService.getJobsByCompanySize(companySize, JobFieldSet.parse(fields));
         return ResponseEntity.ok(jobs);
     }
     
@@ -140,17 +228,102 @@ public class JobController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
         
-        log.info("Received advanced search request with filters");
-        
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        log.debug("Received advanced search request with filters");
         
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
         
         Page<JobResponseDto> jobs = jobService.searchJobs(
-                companyName, jobPosition, skill, jobType, jobLocationType, pageable);
+                companyName, jobPosition, skill, jobType, jobLocationType, pageable, JobFieldSet.parse(fields));
+        
+        return ResponseEntity.ok(jobs);
+    }
+    
+    @GetMapping("/stream")
+    public void streamJobs(
+            @RequestParam(required = false) String companyName,
+            @RequestParam(required = false) String jobPosition,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) Job.JobType jobType,
+            @RequestParam(required = false) Job.JobLocationType jobLocationType,
+            @RequestParam(required = false) Job.CompanySize companySize,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        
+        log.debug("Received stream request with filters");
+        
+        JobFilter filter = JobFilter.builder()
+                .companyName(companyName)
+                .jobPosition(jobPosition)
+                .skill(skill)
+                .jobType(jobType)
+                .jobLocationType(jobLocationType)
+                .companySize(companySize)
+                .build();
+        jobStreamer.stream(filter, JobFieldSet.parse(fields), request, response);
+    }
+    
+    @GetMapping("/search/text")
+    public ResponseEntity<JobSearchPageDto> searchJobsFullText(
+            @RequestParam String q,
+            @RequestParam(required = false) Job.JobType jobType,
+            @RequestParam(required = false) Job.JobLocationType jobLocationType,
+            @RequestParam(required = false) Double afterRank,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received full-text search request: {}", q);
+        JobSearchPageDto page = jobService.searchJobsFullText(
+                q, jobType, jobLocationType, afterRank, afterId, size, JobFieldSet.parse(fields));
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/employer/{employerId}")
+    public ResponseEntity<EmployerJobPageDto> getJobsByEmployer(
+            @PathVariable Long employerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        log.debug("Received request to get jobs of employer: {}", employerId);
+        return ResponseEntity.ok(jobService.getJobsByEmployer(
+                employerId, afterCreatedAt, afterId, size, JobFieldSet.parse(fields)));
+    }
+    
+    @GetMapping("/my-jobs")
+    public ResponseEntity<EmployerJobPageDto> getMyJobs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
+        String header = request.getHeader(employerHeader);
+        long employerId;
+        try {
+            employerId = Long.parseLong(header == null ? "" : header.trim());
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Header " + employerHeader + " must hold the employer id");
+        }
+        log.debug("Received request to get jobs of the current employer: {}", employerId);
+        return ResponseEntity.ok(jobService.getJobsByEmployer(
+                employerId, afterCreatedAt, afterId, size, JobFieldSet.parse(fields)));
+    }
+    
+    @GetMapping("/query")
+    public ResponseEntity<Page<JobResponseDto>> queryJobs(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String fields) {
+        
+        log.debug("Received query request: {}", q);
+        
+        Page<JobResponseDto> jobs = jobService.queryJobs(q, pageRequest(page, size, sortBy, sortDir), JobFieldSet.parse(fields));
         
         return ResponseEntity.ok(jobs);
     }
@@ -180,4 +353,17 @@ public class JobController {
     public ResponseEntity<Job.InterviewMode[]> getInterviewModes() {
         return ResponseEntity.ok(Job.InterviewMode.values());
     }
+    
+    // PageRequest and Sort reject these with IllegalArgumentException, checked here so they are answered with 400
+    private static Pageable pageRequest(int page, int size, String sortBy, String sortDir) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must not be negative and size must be positive");
+        }
+        if (sortBy.trim().isEmpty()) {
+            throw new BadRequestException("sortBy must name a field");
+        }
+        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
+                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return PageRequest.of(page, size, sort);
+    }
 }
@@ -0,0 +1,33 @@
+package com.mitcsn.job_portal.controller;
+
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.exception.ErrorResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@code ?fields=} parameter of job read endpoints to serialization, so only the
+ * requested {@code JobResponseDto} properties are written, wherever the DTOs sit in the response.
+ */
+@RestControllerAdvice(assignableTypes = JobController.class)
+public class JobFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (bodyContainer.getValue() instanceof ErrorResponse || !(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+        String fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter("fields");
+        if (fields != null) {
+            bodyContainer.setFilters(JobFieldSet.parse(fields).getFilterProvider());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mitcsn.job_portal.controller;
+
+import com.mitcsn.job_portal.dto.ImportReportDto;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.service.JobImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/jobs/import")
+@RequiredArgsConstructor
+@Slf4j
+public class JobImportController {
+    
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    
+    private final JobImportService jobImportService;
+    
+    // Streams the raw request body straight into the import pipeline
+    @PostMapping(consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<ImportReportDto> importJobs(
+            @RequestHeader("Content-Type") MediaType contentType,
+            @RequestParam(required = false) String format,
+            InputStream body) throws IOException {
+        JobImportService.Format importFormat = format != null
+                ? JobImportService.Format.fromName(format)
+                : contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                        ? JobImportService.Format.CSV : JobImportService.Format.JSONL;
+        
+        log.info("Received request to import jobs from {} request body", importFormat);
+        return ResponseEntity.ok(jobImportService.importJobs(body, importFormat));
+    }
+    
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDto> importJobsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) throws IOException {
+        JobImportService.Format importFormat = format != null
+                ? JobImportService.Format.fromName(format)
+                : JobImportService.Format.fromFileName(file.getOriginalFilename());
+        if (importFormat == null) {
+            throw new BadRequestException("Unable to determine import format, use format=csv or format=jsonl");
+        }
+        
+        log.info("Received request to import jobs from file: {}", file.getOriginalFilename());
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(jobImportService.importJobs(inputStream, importFormat));
+        }
+    }
+}
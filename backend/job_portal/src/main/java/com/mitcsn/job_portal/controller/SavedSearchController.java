@@ -0,0 +1,49 @@
+package com.mitcsn.job_portal.controller;
+
+import com.mitcsn.job_portal.dto.SavedSearchRequestDto;
+import com.mitcsn.job_portal.dto.SavedSearchResponseDto;
+import com.mitcsn.job_portal.service.SavedSearchService;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/saved-searches")
+@RequiredArgsConstructor
+@Slf4j
+public class SavedSearchController {
+    
+    private final SavedSearchService savedSearchService;
+    
+    @PostMapping
+    public ResponseEntity<SavedSearchResponseDto> createSavedSearch(
+            @Valid @RequestBody SavedSearchRequestDto savedSearchRequestDto) {
+        log.info("Received request to create saved search for: {}", savedSearchRequestDto.getEmail());
+        SavedSearchResponseDto created = savedSearchService.createSavedSearch(savedSearchRequestDto);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<SavedSearchResponseDto> getSavedSearchById(@PathVariable Long id) {
+        log.info("Received request to get saved search with ID: {}", id);
+        return ResponseEntity.ok(savedSearchService.getSavedSearchById(id));
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<SavedSearchResponseDto>> getSavedSearchesByEmail(@RequestParam String email) {
+        log.info("Received request to get saved searches for: {}", email);
+        return ResponseEntity.ok(savedSearchService.getSavedSearchesByEmail(email));
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        log.info("Received request to delete saved search with ID: {}", id);
+        savedSearchService.deleteSavedSearch(id);
+        return ResponseEntity.noContent().build();
+    }
+}
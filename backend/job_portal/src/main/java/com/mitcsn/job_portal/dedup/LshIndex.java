@@ -0,0 +1,161 @@
+package com.mitcsn.job_portal.dedup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index of MinHash signatures.
+ *
+ * A signature is cut into {@code bands} bands of {@code rows} values and filed under one bucket
+ * per band. Two signatures that share any band become candidates; with similarity {@code s} that
+ * happens with probability {@code 1 - (1 - s^rows)^bands}, a steep curve around
+ * {@code (1 / bands)^(1 / rows)}. Candidates are then checked by their estimated similarity, and
+ * at most {@code maxCandidates} are checked per lookup, so a lookup costs the same whatever the
+ * number of indexed signatures.
+ */
+public class LshIndex {
+
+    private final int bands;
+    private final int rows;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    public LshIndex(int bands, int rows, int maxCandidates) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public int signatureLength() {
+        return bands * rows;
+    }
+
+    public void add(long id, int[] signature) {
+        checkLength(signature);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            signatures.put(id, signature);
+            for (int band = 0; band < bands; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most similar indexed signature with an estimated similarity of at least
+     * {@code threshold}, ignoring {@code excludeId} (the job itself when it is already indexed).
+     */
+    public Optional<Match> findSimilar(int[] signature, double threshold, Long excludeId) {
+        checkLength(signature);
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new LinkedHashSet<>();
+            for (int band = 0; band < bands && candidates.size() < maxCandidates; band++) {
+                List<Long> bucket = buckets.get(bandKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size() && candidates.size() < maxCandidates; i++) {
+                    candidates.add(bucket.get(i));
+                }
+            }
+
+            Match best = null;
+            for (Long candidate : candidates) {
+                if (candidate.equals(excludeId)) {
+                    continue;
+                }
+                double similarity = MinHasher.similarity(signature, signatures.get(candidate));
+                if (similarity >= threshold && (best == null || similarity > best.similarity
+                        || (similarity == best.similarity && candidate < best.id))) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        int[] signature = signatures.remove(id);
+        if (signature == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            long key = bandKey(signature, band);
+            List<Long> bucket = buckets.get(key);
+            bucket.remove(Long.valueOf(id));
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    // The band number is part of the key so equal values in different bands do not collide
+    private long bandKey(int[] signature, int band) {
+        long key = band * 0x9e3779b97f4a7c15L;
+        for (int i = band * rows, end = i + rows; i < end; i++) {
+            key = (key ^ signature[i]) * 0x100000001b3L;
+        }
+        return key;
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature.length != bands * rows) {
+            throw new IllegalArgumentException("Expected a signature of " + bands * rows + " values");
+        }
+    }
+
+    public static final class Match {
+
+        private final long id;
+        private final double similarity;
+
+        Match(long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.mitcsn.job_portal.dedup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Computes MinHash signatures over word shingles. The share of equal positions in two signatures
+ * estimates the Jaccard similarity of the two texts' shingle sets, so near-duplicates can be found
+ * without comparing the texts themselves.
+ *
+ * Texts are lower-cased and split into words on anything that is not a letter or digit, so
+ * punctuation, case and spacing changes do not matter. Shingles are runs of {@code shingleSize}
+ * consecutive words.
+ */
+public class MinHasher {
+
+    private final int shingleSize;
+    private final long[] seeds;
+
+    public MinHasher(int numHashes, int shingleSize, long seed) {
+        if (numHashes <= 0 || shingleSize <= 0) {
+            throw new IllegalArgumentException("numHashes and shingleSize must be positive");
+        }
+        this.shingleSize = shingleSize;
+        this.seeds = new long[numHashes];
+        Random random = new Random(seed);
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    /**
+     * Returns the signature of the concatenated texts; null parts are skipped. A text with fewer
+     * words than a shingle is hashed as one shingle, an empty text gives a signature of all
+     * {@link Integer#MAX_VALUE} that only equals other empty texts.
+     */
+    public int[] signature(String... texts) {
+        List<String> words = new ArrayList<>();
+        for (String text : texts) {
+            if (text != null) {
+                words(text, words);
+            }
+        }
+
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        if (words.isEmpty()) {
+            return signature;
+        }
+        int shingles = Math.max(1, words.size() - shingleSize + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(words, start, Math.min(words.size(), start + shingleSize));
+            for (int i = 0; i < seeds.length; i++) {
+                // The high 32 bits of a mixed 64-bit hash, one independent permutation per seed
+                int value = (int) (mix(shingle ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the texts two signatures were computed from.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static void words(String text, List<String> words) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    // FNV-1a over the words of the shingle, with a separator between words
+    private static long hash(List<String> words, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int w = from; w < to; w++) {
+            String word = words.get(w);
+            for (int i = 0; i < word.length(); i++) {
+                hash = (hash ^ word.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ ' ') * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
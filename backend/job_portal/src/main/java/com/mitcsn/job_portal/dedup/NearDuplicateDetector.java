@@ -0,0 +1,219 @@
+package com.mitcsn.job_portal.dedup;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobResyncEvent;
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Finds earlier active jobs that a posting nearly duplicates, by the MinHash similarity of their
+ * company name, position and description.
+ *
+ * The signatures of all active jobs are kept in an {@link LshIndex}, loaded in the background once
+ * the application is ready and kept current from {@link JobChangedEvent}s. Until it has loaded,
+ * no duplicates are reported. What happens to a duplicate is up to the caller and its
+ * {@link Policy}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NearDuplicateDetector {
+
+    private static final String SELECT_SQL =
+            "SELECT id, company_name, job_position, job_description FROM jobs WHERE is_active = true ORDER BY id";
+
+    // Fields that feed the signature, a partial update of anything else keeps it
+    private static final List<String> SIGNATURE_FIELDS = Arrays.asList("companyName", "jobPosition", "jobDescription");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jobportal.dedup.policy:flag}")
+    private String policyName;
+
+    @Value("${jobportal.dedup.threshold:0.8}")
+    private double threshold;
+
+    @Value("${jobportal.dedup.bands:16}")
+    private int bands;
+
+    @Value("${jobportal.dedup.rows:8}")
+    private int rows;
+
+    @Value("${jobportal.dedup.shingle-size:3}")
+    private int shingleSize;
+
+    @Value("${jobportal.dedup.max-candidates:64}")
+    private int maxCandidates;
+
+    @Value("${jobportal.dedup.fetch-size:5000}")
+    private int fetchSize;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-dedup-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private MinHasher hasher;
+    private volatile LshIndex index;
+    private List<JobChangedEvent> pendingEvents;
+
+    public enum Policy {
+        // Accept duplicates silently
+        OFF,
+        // Accept duplicates and record the earlier job in duplicateOfId
+        FLAG,
+        // Refuse to create duplicates
+        REJECT
+    }
+
+    @PostConstruct
+    public void init() {
+        // Fixed seed: signatures must stay comparable across rebuilds and instances
+        hasher = new MinHasher(bands * rows, shingleSize, 0x5eed);
+    }
+
+    @EventListener(WarmUpEvent.class)
+    public void onWarmUp() {
+        if (getPolicy() != Policy.OFF) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @EventListener(JobResyncEvent.class)
+    public void onResync() {
+        if (getPolicy() != Policy.OFF) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        LshIndex current = index;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    public Policy getPolicy() {
+        return Policy.valueOf(policyName.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the most similar active job at or above the similarity threshold, or empty when
+     * there is none, the policy is off or the index has not loaded yet.
+     *
+     * @param excludeId the job itself when checking an existing job, otherwise null
+     */
+    public Optional<LshIndex.Match> findDuplicate(String companyName, String jobPosition, String jobDescription,
+                                                  Long excludeId) {
+        LshIndex current = index;
+        if (current == null || getPolicy() == Policy.OFF) {
+            return Optional.empty();
+        }
+        return current.findSimilar(signature(companyName, jobPosition, jobDescription), threshold, excludeId);
+    }
+
+    // The same check for a signature the caller has already computed
+    public Optional<LshIndex.Match> findDuplicate(int[] signature, Long excludeId) {
+        LshIndex current = index;
+        if (current == null || getPolicy() == Policy.OFF) {
+            return Optional.empty();
+        }
+        return current.findSimilar(signature, threshold, excludeId);
+    }
+
+    public int[] signature(String companyName, String jobPosition, String jobDescription) {
+        return hasher.signature(companyName, jobPosition, jobDescription);
+    }
+
+    // A fresh, empty index with the configured shape, for batch runs over the whole table
+    public LshIndex newIndex() {
+        return new LshIndex(bands, rows, maxCandidates);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        LshIndex rebuilt = newIndex();
+        try {
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streaming.setFetchSize(fetchSize);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> streaming.query(SELECT_SQL, (ResultSet rs) -> {
+                rebuilt.add(rs.getLong("id"), signature(rs.getString("company_name"),
+                        rs.getString("job_position"), rs.getString("job_description")));
+            }));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load job signatures, duplicate detection is paused: {}", ex.getMessage());
+            synchronized (this) {
+                pendingEvents = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (JobChangedEvent event : pendingEvents) {
+                apply(rebuilt, event);
+            }
+            pendingEvents = null;
+            index = rebuilt;
+        }
+        log.info("Loaded {} job signatures for duplicate detection in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    private void apply(LshIndex target, JobChangedEvent event) {
+        JobResponseDto job = event.getAfter();
+        if (job == null || !Boolean.TRUE.equals(job.getIsActive())) {
+            target.remove(event.getJobId());
+            return;
+        }
+        Set<String> changed = event.getChangedFields();
+        if (changed != null && SIGNATURE_FIELDS.stream().noneMatch(changed::contains)) {
+            return;
+        }
+        target.add(job.getId(), signature(job.getCompanyName(), job.getJobPosition(), job.getJobDescription()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DedupeReportDto {
+    
+    private String policy;
+    private boolean dryRun;
+    private long scannedJobs;
+    private long duplicateJobs;
+    // Jobs flagged or deactivated by this run, 0 for a dry run
+    private long updatedJobs;
+    private long durationMs;
+    // Only the first N pairs are listed so the report stays bounded for huge tables
+    private boolean pairsTruncated;
+    private List<DuplicatePairDto> pairs = new ArrayList<>();
+}
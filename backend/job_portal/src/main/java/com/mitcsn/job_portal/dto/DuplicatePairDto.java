@@ -0,0 +1,15 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicatePairDto {
+    
+    private long jobId;
+    private long duplicateOfId;
+    private double similarity;
+}
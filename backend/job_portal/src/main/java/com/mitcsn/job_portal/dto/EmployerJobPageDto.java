@@ -0,0 +1,22 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployerJobPageDto {
+    
+    private List<JobResponseDto> content = new ArrayList<>();
+    // Active jobs of the employer across all pages
+    private long totalJobs;
+    // Pass back as afterCreatedAt and afterId for the next page, null on the last page
+    private LocalDateTime nextAfterCreatedAt;
+    private Long nextAfterId;
+}
@@ -0,0 +1,22 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+    
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long durationMs;
+    // Only the first N row errors are kept so the report stays bounded for huge files
+    private boolean errorsTruncated;
+    private List<ImportRowErrorDto> errors = new ArrayList<>();
+}
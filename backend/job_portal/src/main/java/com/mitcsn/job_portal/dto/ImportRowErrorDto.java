@@ -0,0 +1,16 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+    
+    private long row;
+    private List<String> errors;
+}
@@ -0,0 +1,17 @@
+package com.mitcsn.job_portal.dto;
+
+import javax.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobBatchRequestDto {
+    
+    @NotEmpty(message = "At least one job ID is required")
+    private List<Long> ids;
+}
@@ -0,0 +1,19 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobBatchResponseDto {
+    
+    // Found jobs in the order their ids were requested, duplicates removed
+    private List<JobResponseDto> jobs = new ArrayList<>();
+    // Requested ids that do not exist or are no longer active
+    private List<Long> missingIds = new ArrayList<>();
+}
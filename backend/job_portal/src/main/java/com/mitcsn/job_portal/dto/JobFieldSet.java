@@ -0,0 +1,114 @@
+package com.mitcsn.job_portal.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@link JobResponseDto} properties requested with {@code ?fields=}. Parsed sets are cached
+ * together with the Jackson filter that writes only those properties, keyed by the sorted field
+ * names so spacing and order do not matter, and repeated requests cost a map lookup. The cache
+ * keeps the most recently used sets. The id is always included.
+ */
+public final class JobFieldSet {
+
+    public static final String FILTER_ID = "jobFields";
+
+    // JobResponseDto properties in declaration order, which is also the select order of projections
+    public static final List<String> ALL_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            "id", "companyName", "address", "jobPosition", "numberOfOpenings", "requiredExperience",
+            "salaryPackage", "skillsRequired", "bond", "trainingPeriod", "companySize", "workingDays",
+            "jobType", "jobLocationType", "jobDescription", "travelRequirements", "hiringStages",
+            "interviewMode", "expectedJoiningDate", "isActive", "createdAt", "updatedAt",
+            "duplicateOfId", "employerId"));
+
+    public static final JobFieldSet ALL = new JobFieldSet(ALL_FIELDS, true);
+
+    private static final int MAX_CACHED = 256;
+    private static final LruCache<String, JobFieldSet> CACHE = new LruCache<>(MAX_CACHED);
+
+    private final List<String> fields;
+    private final Set<String> fieldNames;
+    private final boolean all;
+    private final FilterProvider filterProvider;
+
+    private JobFieldSet(List<String> fields, boolean all) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.fieldNames = Collections.unmodifiableSet(new LinkedHashSet<>(fields));
+        this.all = all;
+        this.filterProvider = new SimpleFilterProvider().addFilter(FILTER_ID, all
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fieldNames));
+    }
+
+    /**
+     * Parses a comma-separated list of property names; null or blank means all fields.
+     *
+     * @throws BadRequestException for unknown property names
+     */
+    public static JobFieldSet parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return ALL;
+        }
+        Set<String> requested = new TreeSet<>();
+        requested.add("id");
+        for (String field : value.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                requested.add(name);
+            }
+        }
+        String key = String.join(",", requested);
+        JobFieldSet cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        for (String name : requested) {
+            if (!ALL_FIELDS.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name);
+            }
+        }
+
+        List<String> ordered = new ArrayList<>(requested.size());
+        for (String field : ALL_FIELDS) {
+            if (requested.contains(field)) {
+                ordered.add(field);
+            }
+        }
+        JobFieldSet parsed = new JobFieldSet(ordered, ordered.size() == ALL_FIELDS.size());
+        CACHE.put(key, parsed);
+        return parsed;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    // This set with one more field, for reads that need it whether or not it was requested
+    public JobFieldSet including(String field) {
+        return includes(field) ? this : parse(String.join(",", fields) + "," + field);
+    }
+
+    public boolean includes(String field) {
+        return all || fieldNames.contains(field);
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public FilterProvider getFilterProvider() {
+        return filterProvider;
+    }
+}
@@ -69,4 +69,7 @@ public class JobRequestDto {
     
     @Future(message = "Expected joining date must be in the future")
     private LocalDate expectedJoiningDate;
+    
+    @Positive(message = "Employer id must be positive")
+    private Long employerId;
 }
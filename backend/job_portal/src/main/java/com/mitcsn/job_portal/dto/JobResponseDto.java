@@ -36,4 +36,6 @@ public class JobResponseDto {
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long duplicateOfId;
+    private Long employerId;
 }
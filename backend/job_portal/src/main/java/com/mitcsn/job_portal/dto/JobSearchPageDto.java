@@ -0,0 +1,19 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSearchPageDto {
+    
+    private List<JobResponseDto> content = new ArrayList<>();
+    // Pass back as afterRank and afterId for the next page, null on the last page
+    private Double nextAfterRank;
+    private Long nextAfterId;
+}
@@ -0,0 +1,26 @@
+package com.mitcsn.job_portal.dto;
+
+import com.mitcsn.job_portal.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatisticsDto {
+    
+    private long totalJobs;
+    private long totalOpenings;
+    // Counts of active jobs, largest first; enum counts in declaration order
+    private Map<String, Long> byCompany;
+    private Map<Job.CompanySize, Long> byCompanySize;
+    private Map<Job.JobType, Long> byJobType;
+    private Map<String, Long> byCity;
+    private Map<String, PositionStatisticsDto> byPosition;
+    // Last time the counters were checked against the database, null when computed from it directly
+    private LocalDateTime reconciledAt;
+}
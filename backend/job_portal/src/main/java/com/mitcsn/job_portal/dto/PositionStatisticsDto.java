@@ -0,0 +1,18 @@
+package com.mitcsn.job_portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionStatisticsDto {
+    
+    private long jobs;
+    private long openings;
+    // Over the jobs that state a salary, null when none does
+    private BigDecimal averageSalary;
+}
@@ -0,0 +1,36 @@
+package com.mitcsn.job_portal.dto;
+
+import com.mitcsn.job_portal.entity.Job;
+import javax.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchRequestDto {
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be a valid address")
+    @Size(max = 254, message = "Email must not exceed 254 characters")
+    private String email;
+    
+    @Size(max = 100, message = "Company name must not exceed 100 characters")
+    private String companyName;
+    
+    @Size(max = 100, message = "Job position must not exceed 100 characters")
+    private String jobPosition;
+    
+    @Size(max = 100, message = "Skill must not exceed 100 characters")
+    private String skill;
+    
+    private Job.JobType jobType;
+    
+    private Job.JobLocationType jobLocationType;
+    
+    @DecimalMin(value = "0.0", inclusive = false, message = "Minimum salary must be positive")
+    private BigDecimal minSalary;
+}
@@ -0,0 +1,25 @@
+package com.mitcsn.job_portal.dto;
+
+import com.mitcsn.job_portal.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchResponseDto {
+    
+    private Long id;
+    private String email;
+    private String companyName;
+    private String jobPosition;
+    private String skill;
+    private Job.JobType jobType;
+    private Job.JobLocationType jobLocationType;
+    private BigDecimal minSalary;
+    private LocalDateTime createdAt;
+}
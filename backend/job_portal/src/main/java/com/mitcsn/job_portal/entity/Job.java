@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -14,7 +15,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_active_created_at", columnList = "is_active, created_at"),
+        @Index(name = "idx_jobs_employer_active_created_at_id", columnList = "employer_id, is_active, created_at DESC, id DESC")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -112,6 +117,15 @@ public class Job {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Earlier active job this posting was detected as a near-duplicate of, null if none
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+    
+    // Account of the employer that posted the job, null for postings without an owner
+    @Positive(message = "Employer id must be positive")
+    @Column(name = "employer_id")
+    private Long employerId;
+    
     // Enums
     public enum CompanySize {
         STARTUP("1-10"),
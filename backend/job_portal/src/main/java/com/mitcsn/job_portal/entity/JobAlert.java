@@ -0,0 +1,42 @@
+package com.mitcsn.job_portal.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row: a job that matched a saved search and the address to notify. Rows are written in
+ * the transaction that created or updated the job and sent later in batches.
+ */
+@Entity
+@Table(name = "job_alert_outbox", indexes = {
+        @Index(name = "idx_job_alert_outbox_pending", columnList = "sent_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobAlert {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "saved_search_id", nullable = false)
+    private Long savedSearchId;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "email", nullable = false, length = 254)
+    private String email;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Null until the alert has been handed to the sender
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
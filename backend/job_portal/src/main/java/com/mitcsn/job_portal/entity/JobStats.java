@@ -0,0 +1,26 @@
+package com.mitcsn.job_portal.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStats {
+    
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+    
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount = 0L;
+    
+    @Column(name = "last_viewed_at")
+    private LocalDateTime lastViewedAt;
+}
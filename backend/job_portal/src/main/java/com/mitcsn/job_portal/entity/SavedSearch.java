@@ -0,0 +1,53 @@
+package com.mitcsn.job_portal.entity;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "saved_searches", indexes = {
+        @Index(name = "idx_saved_searches_email", columnList = "email"),
+        @Index(name = "idx_saved_searches_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Where alerts for this search are sent
+    @Column(name = "email", nullable = false, length = 254)
+    private String email;
+    
+    @Column(name = "company_name", length = 100)
+    private String companyName;
+    
+    @Column(name = "job_position", length = 100)
+    private String jobPosition;
+    
+    @Column(name = "skill", length = 100)
+    private String skill;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type")
+    private Job.JobType jobType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_location_type")
+    private Job.JobLocationType jobLocationType;
+    
+    @Column(name = "min_salary", precision = 12, scale = 2)
+    private BigDecimal minSalary;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
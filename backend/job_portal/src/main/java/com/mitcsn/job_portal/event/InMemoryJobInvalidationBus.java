@@ -0,0 +1,37 @@
+package com.mitcsn.job_portal.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers invalidations synchronously to listeners in the same JVM. Used by tests, where several
+ * receivers subscribed to one bus stand in for several instances.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.bus.type", havingValue = "in-memory")
+public class InMemoryJobInvalidationBus implements JobInvalidationBus {
+    
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public void publish(JobInvalidation invalidation) {
+        for (Listener listener : listeners) {
+            listener.onInvalidation(invalidation);
+        }
+    }
+    
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    // Simulates lost notifications
+    public void requestResync() {
+        for (Listener listener : listeners) {
+            listener.onResyncRequired();
+        }
+    }
+}
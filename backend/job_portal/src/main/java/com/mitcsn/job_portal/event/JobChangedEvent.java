@@ -0,0 +1,46 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Published by the job service for every create, update and delete. Listeners that maintain
+ * derived in-memory state should consume it with {@code @TransactionalEventListener} so they
+ * only see committed changes, with {@code fallbackExecution = true} to also receive changes made
+ * on other instances, which are published outside of a transaction.
+ */
+@Data
+@AllArgsConstructor
+public class JobChangedEvent {
+    
+    private Long jobId;
+    private Type type;
+    // State before the change, null for CREATED and for changes made on other instances
+    private JobResponseDto before;
+    // State after the change, null for DELETED
+    private JobResponseDto after;
+    // True when the change was committed by another instance and received over the invalidation bus
+    private boolean remote;
+    // Request fields changed by a partial update, null when any field may have changed
+    private Set<String> changedFields;
+    // The notification a remote change was received as, null for local changes
+    private JobInvalidation invalidation;
+    
+    public JobChangedEvent(Long jobId, Type type, JobResponseDto before, JobResponseDto after) {
+        this(jobId, type, before, after, false, null);
+    }
+    
+    public JobChangedEvent(Long jobId, Type type, JobResponseDto before, JobResponseDto after, boolean remote,
+                           Set<String> changedFields) {
+        this(jobId, type, before, after, remote, changedFields, null);
+    }
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
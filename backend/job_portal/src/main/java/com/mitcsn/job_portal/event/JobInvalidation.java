@@ -0,0 +1,153 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Job-id-level change notification exchanged between instances. Receivers reload the committed
+ * state; besides the id only the fields counted by the job statistics travel, for the states
+ * before and after the change, so counters can apply it as an exact delta in any order. The
+ * payload stays below the NOTIFY size limit; when long text would not fit, only the id is sent.
+ *
+ * Each instance numbers its notifications with a gap-free sequence. A receiver drops sequences it
+ * has already seen from that origin and resynchronizes fully when it detects a gap.
+ */
+@Value
+@AllArgsConstructor
+public class JobInvalidation {
+    
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD_BYTES = 7900;
+    
+    private static final String NULL_FIELD = "~";
+    private static final int STATE_FIELDS = 8;
+    
+    // Random id of the publishing instance, new on every start
+    String origin;
+    long sequence;
+    Long jobId;
+    JobChangedEvent.Type type;
+    // True when before and after were sent; each is null when the job was not active in that state
+    boolean statesIncluded;
+    // Counted fields of the active state before and after the change, see JobAggregates
+    JobResponseDto before;
+    JobResponseDto after;
+    
+    public JobInvalidation(String origin, long sequence, Long jobId, JobChangedEvent.Type type) {
+        this(origin, sequence, jobId, type, false, null, null);
+    }
+    
+    // The invalidation for a committed local change, with both states when they are known and fit
+    public static JobInvalidation of(String origin, long sequence, JobChangedEvent event) {
+        JobInvalidation idOnly = new JobInvalidation(origin, sequence, event.getJobId(), event.getType());
+        if (event.getBefore() == null && event.getType() != JobChangedEvent.Type.CREATED) {
+            return idOnly;
+        }
+        JobInvalidation withStates = new JobInvalidation(origin, sequence, event.getJobId(), event.getType(), true,
+                counted(event.getBefore()), counted(event.getAfter()));
+        return withStates.encode().getBytes(StandardCharsets.UTF_8).length < MAX_PAYLOAD_BYTES ? withStates : idOnly;
+    }
+    
+    public String encode() {
+        String idOnly = origin + ':' + sequence + ':' + jobId + ':' + type.name();
+        return statesIncluded ? idOnly + ':' + encodeState(before) + ':' + encodeState(after) : idOnly;
+    }
+    
+    public static JobInvalidation decode(String payload) {
+        String[] parts = payload.split(":", -1);
+        if (parts.length != 4 && parts.length != 6) {
+            throw new IllegalArgumentException("Malformed job invalidation: " + payload);
+        }
+        try {
+            JobInvalidation idOnly = new JobInvalidation(parts[0], Long.parseLong(parts[1]), Long.valueOf(parts[2]),
+                    JobChangedEvent.Type.valueOf(parts[3]));
+            if (parts.length == 4) {
+                return idOnly;
+            }
+            return new JobInvalidation(idOnly.origin, idOnly.sequence, idOnly.jobId, idOnly.type, true,
+                    decodeState(parts[4]), decodeState(parts[5]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed job invalidation: " + payload, ex);
+        }
+    }
+    
+    private static JobResponseDto counted(JobResponseDto job) {
+        if (job == null || !Boolean.TRUE.equals(job.getIsActive())) {
+            return null;
+        }
+        JobResponseDto state = new JobResponseDto();
+        state.setCompanyName(job.getCompanyName());
+        state.setCompanySize(job.getCompanySize());
+        state.setJobType(job.getJobType());
+        state.setAddress(job.getAddress());
+        state.setJobPosition(job.getJobPosition());
+        state.setNumberOfOpenings(job.getNumberOfOpenings());
+        state.setSalaryPackage(job.getSalaryPackage());
+        state.setEmployerId(job.getEmployerId());
+        state.setIsActive(true);
+        return state;
+    }
+    
+    // Fields URL-encoded so they contain neither ':' nor ','; an inactive state is empty
+    private static String encodeState(JobResponseDto state) {
+        if (state == null) {
+            return "";
+        }
+        return String.join(",", encodeField(state.getCompanyName()), encodeField(state.getCompanySize()),
+                encodeField(state.getJobType()), encodeField(state.getAddress()), encodeField(state.getJobPosition()),
+                encodeField(state.getNumberOfOpenings()),
+                encodeField(state.getSalaryPackage() == null ? null : state.getSalaryPackage().toPlainString()),
+                encodeField(state.getEmployerId()));
+    }
+    
+    private static JobResponseDto decodeState(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        String[] fields = value.split(",", -1);
+        if (fields.length != STATE_FIELDS) {
+            throw new IllegalArgumentException("Expected " + STATE_FIELDS + " state fields");
+        }
+        JobResponseDto state = new JobResponseDto();
+        state.setCompanyName(decodeField(fields[0]));
+        state.setCompanySize(fields[1].equals(NULL_FIELD) ? null : Job.CompanySize.valueOf(fields[1]));
+        state.setJobType(fields[2].equals(NULL_FIELD) ? null : Job.JobType.valueOf(fields[2]));
+        state.setAddress(decodeField(fields[3]));
+        state.setJobPosition(decodeField(fields[4]));
+        state.setNumberOfOpenings(fields[5].equals(NULL_FIELD) ? null : Integer.valueOf(fields[5]));
+        state.setSalaryPackage(fields[6].equals(NULL_FIELD) ? null : new BigDecimal(fields[6]));
+        state.setEmployerId(fields[7].equals(NULL_FIELD) ? null : Long.valueOf(fields[7]));
+        state.setIsActive(true);
+        return state;
+    }
+    
+    private static String encodeField(Object value) {
+        if (value == null) {
+            return NULL_FIELD;
+        }
+        try {
+            return URLEncoder.encode(value instanceof Enum ? ((Enum<?>) value).name() : value.toString(), "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    private static String decodeField(String value) {
+        if (value.equals(NULL_FIELD)) {
+            return null;
+        }
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
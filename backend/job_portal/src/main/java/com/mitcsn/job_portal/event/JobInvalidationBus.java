@@ -0,0 +1,20 @@
+package com.mitcsn.job_portal.event;
+
+/**
+ * Broadcasts {@link JobInvalidation}s to all instances of the application. Implementations may
+ * deliver to the publishing instance too; receivers ignore their own origin.
+ */
+public interface JobInvalidationBus {
+    
+    void publish(JobInvalidation invalidation);
+    
+    void subscribe(Listener listener);
+    
+    interface Listener {
+        
+        void onInvalidation(JobInvalidation invalidation);
+        
+        // Notifications may have been lost (for example while reconnecting), derived state must be rebuilt
+        void onResyncRequired();
+    }
+}
@@ -0,0 +1,108 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Connects the local {@link JobChangedEvent}s to the {@link JobInvalidationBus}.
+ *
+ * Committed local changes are sent as numbered invalidations. Invalidations from other instances
+ * are turned back into remote {@link JobChangedEvent}s carrying the state reloaded from the
+ * database, so in-memory caches and indexes update the same way for local and remote writes, and
+ * carrying the invalidation itself for counters that apply the sent states as a delta.
+ * Since the state is always reloaded, only per-origin ordering matters: repeated or older
+ * sequences are dropped and a skipped sequence triggers a {@link JobResyncEvent}.
+ */
+@Component
+@Slf4j
+public class JobInvalidationRelay implements JobInvalidationBus.Listener {
+
+    private final JobInvalidationBus bus;
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String origin = UUID.randomUUID().toString();
+    private long sequence;
+    private final Map<String, Long> lastSequences = new HashMap<>();
+
+    public JobInvalidationRelay(ObjectProvider<JobInvalidationBus> bus, JobRepository jobRepository,
+                                JobMapper jobMapper, ApplicationEventPublisher eventPublisher) {
+        this.bus = bus.getIfAvailable();
+        this.jobRepository = jobRepository;
+        this.jobMapper = jobMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(WarmUpEvent.class)
+    public void subscribe() {
+        if (bus != null) {
+            bus.subscribe(this);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        if (bus == null || event.isRemote()) {
+            return;
+        }
+        // Numbering and sending under one lock keeps the sequence gap-free on the wire
+        synchronized (this) {
+            JobInvalidation invalidation = JobInvalidation.of(origin, ++sequence, event);
+            try {
+                bus.publish(invalidation);
+            } catch (RuntimeException ex) {
+                // Receivers see the skipped sequence and resync
+                log.warn("Failed to publish invalidation for job {}: {}", event.getJobId(), ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onInvalidation(JobInvalidation invalidation) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+
+        synchronized (lastSequences) {
+            Long last = lastSequences.get(invalidation.getOrigin());
+            if (last != null && invalidation.getSequence() <= last) {
+                log.debug("Dropping out-of-order invalidation {}", invalidation.encode());
+                return;
+            }
+            lastSequences.put(invalidation.getOrigin(), invalidation.getSequence());
+            if (last != null && invalidation.getSequence() > last + 1) {
+                log.warn("Missed invalidations {}..{} from {}, resyncing",
+                        last + 1, invalidation.getSequence() - 1, invalidation.getOrigin());
+                onResyncRequired();
+                return;
+            }
+        }
+
+        JobResponseDto after = jobRepository.findByIdAndIsActiveTrue(invalidation.getJobId())
+                .map(jobMapper::toResponseDto)
+                .orElse(null);
+        eventPublisher.publishEvent(new JobChangedEvent(invalidation.getJobId(), invalidation.getType(), null, after,
+                true, null, invalidation));
+    }
+
+    @Override
+    public void onResyncRequired() {
+        eventPublisher.publishEvent(new JobResyncEvent());
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+}
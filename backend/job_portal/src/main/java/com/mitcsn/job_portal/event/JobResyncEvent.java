@@ -0,0 +1,8 @@
+package com.mitcsn.job_portal.event;
+
+/**
+ * Published when changes from other instances may have been missed. Listeners holding derived
+ * in-memory state must discard and reload it from the database.
+ */
+public class JobResyncEvent {
+}
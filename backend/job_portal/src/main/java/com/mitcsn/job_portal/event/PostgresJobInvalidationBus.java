@@ -0,0 +1,139 @@
+package com.mitcsn.job_portal.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidation bus on Postgres {@code LISTEN/NOTIFY}. Notifications are sent through the pool;
+ * receiving uses a dedicated connection outside the pool, polled by a background thread.
+ *
+ * NOTIFY is not persistent: anything sent while the listening connection is down is lost, so
+ * every reconnect after the first asks listeners for a full resync.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.bus.type", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresJobInvalidationBus implements JobInvalidationBus {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+
+    @Value("${jobportal.bus.channel:job_invalidation}")
+    private String channel;
+
+    @Value("${jobportal.bus.poll-timeout-ms:500}")
+    private int pollTimeoutMillis;
+
+    @Value("${jobportal.bus.reconnect-delay-ms:5000}")
+    private long reconnectDelayMillis;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread receiver;
+
+    // Connects when the instance warms up rather than at boot
+    @EventListener(WarmUpEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        receiver = new Thread(this::receive, "job-invalidation-listener");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        receiver.interrupt();
+        receiver.join(pollTimeoutMillis * 2L);
+    }
+
+    @Override
+    public void publish(JobInvalidation invalidation) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, invalidation.encode());
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private void receive() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    log.info("Reconnected to invalidation channel {}, requesting resync", channel);
+                    listeners.forEach(Listener::onResyncRequired);
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation channel {} failed, reconnecting in {} ms: {}",
+                        channel, reconnectDelayMillis, ex.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        JobInvalidation invalidation;
+        try {
+            invalidation = JobInvalidation.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring {}", ex.getMessage());
+            return;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException ex) {
+                log.warn("Invalidation listener failed for job {}: {}", invalidation.getJobId(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.entity.SavedSearch;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the saved search service when a search is created or deleted, so the alert index
+ * can follow local changes without waiting for its next reload.
+ */
+@Data
+@AllArgsConstructor
+public class SavedSearchChangedEvent {
+    
+    private Long savedSearchId;
+    // The saved search after the change, null when it was deleted
+    private SavedSearch after;
+}
@@ -0,0 +1,8 @@
+package com.mitcsn.job_portal.event;
+
+/**
+ * Published once per instance when it should load its in-memory views of the jobs and start
+ * listening for changes from other instances. Nothing reads the database for them before.
+ */
+public class WarmUpEvent {
+}
@@ -0,0 +1,16 @@
+package com.mitcsn.job_portal.exception;
+
+/**
+ * Thrown when a request's parameters or body are invalid, and answered with 400 Bad Request.
+ * Other IllegalArgumentExceptions are bugs and are answered like any other unexpected error.
+ */
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.mitcsn.job_portal.exception;
+
+public class DuplicateJobException extends RuntimeException {
+    
+    private final Long duplicateOfId;
+    
+    public DuplicateJobException(String message, Long duplicateOfId) {
+        super(message);
+        this.duplicateOfId = duplicateOfId;
+    }
+    
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+}
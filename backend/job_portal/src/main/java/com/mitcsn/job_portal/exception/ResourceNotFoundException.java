@@ -1,9 +1,13 @@
 package com.mitcsn.job_portal.exception;
 
+/**
+ * Thrown for ids that do not exist. The single-argument form carries no stack trace: it is an
+ * expected outcome of bad input, and filling in the trace would cost more than the lookup itself.
+ */
 public class ResourceNotFoundException extends RuntimeException {
     
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ResourceNotFoundException(String message, Throwable cause) {
@@ -5,6 +5,16 @@ import com.mitcsn.job_portal.dto.JobResponseDto;
 import com.mitcsn.job_portal.entity.Job;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
 @Component
 public class JobMapper {
     
@@ -32,6 +42,7 @@ public class JobMapper {
         job.setHiringStages(dto.getHiringStages());
         job.setInterviewMode(dto.getInterviewMode());
         job.setExpectedJoiningDate(dto.getExpectedJoiningDate());
+        job.setEmployerId(dto.getEmployerId());
         
         return job;
     }
@@ -64,6 +75,8 @@ public class JobMapper {
         dto.setIsActive(job.getIsActive());
         dto.setCreatedAt(job.getCreatedAt());
         dto.setUpdatedAt(job.getUpdatedAt());
+        dto.setDuplicateOfId(job.getDuplicateOfId());
+        dto.setEmployerId(job.getEmployerId());
         
         return dto;
     }
@@ -91,5 +104,174 @@ public class JobMapper {
         job.setHiringStages(dto.getHiringStages());
         job.setInterviewMode(dto.getInterviewMode());
         job.setExpectedJoiningDate(dto.getExpectedJoiningDate());
+        // The owner is set on create only, updates never move a job to another employer
+    }
+    
+    // Sets one response property from a projected column value, the inverse of selecting it by name
+    public void setField(JobResponseDto dto, String field, Object value) {
+        switch (field) {
+            case "id":
+                dto.setId((Long) value);
+                break;
+            case "companyName":
+                dto.setCompanyName((String) value);
+                break;
+            case "address":
+                dto.setAddress((String) value);
+                break;
+            case "jobPosition":
+                dto.setJobPosition((String) value);
+                break;
+            case "numberOfOpenings":
+                dto.setNumberOfOpenings((Integer) value);
+                break;
+            case "requiredExperience":
+                dto.setRequiredExperience((String) value);
+                break;
+            case "salaryPackage":
+                dto.setSalaryPackage((BigDecimal) value);
+                break;
+            case "skillsRequired":
+                dto.setSkillsRequired((String) value);
+                break;
+            case "bond":
+                dto.setBond((String) value);
+                break;
+            case "trainingPeriod":
+                dto.setTrainingPeriod((String) value);
+                break;
+            case "companySize":
+                dto.setCompanySize((Job.CompanySize) value);
+                break;
+            case "workingDays":
+                dto.setWorkingDays((String) value);
+                break;
+            case "jobType":
+                dto.setJobType((Job.JobType) value);
+                break;
+            case "jobLocationType":
+                dto.setJobLocationType((Job.JobLocationType) value);
+                break;
+            case "jobDescription":
+                dto.setJobDescription((String) value);
+                break;
+            case "travelRequirements":
+                dto.setTravelRequirements((Job.TravelRequirements) value);
+                break;
+            case "hiringStages":
+                dto.setHiringStages((String) value);
+                break;
+            case "interviewMode":
+                dto.setInterviewMode((Job.InterviewMode) value);
+                break;
+            case "expectedJoiningDate":
+                dto.setExpectedJoiningDate((LocalDate) value);
+                break;
+            case "isActive":
+                dto.setIsActive((Boolean) value);
+                break;
+            case "createdAt":
+                dto.setCreatedAt((LocalDateTime) value);
+                break;
+            case "updatedAt":
+                dto.setUpdatedAt((LocalDateTime) value);
+                break;
+            case "duplicateOfId":
+                dto.setDuplicateOfId((Long) value);
+                break;
+            case "employerId":
+                dto.setEmployerId((Long) value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown job field: " + field);
+        }
+    }
+    
+    // Request fields that can be changed individually with PATCH
+    public static final Set<String> PATCHABLE_FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "companyName", "address", "jobPosition", "numberOfOpenings", "requiredExperience", "salaryPackage",
+            "skillsRequired", "bond", "trainingPeriod", "companySize", "workingDays", "jobType", "jobLocationType",
+            "jobDescription", "travelRequirements", "hiringStages", "interviewMode", "expectedJoiningDate")));
+    
+    /**
+     * Copies only the named fields from the DTO and returns the names of those whose value actually
+     * changed. Unchanged fields are not set, so Hibernate leaves their columns out of the UPDATE.
+     */
+    public Set<String> patchEntityFromDto(JobRequestDto dto, Set<String> fields, Job job) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String field : fields) {
+            switch (field) {
+                case "companyName":
+                    patch(changed, field, job.getCompanyName(), dto.getCompanyName(), job::setCompanyName);
+                    break;
+                case "address":
+                    patch(changed, field, job.getAddress(), dto.getAddress(), job::setAddress);
+                    break;
+                case "jobPosition":
+                    patch(changed, field, job.getJobPosition(), dto.getJobPosition(), job::setJobPosition);
+                    break;
+                case "numberOfOpenings":
+                    patch(changed, field, job.getNumberOfOpenings(), dto.getNumberOfOpenings(), job::setNumberOfOpenings);
+                    break;
+                case "requiredExperience":
+                    patch(changed, field, job.getRequiredExperience(), dto.getRequiredExperience(), job::setRequiredExperience);
+                    break;
+                case "salaryPackage":
+                    // 50000 and 50000.00 are the same NUMERIC value
+                    BigDecimal current = job.getSalaryPackage();
+                    BigDecimal salary = dto.getSalaryPackage();
+                    if (current == null || salary == null ? current != salary : current.compareTo(salary) != 0) {
+                        job.setSalaryPackage(salary);
+                        changed.add(field);
+                    }
+                    break;
+                case "skillsRequired":
+                    patch(changed, field, job.getSkillsRequired(), dto.getSkillsRequired(), job::setSkillsRequired);
+                    break;
+                case "bond":
+                    patch(changed, field, job.getBond(), dto.getBond(), job::setBond);
+                    break;
+                case "trainingPeriod":
+                    patch(changed, field, job.getTrainingPeriod(), dto.getTrainingPeriod(), job::setTrainingPeriod);
+                    break;
+                case "companySize":
+                    patch(changed, field, job.getCompanySize(), dto.getCompanySize(), job::setCompanySize);
+                    break;
+                case "workingDays":
+                    patch(changed, field, job.getWorkingDays(), dto.getWorkingDays(), job::setWorkingDays);
+                    break;
+                case "jobType":
+                    patch(changed, field, job.getJobType(), dto.getJobType(), job::setJobType);
+                    break;
+                case "jobLocationType":
+                    patch(changed, field, job.getJobLocationType(), dto.getJobLocationType(), job::setJobLocationType);
+                    break;
+                case "jobDescription":
+                    patch(changed, field, job.getJobDescription(), dto.getJobDescription(), job::setJobDescription);
+                    break;
+                case "travelRequirements":
+                    patch(changed, field, job.getTravelRequirements(), dto.getTravelRequirements(), job::setTravelRequirements);
+                    break;
+                case "hiringStages":
+                    patch(changed, field, job.getHiringStages(), dto.getHiringStages(), job::setHiringStages);
+                    break;
+                case "interviewMode":
+                    patch(changed, field, job.getInterviewMode(), dto.getInterviewMode(), job::setInterviewMode);
+                    break;
+                case "expectedJoiningDate":
+                    patch(changed, field, job.getExpectedJoiningDate(), dto.getExpectedJoiningDate(), job::setExpectedJoiningDate);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown job field: " + field);
+            }
+        }
+        return changed;
+    }
+    
+    private static <T> void patch(Set<String> changed, String field, T current, T value, Consumer<T> setter) {
+        if (!Objects.equals(current, value)) {
+            setter.accept(value);
+            changed.add(field);
+        }
     }
 }
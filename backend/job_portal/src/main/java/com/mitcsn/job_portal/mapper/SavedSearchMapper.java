@@ -0,0 +1,51 @@
+package com.mitcsn.job_portal.mapper;
+
+import com.mitcsn.job_portal.dto.SavedSearchRequestDto;
+import com.mitcsn.job_portal.dto.SavedSearchResponseDto;
+import com.mitcsn.job_portal.entity.SavedSearch;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SavedSearchMapper {
+    
+    public SavedSearch toEntity(SavedSearchRequestDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setEmail(dto.getEmail());
+        savedSearch.setCompanyName(blankToNull(dto.getCompanyName()));
+        savedSearch.setJobPosition(blankToNull(dto.getJobPosition()));
+        savedSearch.setSkill(blankToNull(dto.getSkill()));
+        savedSearch.setJobType(dto.getJobType());
+        savedSearch.setJobLocationType(dto.getJobLocationType());
+        savedSearch.setMinSalary(dto.getMinSalary());
+        
+        return savedSearch;
+    }
+    
+    public SavedSearchResponseDto toResponseDto(SavedSearch savedSearch) {
+        if (savedSearch == null) {
+            return null;
+        }
+        
+        SavedSearchResponseDto dto = new SavedSearchResponseDto();
+        dto.setId(savedSearch.getId());
+        dto.setEmail(savedSearch.getEmail());
+        dto.setCompanyName(savedSearch.getCompanyName());
+        dto.setJobPosition(savedSearch.getJobPosition());
+        dto.setSkill(savedSearch.getSkill());
+        dto.setJobType(savedSearch.getJobType());
+        dto.setJobLocationType(savedSearch.getJobLocationType());
+        dto.setMinSalary(savedSearch.getMinSalary());
+        dto.setCreatedAt(savedSearch.getCreatedAt());
+        
+        return dto;
+    }
+    
+    // Empty text filters would match every job, store them as "any"
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mitcsn.job_portal.query;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.repository.JobSpecifications;
+import com.mitcsn.job_portal.util.LruCache;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A parsed {@code q=} search such as {@code skill:java type:FULL_TIME,PART_TIME salary>=500000}.
+ *
+ * Clauses are combined with AND; a leading {@code -} negates a clause, double quotes keep spaces
+ * in a value and words without a field match company, position or skills. The most recently
+ * used queries are cached together with the compiled {@link Specification}, keyed by their
+ * clauses so spacing does not matter, and repeated searches skip value conversion and compiling.
+ */
+public final class JobQuery {
+
+    private static final int MAX_CACHED = 512;
+    private static final LruCache<String, JobQuery> CACHE = new LruCache<>(MAX_CACHED);
+
+    private final List<Clause> clauses;
+    private final Specification<Job> specification;
+    private final JobFilter filter;
+
+    JobQuery(List<Clause> clauses) {
+        this.clauses = Collections.unmodifiableList(clauses);
+        this.specification = JobSpecifications.matching(this);
+        this.filter = toFilter(this.clauses);
+    }
+
+    /**
+     * @throws BadRequestException for syntax errors, unknown fields and invalid values
+     */
+    public static JobQuery parse(String text) {
+        List<String> tokens = JobQueryParser.tokenize(text == null ? "" : text);
+        String key = String.join(" ", tokens);
+        JobQuery cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        JobQuery parsed = new JobQuery(JobQueryParser.parse(tokens));
+        CACHE.put(key, parsed);
+        return parsed;
+    }
+
+    public List<Clause> getClauses() {
+        return clauses;
+    }
+
+    public Specification<Job> toSpecification() {
+        return specification;
+    }
+
+    /**
+     * The equivalent {@link JobFilter} when the query only uses what a filter can express (at most
+     * one positive text or single-value enum clause per filter field), so it can be answered by
+     * the in-memory snapshot.
+     */
+    public Optional<JobFilter> toFilter() {
+        return Optional.ofNullable(filter);
+    }
+
+    private static JobFilter toFilter(List<Clause> clauses) {
+        JobFilter.JobFilterBuilder builder = JobFilter.builder();
+        Set<JobQueryField> seen = EnumSet.noneOf(JobQueryField.class);
+        for (Clause clause : clauses) {
+            JobQueryField field = clause.getField();
+            if (field == null || clause.isNegated() || clause.getValues().size() != 1 || !seen.add(field)) {
+                return null;
+            }
+            Object value = clause.getValues().get(0);
+            switch (field) {
+                case SKILL:
+                    builder.skill((String) value);
+                    break;
+                case COMPANY:
+                    builder.companyName((String) value);
+                    break;
+                case POSITION:
+                    builder.jobPosition((String) value);
+                    break;
+                case TYPE:
+                    builder.jobType((Job.JobType) value);
+                    break;
+                case LOCATION:
+                    builder.jobLocationType((Job.JobLocationType) value);
+                    break;
+                case SIZE:
+                    builder.companySize((Job.CompanySize) value);
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return builder.build();
+    }
+
+    public enum Operator {
+        MATCH(":"),
+        GREATER_OR_EQUAL(">="),
+        LESS_OR_EQUAL("<="),
+        GREATER(">"),
+        LESS("<");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    /**
+     * One condition. Values are already converted: lower-cased strings for text fields, enum
+     * constants for enum fields and {@link BigDecimal}s for numbers.
+     */
+    public static final class Clause {
+
+        // Null for a bare word, which matches company, position or skills
+        private final JobQueryField field;
+        private final Operator operator;
+        private final List<Object> values;
+        private final boolean negated;
+
+        Clause(JobQueryField field, Operator operator, List<Object> values, boolean negated) {
+            this.field = field;
+            this.operator = operator;
+            this.values = Collections.unmodifiableList(values);
+            this.negated = negated;
+        }
+
+        public JobQueryField getField() {
+            return field;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public List<Object> getValues() {
+            return values;
+        }
+
+        public boolean isNegated() {
+            return negated;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mitcsn.job_portal.query;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Fields that can be used in a {@link JobQuery}, with the {@link Job} attribute they filter on.
+ */
+public enum JobQueryField {
+
+    SKILL("skill", "skillsRequired", Kind.TEXT, null),
+    COMPANY("company", "companyName", Kind.TEXT, null),
+    POSITION("position", "jobPosition", Kind.TEXT, null),
+    TYPE("type", "jobType", Kind.ENUM, Job.JobType.class),
+    LOCATION("location", "jobLocationType", Kind.ENUM, Job.JobLocationType.class),
+    SIZE("size", "companySize", Kind.ENUM, Job.CompanySize.class),
+    TRAVEL("travel", "travelRequirements", Kind.ENUM, Job.TravelRequirements.class),
+    INTERVIEW("interview", "interviewMode", Kind.ENUM, Job.InterviewMode.class),
+    SALARY("salary", "salaryPackage", Kind.NUMBER, null),
+    OPENINGS("openings", "numberOfOpenings", Kind.NUMBER, null);
+
+    public enum Kind {
+        // Case-insensitive substring, like the search endpoints
+        TEXT,
+        // Exact value, or any of a comma-separated list
+        ENUM,
+        // Compared with :, >=, <=, > and <
+        NUMBER
+    }
+
+    private final String key;
+    private final String attribute;
+    private final Kind kind;
+    private final Class<? extends Enum<?>> enumType;
+
+    JobQueryField(String key, String attribute, Kind kind, Class<? extends Enum<?>> enumType) {
+        this.key = key;
+        this.attribute = attribute;
+        this.kind = kind;
+        this.enumType = enumType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Class<? extends Enum<?>> getEnumType() {
+        return enumType;
+    }
+
+    /**
+     * @throws BadRequestException for unknown keys
+     */
+    public static JobQueryField fromKey(String key) {
+        String normalized = key.toLowerCase(Locale.ROOT);
+        for (JobQueryField field : values()) {
+            if (field.key.equals(normalized)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown query field: " + key);
+    }
+}
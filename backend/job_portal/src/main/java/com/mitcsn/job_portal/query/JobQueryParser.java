@@ -0,0 +1,144 @@
+package com.mitcsn.job_portal.query;
+
+import com.mitcsn.job_portal.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parser for the {@link JobQuery} syntax:
+ * <pre>
+ * query  = clause *( " " clause )
+ * clause = [ "-" ] ( field operator value / value )
+ * value  = word / '"' text '"'
+ * </pre>
+ * Values are converted while parsing so that invalid input is reported before any query runs.
+ */
+final class JobQueryParser {
+
+    private static final JobQuery.Operator[] OPERATORS = {
+            // Two-character operators first so ">=" is not read as ">"
+            JobQuery.Operator.GREATER_OR_EQUAL, JobQuery.Operator.LESS_OR_EQUAL,
+            JobQuery.Operator.GREATER, JobQuery.Operator.LESS, JobQuery.Operator.MATCH};
+
+    private static final int MAX_CLAUSES = 20;
+
+    private JobQueryParser() {
+    }
+
+    static List<JobQuery.Clause> parse(List<String> tokens) {
+        List<JobQuery.Clause> clauses = new ArrayList<>();
+        for (String token : tokens) {
+            if (clauses.size() == MAX_CLAUSES) {
+                throw new BadRequestException("A query can have at most " + MAX_CLAUSES + " clauses");
+            }
+            clauses.add(clause(token));
+        }
+        return clauses;
+    }
+
+    // Splits on whitespace outside double quotes; quotes stay in the token and are removed per value
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                current.append(c);
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Unterminated quote in query");
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static JobQuery.Clause clause(String token) {
+        boolean negated = token.startsWith("-") && token.length() > 1;
+        String body = negated ? token.substring(1) : token;
+
+        int keyEnd = 0;
+        while (keyEnd < body.length() && Character.isLetter(body.charAt(keyEnd))) {
+            keyEnd++;
+        }
+        JobQuery.Operator operator = keyEnd > 0 ? operatorAt(body, keyEnd) : null;
+        if (operator == null) {
+            // A bare word matches company, position or skills
+            String value = unquote(body);
+            return new JobQuery.Clause(null, JobQuery.Operator.MATCH,
+                    Arrays.asList((Object) value.toLowerCase(Locale.ROOT)), negated);
+        }
+
+        JobQueryField field = JobQueryField.fromKey(body.substring(0, keyEnd));
+        String raw = unquote(body.substring(keyEnd + operator.getSymbol().length()));
+        if (raw.isEmpty()) {
+            throw new BadRequestException("Missing value for " + field.getKey());
+        }
+        if (operator != JobQuery.Operator.MATCH && field.getKind() != JobQueryField.Kind.NUMBER) {
+            throw new BadRequestException("Operator " + operator.getSymbol() + " is only allowed for numeric fields");
+        }
+        return new JobQuery.Clause(field, operator, values(field, raw), negated);
+    }
+
+    private static JobQuery.Operator operatorAt(String body, int index) {
+        for (JobQuery.Operator operator : OPERATORS) {
+            if (body.startsWith(operator.getSymbol(), index)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    private static List<Object> values(JobQueryField field, String raw) {
+        List<Object> values = new ArrayList<>();
+        switch (field.getKind()) {
+            case TEXT:
+                values.add(raw.toLowerCase(Locale.ROOT));
+                break;
+            case ENUM:
+                for (String part : raw.split(",")) {
+                    values.add(enumValue(field, part.trim()));
+                }
+                break;
+            case NUMBER:
+                try {
+                    values.add(new BigDecimal(raw));
+                } catch (NumberFormatException ex) {
+                    throw new BadRequestException("Invalid number for " + field.getKey() + ": " + raw);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled field kind " + field.getKind());
+        }
+        return values;
+    }
+
+    private static Enum<?> enumValue(JobQueryField field, String name) {
+        for (Enum<?> constant : field.getEnumType().getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        throw new BadRequestException("Invalid value for " + field.getKey() + ": " + name
+                + ", expected one of " + Arrays.toString(field.getEnumType().getEnumConstants()));
+    }
+
+    private static String unquote(String value) {
+        return value.replace("\"", "").trim();
+    }
+}
@@ -0,0 +1,14 @@
+package com.mitcsn.job_portal.ratelimit;
+
+/**
+ * Classes of requests with separate budgets, so a client exhausting one lane (typically with
+ * searches or full lists) can still open job details.
+ */
+public enum Lane {
+    // Single job by id, enum values, in-memory feeds
+    CHEAP,
+    // Lists, searches, filters and batch reads
+    EXPENSIVE,
+    // Creates, updates, deletes and imports
+    WRITE
+}
@@ -0,0 +1,154 @@
+package com.mitcsn.job_portal.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.exception.ErrorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits job API requests against per-client {@link TokenBucketLimiter} budgets, one per
+ * {@link Lane}. Clients are told apart by remote address, or by a configured header when the
+ * application runs behind a proxy or clients send a key. Throttled requests get 429 with a
+ * {@code Retry-After} header and never reach the controller.
+ */
+@Component
+@ConditionalOnProperty(name = "jobportal.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String JOBS_PATH = "/api/v1/jobs";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${jobportal.ratelimit.client-header:}")
+    private String clientHeader;
+
+    @Value("${jobportal.ratelimit.stripes:64}")
+    private int stripes;
+
+    @Value("${jobportal.ratelimit.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${jobportal.ratelimit.idle-timeout-ms:600000}")
+    private long idleTimeoutMillis;
+
+    @Value("${jobportal.ratelimit.cheap.capacity:200}")
+    private double cheapCapacity;
+
+    @Value("${jobportal.ratelimit.cheap.tokens-per-second:100}")
+    private double cheapRate;
+
+    @Value("${jobportal.ratelimit.expensive.capacity:20}")
+    private double expensiveCapacity;
+
+    @Value("${jobportal.ratelimit.expensive.tokens-per-second:5}")
+    private double expensiveRate;
+
+    @Value("${jobportal.ratelimit.write.capacity:20}")
+    private double writeCapacity;
+
+    @Value("${jobportal.ratelimit.write.tokens-per-second:5}")
+    private double writeRate;
+
+    private final LongAdder throttled = new LongAdder();
+    private volatile TokenBucketLimiter limiter;
+
+    // Called by Spring and again by the servlet container, the first call creates the limiter
+    @Override
+    protected void initFilterBean() {
+        if (limiter != null) {
+            return;
+        }
+        limiter = new TokenBucketLimiter(stripes, maxClients, TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis),
+                new double[]{cheapCapacity, expensiveCapacity, writeCapacity},
+                new double[]{cheapRate, expensiveRate, writeRate});
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.ratelimit.idle-timeout-ms:600000}")
+    public void evictIdleClients() {
+        int evicted = limiter.evictIdle();
+        long count = throttled.sumThenReset();
+        if (evicted > 0 || count > 0) {
+            log.info("Rate limiter: {} requests throttled, {} idle clients dropped, {} tracked",
+                    count, evicted, limiter.size());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        // Also covers /api/v1/jobs/import; CORS preflights are not counted
+        return !uri.startsWith(JOBS_PATH) || (uri.length() > JOBS_PATH.length() && uri.charAt(JOBS_PATH.length()) != '/')
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientHeader.isEmpty() ? null : request.getHeader(clientHeader);
+        if (client == null) {
+            client = request.getRemoteAddr();
+        }
+        Lane lane = lane(request.getMethod(), request.getRequestURI());
+        long waitNanos = limiter.tryAcquire(client, lane);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        throttled.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded for " + lane.name().toLowerCase() + " requests, retry in "
+                        + retryAfterSeconds + " s")
+                .path(request.getRequestURI())
+                .build();
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Classifies without substrings, so admission allocates nothing for known clients
+    static Lane lane(String method, String uri) {
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return Lane.WRITE;
+        }
+        int start = JOBS_PATH.length() + 1;
+        if (uri.length() <= start) {
+            // The full list
+            return Lane.EXPENSIVE;
+        }
+        if (uri.startsWith("enums/", start) || uri.startsWith("featured", start) || uri.startsWith("recent", start)
+                || uri.startsWith("stats", start)) {
+            return Lane.CHEAP;
+        }
+        for (int i = start; i < uri.length(); i++) {
+            if (!Character.isDigit(uri.charAt(i))) {
+                return Lane.EXPENSIVE;
+            }
+        }
+        // A single job by id
+        return Lane.CHEAP;
+    }
+}
@@ -0,0 +1,154 @@
+package com.mitcsn.job_portal.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client token buckets, one per {@link Lane}.
+ *
+ * Clients are spread over stripes, each an access-ordered map guarded by its own lock, so
+ * concurrent requests of different clients rarely wait for each other. A stripe holds at most
+ * its share of {@code maxClients}: when a new client arrives, clients idle for longer than the
+ * idle timeout are dropped first, then the least recently seen one. A dropped client simply
+ * starts again with full buckets.
+ *
+ * Admitting a known client allocates nothing: the lookup uses the client string as is and the
+ * bucket state is updated in place.
+ */
+public final class TokenBucketLimiter {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxClientsPerStripe;
+    private final long idleNanos;
+    private final double[] capacity;
+    private final double[] tokensPerNano;
+
+    /**
+     * @param capacity        burst size per lane, indexed by {@link Lane#ordinal()}
+     * @param tokensPerSecond sustained rate per lane, indexed by {@link Lane#ordinal()}
+     */
+    public TokenBucketLimiter(int stripes, int maxClients, long idleNanos, double[] capacity, double[] tokensPerSecond) {
+        if (capacity.length != Lane.values().length || tokensPerSecond.length != Lane.values().length) {
+            throw new IllegalArgumentException("A capacity and rate is required for every lane");
+        }
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.maxClientsPerStripe = Math.max(1, maxClients / size);
+        this.idleNanos = idleNanos;
+        this.capacity = capacity.clone();
+        this.tokensPerNano = new double[tokensPerSecond.length];
+        for (int i = 0; i < tokensPerSecond.length; i++) {
+            if (capacity[i] < 1 || tokensPerSecond[i] <= 0) {
+                throw new IllegalArgumentException("Lane " + Lane.values()[i] + " needs a capacity of at least 1 and a positive rate");
+            }
+            this.tokensPerNano[i] = tokensPerSecond[i] / 1_000_000_000d;
+        }
+    }
+
+    /**
+     * Takes a token from the client's bucket for the lane.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String client, Lane lane) {
+        return tryAcquire(client, lane, System.nanoTime());
+    }
+
+    long tryAcquire(String client, Lane lane, long now) {
+        int h = client.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        int l = lane.ordinal();
+        synchronized (stripe) {
+            Buckets buckets = stripe.clients.get(client);
+            if (buckets == null) {
+                buckets = stripe.add(client, now);
+            }
+            buckets.lastSeen = now;
+
+            double elapsed = now - buckets.refilledAt[l];
+            double tokens = Math.min(capacity[l], buckets.tokens[l] + elapsed * tokensPerNano[l]);
+            buckets.refilledAt[l] = now;
+            if (tokens >= 1) {
+                buckets.tokens[l] = tokens - 1;
+                return 0;
+            }
+            buckets.tokens[l] = tokens;
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano[l]));
+        }
+    }
+
+    // Drops clients idle for longer than the idle timeout
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    int evictIdle(long now) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                evicted += stripe.evictIdle(now);
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.clients.size();
+            }
+        }
+        return size;
+    }
+
+    private final class Stripe {
+
+        // Access order, so the head is always the least recently seen client
+        private final LinkedHashMap<String, Buckets> clients = new LinkedHashMap<>(16, 0.75f, true);
+
+        Buckets add(String client, long now) {
+            if (clients.size() >= maxClientsPerStripe) {
+                evictIdle(now);
+                if (clients.size() >= maxClientsPerStripe) {
+                    Iterator<String> eldest = clients.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            Buckets buckets = new Buckets(now);
+            clients.put(client, buckets);
+            return buckets;
+        }
+
+        int evictIdle(long now) {
+            int evicted = 0;
+            Iterator<Map.Entry<String, Buckets>> iterator = clients.entrySet().iterator();
+            while (iterator.hasNext() && now - iterator.next().getValue().lastSeen > idleNanos) {
+                iterator.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+    }
+
+    private final class Buckets {
+
+        private final double[] tokens = capacity.clone();
+        private final long[] refilledAt = new long[capacity.length];
+        private long lastSeen;
+
+        Buckets(long now) {
+            for (int i = 0; i < refilledAt.length; i++) {
+                refilledAt[i] = now;
+            }
+            lastSeen = now;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.entity.JobAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+@Repository
+public interface JobAlertRepository extends JpaRepository<JobAlert, Long> {
+    
+    // Oldest unsent alerts, skipping rows another dispatcher has locked (timeout -2 is SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM JobAlert a WHERE a.sentAt IS NULL ORDER BY a.id")
+    List<JobAlert> findPendingForUpdate(Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.entity.Job;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Collection;
+
+/**
+ * Criteria for reading active jobs, shared by the in-memory snapshot and the projection queries.
+ * Text filters are case-insensitive substring matches; null means "any".
+ */
+@Value
+@Builder
+public class JobFilter {
+    
+    Collection<Long> ids;
+    String companyName;
+    String jobPosition;
+    String skill;
+    Job.JobType jobType;
+    Job.JobLocationType jobLocationType;
+    Job.CompanySize companySize;
+    
+    public static final JobFilter ALL = JobFilter.builder().build();
+}
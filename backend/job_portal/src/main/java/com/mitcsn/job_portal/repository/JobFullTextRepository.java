@@ -0,0 +1,29 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface JobFullTextRepository {
+    
+    // Sort property that orders by rank, the order of an unsorted search
+    String RELEVANCE = "relevance";
+    
+    // Active jobs matching the web search syntax and the filter, best rank first, then highest id
+    default List<JobSearchHit> searchFullText(String text, JobFilter filter, long offset, int limit) {
+        return searchFullText(text, filter, Sort.unsorted(), offset, limit);
+    }
+    
+    /**
+     * Like {@link #searchFullText(String, JobFilter, long, int)} in the given order, then highest id.
+     *
+     * @throws BadRequestException for a sort property that is not a sortable column or {@link #RELEVANCE}
+     */
+    List<JobSearchHit> searchFullText(String text, JobFilter filter, Sort sort, long offset, int limit);
+    
+    // Same order, only hits after the given one, so deep pages cost no more than the first
+    List<JobSearchHit> searchFullTextAfter(String text, JobFilter filter, JobSearchHit after, int limit);
+    
+    long countFullText(String text, JobFilter filter);
+}
@@ -0,0 +1,143 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.config.FullTextSearchSchema;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Native Postgres queries on the weighted {@code search_vector} column created by
+ * {@link FullTextSearchSchema}. The match goes through its GIN index; as in the criteria queries,
+ * only the filter conditions actually present are added to the statement.
+ */
+@RequiredArgsConstructor
+public class JobFullTextRepositoryImpl implements JobFullTextRepository {
+    
+    // Columns a search can be sorted by, keyed by the entity property
+    private static final Map<String, String> SORT_COLUMNS = sortColumns();
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public List<JobSearchHit> searchFullText(String text, JobFilter filter, Sort sort, long offset, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String sql = "SELECT id, rank FROM (" + rankedMatches(text, filter, parameters) + ") hits "
+                + "ORDER BY " + orderBy(sort) + "id DESC LIMIT :limit OFFSET :offset";
+        parameters.put("limit", limit);
+        parameters.put("offset", offset);
+        return hits(sql, parameters);
+    }
+    
+    @Override
+    public List<JobSearchHit> searchFullTextAfter(String text, JobFilter filter, JobSearchHit after, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        // Row comparison matches the descending (rank, id) order
+        String sql = "SELECT id, rank FROM (" + rankedMatches(text, filter, parameters) + ") hits "
+                + "WHERE (rank, id) < (:afterRank, :afterId) ORDER BY rank DESC, id DESC LIMIT :limit";
+        parameters.put("afterRank", after.getRank());
+        parameters.put("afterId", after.getId());
+        parameters.put("limit", limit);
+        return hits(sql, parameters);
+    }
+    
+    @Override
+    public long countFullText(String text, JobFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        String sql = "SELECT COUNT(*) FROM jobs j WHERE " + conditions(text, filter, parameters);
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+    
+    // ts_rank is a real, widened so the rank sent back as keyset compares equal to the stored one
+    private static String rankedMatches(String text, JobFilter filter, Map<String, Object> parameters) {
+        StringBuilder sql = new StringBuilder("SELECT j.id, CAST(ts_rank(j.search_vector, websearch_to_tsquery('")
+                .append(FullTextSearchSchema.TEXT_CONFIG).append("', :text)) AS float8) AS rank");
+        SORT_COLUMNS.values().stream().filter(column -> !column.equals("id"))
+                .forEach(column -> sql.append(", j.").append(column));
+        return sql.append(" FROM jobs j WHERE ").append(conditions(text, filter, parameters)).toString();
+    }
+    
+    // The order before the final id, by rank when unsorted
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "rank DESC, ";
+        }
+        StringBuilder sql = new StringBuilder();
+        for (Sort.Order order : sort) {
+            String column = order.getProperty().equals(RELEVANCE) ? "rank" : SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Full-text results cannot be sorted by " + order.getProperty());
+            }
+            sql.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+        }
+        return sql.toString();
+    }
+    
+    private static String conditions(String text, JobFilter filter, Map<String, Object> parameters) {
+        StringBuilder sql = new StringBuilder("j.is_active = true AND j.search_vector @@ websearch_to_tsquery('")
+                .append(FullTextSearchSchema.TEXT_CONFIG).append("', :text)");
+        parameters.put("text", text);
+        if (filter.getIds() != null) {
+            sql.append(" AND j.id IN (:ids)");
+            parameters.put("ids", filter.getIds());
+        }
+        if (filter.getCompanyName() != null) {
+            sql.append(" AND LOWER(j.company_name) LIKE :companyName ESCAPE '\\'");
+            parameters.put("companyName", JobSpecifications.containsPattern(filter.getCompanyName()));
+        }
+        if (filter.getJobPosition() != null) {
+            sql.append(" AND LOWER(j.job_position) LIKE :jobPosition ESCAPE '\\'");
+            parameters.put("jobPosition", JobSpecifications.containsPattern(filter.getJobPosition()));
+        }
+        if (filter.getSkill() != null) {
+            sql.append(" AND LOWER(j.skills_required) LIKE :skill ESCAPE '\\'");
+            parameters.put("skill", JobSpecifications.containsPattern(filter.getSkill()));
+        }
+        if (filter.getJobType() != null) {
+            sql.append(" AND j.job_type = :jobType");
+            parameters.put("jobType", filter.getJobType().name());
+        }
+        if (filter.getJobLocationType() != null) {
+            sql.append(" AND j.job_location_type = :jobLocationType");
+            parameters.put("jobLocationType", filter.getJobLocationType().name());
+        }
+        if (filter.getCompanySize() != null) {
+            sql.append(" AND j.company_size = :companySize");
+            parameters.put("companySize", filter.getCompanySize().name());
+        }
+        return sql.toString();
+    }
+    
+    private static Map<String, String> sortColumns() {
+        Map<String, String> columns = new HashMap<>();
+        columns.put("id", "id");
+        columns.put("createdAt", "created_at");
+        columns.put("updatedAt", "updated_at");
+        columns.put("companyName", "company_name");
+        columns.put("jobPosition", "job_position");
+        columns.put("salaryPackage", "salary_package");
+        columns.put("numberOfOpenings", "number_of_openings");
+        columns.put("expectedJoiningDate", "expected_joining_date");
+        return Collections.unmodifiableMap(columns);
+    }
+    
+    private List<JobSearchHit> hits(String sql, Map<String, Object> parameters) {
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+        List<JobSearchHit> hits = new ArrayList<>();
+        for (Object result : query.getResultList()) {
+            Object[] row = (Object[]) result;
+            hits.add(new JobSearchHit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobProjectionRepository {
+    
+    // Active jobs matching the filter, selecting and setting only the requested fields
+    Page<JobResponseDto> findProjected(JobFilter filter, JobFieldSet fields, Pageable pageable);
+    
+    // Same, for any specification over jobs; it is expected to include the isActive condition
+    Page<JobResponseDto> findProjected(Specification<Job> specification, JobFieldSet fields, Pageable pageable);
+    
+    // Up to limit active jobs matching the filter with an id above afterId, in id order and without a count
+    List<JobResponseDto> findProjectedAfter(JobFilter filter, JobFieldSet fields, long afterId, int limit);
+    
+    // Up to limit active jobs of the employer, newest first, after the given creation time and id unless they are null
+    List<JobResponseDto> findProjectedByEmployer(long employerId, JobFieldSet fields, LocalDateTime afterCreatedAt,
+                                                 Long afterId, int limit);
+}
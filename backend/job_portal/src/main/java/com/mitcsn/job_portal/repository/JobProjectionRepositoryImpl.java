@@ -0,0 +1,107 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria-based projection: the select list holds only the requested columns, so unrequested
+ * text columns are neither read from the database nor copied into the response.
+ */
+@RequiredArgsConstructor
+public class JobProjectionRepositoryImpl implements JobProjectionRepository {
+    
+    private final EntityManager entityManager;
+    private final JobMapper jobMapper;
+    
+    @Override
+    public Page<JobResponseDto> findProjected(JobFilter filter, JobFieldSet fields, Pageable pageable) {
+        return findProjected(JobSpecifications.matching(filter), fields, pageable);
+    }
+    
+    @Override
+    public Page<JobResponseDto> findProjected(Specification<Job> specification, JobFieldSet fields, Pageable pageable) {
+        List<JobResponseDto> jobs = select(specification, fields, pageable.getSort(),
+                pageable.isPaged() ? (int) pageable.getOffset() : 0,
+                pageable.isPaged() ? pageable.getPageSize() : -1);
+        
+        if (!pageable.isPaged() || (pageable.getOffset() == 0 && jobs.size() < pageable.getPageSize())) {
+            return new PageImpl<>(jobs, pageable, jobs.size());
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<Job> countRoot = countQuery.from(Job.class);
+        countQuery.select(cb.count(countRoot)).where(specification.toPredicate(countRoot, countQuery, cb));
+        return new PageImpl<>(jobs, pageable, entityManager.createQuery(countQuery).getSingleResult());
+    }
+    
+    @Override
+    public List<JobResponseDto> findProjectedAfter(JobFilter filter, JobFieldSet fields, long afterId, int limit) {
+        Specification<Job> after = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        return select(JobSpecifications.matching(filter).and(after), fields, Sort.by("id"), 0, limit);
+    }
+    
+    @Override
+    public List<JobResponseDto> findProjectedByEmployer(long employerId, JobFieldSet fields, LocalDateTime afterCreatedAt,
+                                                        Long afterId, int limit) {
+        Specification<Job> specification = JobSpecifications.ownedBy(employerId);
+        if (afterCreatedAt != null) {
+            // (createdAt, id) < (afterCreatedAt, afterId), written out since criteria queries have no row values.
+            // The OR alone is no index bound; the leading createdAt <= conjunct lets the scan start at the cursor.
+            specification = specification.and((root, query, cb) -> cb.and(
+                    cb.lessThanOrEqualTo(root.get("createdAt"), afterCreatedAt),
+                    cb.or(cb.lessThan(root.get("createdAt"), afterCreatedAt), cb.lessThan(root.get("id"), afterId))));
+        }
+        return select(specification, fields, Sort.by(Sort.Direction.DESC, "createdAt", "id"), 0, limit);
+    }
+    
+    // A negative limit reads all matching rows
+    private List<JobResponseDto> select(Specification<Job> specification, JobFieldSet fields, Sort sort,
+                                        int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Job> root = query.from(Job.class);
+        
+        List<Selection<?>> selections = new ArrayList<>(fields.getFields().size());
+        for (String field : fields.getFields()) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections).where(specification.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit >= 0) {
+            typedQuery.setFirstResult(offset).setMaxResults(limit);
+        }
+        List<JobResponseDto> jobs = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            JobResponseDto dto = new JobResponseDto();
+            for (String field : fields.getFields()) {
+                jobMapper.setField(dto, field, tuple.get(field));
+            }
+            jobs.add(dto);
+        }
+        return jobs;
+    }
+}
@@ -4,15 +4,21 @@ import com.mitcsn.job_portal.entity.Job;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobProjectionRepository,
+        JobFullTextRepository {
+    
+    // Cheap emptiness check (LIMIT 1) instead of a full count
+    boolean existsByIdIsNotNull();
     
     // Find all active jobs
     List<Job> findByIsActiveTrue();
@@ -20,20 +26,18 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     // Find all active jobs with pagination
     Page<Job> findByIsActiveTrue(Pageable pageable);
     
-    // Find active job by ID
-    Optional<Job> findByIdAndIsActiveTrue(Long id);
+    // Newest active jobs without a count query, used to fill the in-memory recent feed
+    List<Job> findByIsActiveTrueOrderByCreatedAtDesc(Pageable pageable);
     
-    // Search jobs by company name (case-insensitive)
-    @Query("SELECT j FROM Job j WHERE j.isActive = true AND LOWER(j.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))")
-    List<Job> findByCompanyNameContainingIgnoreCase(@Param("companyName") String companyName);
+    // Free-text columns the in-memory snapshot does not keep, loaded for the jobs it returns
+    @Query("SELECT j.id, j.address, j.skillsRequired, j.jobDescription, j.hiringStages FROM Job j WHERE j.id IN :ids")
+    List<Object[]> findTextFieldsByIdIn(@Param("ids") Collection<Long> ids);
     
-    // Search jobs by job position (case-insensitive)
-    @Query("SELECT j FROM Job j WHERE j.isActive = true AND LOWER(j.jobPosition) LIKE LOWER(CONCAT('%', :jobPosition, '%'))")
-    List<Job> findByJobPositionContainingIgnoreCase(@Param("jobPosition") String jobPosition);
+    // Active jobs among the given ids, resolved with a single IN query
+    List<Job> findByIdInAndIsActiveTrue(Collection<Long> ids);
     
-    // Search jobs by skills (case-insensitive)
-    @Query("SELECT j FROM Job j WHERE j.isActive = true AND LOWER(j.skillsRequired) LIKE LOWER(CONCAT('%', :skill, '%'))")
-    List<Job> findBySkillsRequiredContainingIgnoreCase(@Param("skill") String skill);
+    // Find active job by ID
+    Optional<Job> findByIdAndIsActiveTrue(Long id);
     
     // Find jobs by job type
     List<Job> findByJobTypeAndIsActiveTrue(Job.JobType jobType);
@@ -43,18 +47,4 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     
     // Find jobs by company size
     List<Job> findByCompanySizeAndIsActiveTrue(Job.CompanySize companySize);
-    
-    // Complex search query
-    @Query("SELECT j FROM Job j WHERE j.isActive = true " +
-           "AND (:companyName IS NULL OR LOWER(j.companyName) LIKE LOWER(CONCAT('%', :companyName, '%'))) " +
-           "AND (:jobPosition IS NULL OR LOWER(j.jobPosition) LIKE LOWER(CONCAT('%', :jobPosition, '%'))) " +
-           "AND (:skill IS NULL OR LOWER(j.skillsRequired) LIKE LOWER(CONCAT('%', :skill, '%'))) " +
-           "AND (:jobType IS NULL OR j.jobType = :jobType) " +
-           "AND (:jobLocationType IS NULL OR j.jobLocationType = :jobLocationType)")
-    Page<Job> searchJobs(@Param("companyName") String companyName,
-                        @Param("jobPosition") String jobPosition,
-                        @Param("skill") String skill,
-                        @Param("jobType") Job.JobType jobType,
-                        @Param("jobLocationType") Job.JobLocationType jobLocationType,
-                        Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.mitcsn.job_portal.repository;
+
+import lombok.Value;
+
+/**
+ * A full-text match: the job id and its {@code ts_rank}. Rank and id together are the keyset for
+ * fetching the next page.
+ */
+@Value
+public class JobSearchHit {
+    
+    long id;
+    double rank;
+}
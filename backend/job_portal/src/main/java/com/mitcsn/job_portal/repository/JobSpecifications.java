@@ -0,0 +1,130 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.query.JobQuery;
+import com.mitcsn.job_portal.query.JobQueryField;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds {@link Specification}s over active jobs that contain a predicate only for each condition
+ * actually present, instead of {@code :param IS NULL OR ...} chains. Every combination of
+ * conditions is then its own SQL statement, planned for exactly the columns it filters on.
+ */
+public final class JobSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private JobSpecifications() {
+    }
+
+    public static Specification<Job> matching(JobFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            if (filter.getIds() != null) {
+                predicates.add(root.get("id").in(filter.getIds()));
+            }
+            if (filter.getCompanyName() != null) {
+                predicates.add(containsIgnoreCase(cb, root, "companyName", filter.getCompanyName()));
+            }
+            if (filter.getJobPosition() != null) {
+                predicates.add(containsIgnoreCase(cb, root, "jobPosition", filter.getJobPosition()));
+            }
+            if (filter.getSkill() != null) {
+                predicates.add(containsIgnoreCase(cb, root, "skillsRequired", filter.getSkill()));
+            }
+            if (filter.getJobType() != null) {
+                predicates.add(cb.equal(root.get("jobType"), filter.getJobType()));
+            }
+            if (filter.getJobLocationType() != null) {
+                predicates.add(cb.equal(root.get("jobLocationType"), filter.getJobLocationType()));
+            }
+            if (filter.getCompanySize() != null) {
+                predicates.add(cb.equal(root.get("companySize"), filter.getCompanySize()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Active jobs of one employer, the leading columns of the employer index
+    public static Specification<Job> ownedBy(long employerId) {
+        return (root, query, cb) -> cb.and(cb.equal(root.get("employerId"), employerId), cb.isTrue(root.get("isActive")));
+    }
+
+    public static Specification<Job> matching(JobQuery jobQuery) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            for (JobQuery.Clause clause : jobQuery.getClauses()) {
+                Predicate predicate = clause.getField() == null
+                        ? anyTextField(cb, root, (String) clause.getValues().get(0))
+                        : predicate(cb, root, clause);
+                predicates.add(clause.isNegated() ? cb.not(predicate) : predicate);
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Predicate predicate(CriteriaBuilder cb, Root<Job> root, JobQuery.Clause clause) {
+        JobQueryField field = clause.getField();
+        switch (field.getKind()) {
+            case TEXT:
+                return containsIgnoreCase(cb, root, field.getAttribute(), (String) clause.getValues().get(0));
+            case ENUM:
+                return clause.getValues().size() == 1
+                        ? cb.equal(root.get(field.getAttribute()), clause.getValues().get(0))
+                        : root.get(field.getAttribute()).in(clause.getValues());
+            case NUMBER:
+                return compare(cb, root.get(field.getAttribute()), clause.getOperator(),
+                        (BigDecimal) clause.getValues().get(0));
+            default:
+                throw new IllegalStateException("Unhandled field kind " + field.getKind());
+        }
+    }
+
+    private static Predicate compare(CriteriaBuilder cb, Expression<? extends Number> attribute,
+                                     JobQuery.Operator operator, BigDecimal value) {
+        switch (operator) {
+            case MATCH:
+                return cb.equal(attribute, value);
+            case GREATER_OR_EQUAL:
+                return cb.ge(attribute, value);
+            case LESS_OR_EQUAL:
+                return cb.le(attribute, value);
+            case GREATER:
+                return cb.gt(attribute, value);
+            case LESS:
+                return cb.lt(attribute, value);
+            default:
+                throw new IllegalStateException("Unhandled operator " + operator);
+        }
+    }
+
+    private static Predicate anyTextField(CriteriaBuilder cb, Root<Job> root, String value) {
+        return cb.or(containsIgnoreCase(cb, root, "companyName", value),
+                containsIgnoreCase(cb, root, "jobPosition", value),
+                containsIgnoreCase(cb, root, "skillsRequired", value));
+    }
+
+    private static Predicate containsIgnoreCase(CriteriaBuilder cb, Root<Job> root, String field, String value) {
+        return cb.like(cb.lower(root.get(field)), containsPattern(value), LIKE_ESCAPE);
+    }
+
+    // Lower-case LIKE pattern for a substring, with wildcards escaped so it matches literally like the snapshot
+    static String containsPattern(String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
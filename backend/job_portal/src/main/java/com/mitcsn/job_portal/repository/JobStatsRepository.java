@@ -0,0 +1,15 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.entity.JobStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobStatsRepository extends JpaRepository<JobStats, Long> {
+    
+    // Stats of jobs viewed since the given time, used to warm up the popularity ranking
+    List<JobStats> findByLastViewedAtAfter(LocalDateTime since);
+}
@@ -0,0 +1,13 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.entity.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    
+    List<SavedSearch> findByEmailIgnoreCase(String email);
+}
@@ -0,0 +1,140 @@
+package com.mitcsn.job_portal.seed;
+
+import com.mitcsn.job_portal.entity.Job;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads synthetic jobs with plain JDBC batch inserts, bypassing the persistence
+ * context. The index range is split across writer threads, each committing one batch per
+ * transaction, so the generated rows do not depend on the number of threads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSeeder {
+
+    private static final String INSERT_SQL = "INSERT INTO jobs (company_name, address, job_position, "
+            + "number_of_openings, required_experience, salary_package, skills_required, bond, training_period, "
+            + "company_size, working_days, job_type, job_location_type, job_description, travel_requirements, "
+            + "hiring_stages, interview_mode, expected_joining_date, is_active, created_at, updated_at, employer_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public long seed(long count, long randomSeed, LocalDateTime baseTime, int threads, int batchSize)
+            throws InterruptedException {
+        log.info("Seeding {} synthetic jobs with seed {} and base time {} using {} writer threads",
+                count, randomSeed, baseTime, threads);
+        long startTime = System.currentTimeMillis();
+
+        SyntheticJobGenerator generator = new SyntheticJobGenerator(randomSeed, baseTime);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong nextBatchStart = new AtomicLong();
+        AtomicLong inserted = new AtomicLong();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        ExecutorService writers = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "job-seeder-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(writers.submit(() -> {
+                    long start;
+                    while ((start = nextBatchStart.getAndAdd(batchSize)) < count) {
+                        long end = Math.min(count, start + batchSize);
+                        insertBatch(transactionTemplate, generator, start, end);
+                        long total = inserted.addAndGet(end - start);
+                        if (total / 100_000 != (total - (end - start)) / 100_000) {
+                            log.info("Seeded {} / {} jobs", total, count);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Seeding synthetic jobs failed", ex.getCause());
+        } finally {
+            writers.shutdownNow();
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        log.info("Seeded {} jobs in {} ms ({} rows/s)", inserted.get(), elapsed, inserted.get() * 1000 / elapsed);
+        return inserted.get();
+    }
+
+    private void insertBatch(TransactionTemplate transactionTemplate, SyntheticJobGenerator generator, long start, long end) {
+        List<Job> jobs = new ArrayList<>((int) (end - start));
+        for (long index = start; index < end; index++) {
+            jobs.add(generator.generate(index));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, jobs.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return jobs.size();
+            }
+        }));
+    }
+
+    private static void bind(PreparedStatement ps, Job job) throws SQLException {
+        ps.setString(1, job.getCompanyName());
+        ps.setString(2, job.getAddress());
+        ps.setString(3, job.getJobPosition());
+        ps.setInt(4, job.getNumberOfOpenings());
+        ps.setString(5, job.getRequiredExperience());
+        ps.setBigDecimal(6, job.getSalaryPackage());
+        ps.setString(7, job.getSkillsRequired());
+        ps.setString(8, job.getBond());
+        ps.setString(9, job.getTrainingPeriod());
+        setEnum(ps, 10, job.getCompanySize());
+        ps.setString(11, job.getWorkingDays());
+        setEnum(ps, 12, job.getJobType());
+        setEnum(ps, 13, job.getJobLocationType());
+        ps.setString(14, job.getJobDescription());
+        setEnum(ps, 15, job.getTravelRequirements());
+        ps.setString(16, job.getHiringStages());
+        setEnum(ps, 17, job.getInterviewMode());
+        ps.setDate(18, Date.valueOf(job.getExpectedJoiningDate()));
+        ps.setBoolean(19, job.getIsActive());
+        ps.setTimestamp(20, Timestamp.valueOf(job.getCreatedAt()));
+        ps.setTimestamp(21, Timestamp.valueOf(job.getUpdatedAt()));
+        ps.setLong(22, job.getEmployerId());
+    }
+
+    private static void setEnum(PreparedStatement ps, int index, Enum<?> value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value.name());
+        }
+    }
+}
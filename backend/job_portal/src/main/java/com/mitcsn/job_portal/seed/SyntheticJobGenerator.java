@@ -0,0 +1,229 @@
+package com.mitcsn.job_portal.seed;
+
+import com.mitcsn.job_portal.entity.Job;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of realistic job postings. Every job is derived only from the
+ * seed and its index, so any range of indexes can be generated independently (and in
+ * parallel) and the same seed always produces the same dataset.
+ */
+public class SyntheticJobGenerator {
+
+    private static final String[] COMPANY_PREFIXES = {
+            "Tech", "Data", "Cloud", "Info", "Net", "Cyber", "Quantum", "Bright", "Blue", "Green",
+            "Nova", "Apex", "Pixel", "Smart", "Core", "Hyper", "Global", "Prime", "Next", "Silver"
+    };
+    private static final String[] COMPANY_SUFFIXES = {
+            "Corp", "Soft", "Labs", "Systems", "Works", "Logic", "Flow", "Minds", "Wave", "Bridge",
+            "Solutions", "Analytics", "Technologies", "Networks", "Dynamics"
+    };
+    private static final String[] COMPANY_FORMS = {"", " Pvt Ltd", " Inc", " LLP", " Technologies", " India"};
+
+    private static final String[] CITIES = {
+            "Bangalore, Karnataka", "Pune, Maharashtra", "Hyderabad, Telangana", "Mumbai, Maharashtra",
+            "Chennai, Tamil Nadu", "Gurgaon, Haryana", "Noida, Uttar Pradesh", "Delhi, Delhi",
+            "Kolkata, West Bengal", "Ahmedabad, Gujarat", "Kochi, Kerala", "Jaipur, Rajasthan",
+            "Indore, Madhya Pradesh", "Coimbatore, Tamil Nadu", "Chandigarh, Punjab", "Nagpur, Maharashtra",
+            "Bhubaneswar, Odisha", "Trivandrum, Kerala", "Mysore, Karnataka", "Vizag, Andhra Pradesh"
+    };
+    private static final String[] STREETS = {"Tech Park", "IT Park", "Business Bay", "Innovation Hub", "Cyber City", "MG Road", "Ring Road"};
+
+    private static final String[] POSITIONS = {
+            "Software Engineer", "Java Developer", "Frontend Developer", "Backend Developer", "Full Stack Developer",
+            "Data Analyst", "QA Engineer", "DevOps Engineer", "Associate Software Engineer", "Data Scientist",
+            "Android Developer", "iOS Developer", "Cloud Engineer", "Business Analyst", "UI/UX Designer",
+            "Machine Learning Engineer", "Support Engineer", "Network Engineer", "Security Analyst", "Technical Writer",
+            "Product Analyst", "Database Administrator", "Site Reliability Engineer", "Embedded Engineer", "Graduate Trainee"
+    };
+    private static final int[] POSITION_BASE_SALARY = {
+            600_000, 650_000, 550_000, 600_000, 700_000,
+            500_000, 400_000, 700_000, 450_000, 900_000,
+            600_000, 650_000, 750_000, 500_000, 500_000,
+            1_000_000, 350_000, 400_000, 650_000, 400_000,
+            550_000, 600_000, 850_000, 550_000, 300_000
+    };
+
+    private static final String[] SKILLS = {
+            "Java", "Python", "JavaScript", "SQL", "React", "Spring Boot", "HTML", "CSS", "Git", "TypeScript",
+            "Node.js", "AWS", "Docker", "C++", "Angular", "Linux", "Excel", "REST APIs", "MySQL", "PostgreSQL",
+            "Kubernetes", "Azure", "C#", ".NET", "Go", "Kotlin", "Swift", "MongoDB", "Redis", "Kafka",
+            "Tableau", "Power BI", "Statistics", "Machine Learning", "TensorFlow", "Pandas", "Selenium", "JIRA",
+            "Figma", "Microservices", "Hibernate", "Jenkins", "Terraform", "GraphQL", "Vue.js", "Django",
+            "Flask", "Spark", "Hadoop", "Scala", "Rust", "Communication", "Problem Solving", "Agile", "Networking"
+    };
+
+    private static final String[] DESCRIPTION_SENTENCES = {
+            "We are looking for passionate engineers to join our growing team.",
+            "You will work on cutting-edge web applications used by millions of customers.",
+            "Collaborate with product managers and designers to ship new features every sprint.",
+            "Write clean, maintainable and well-tested code.",
+            "Participate in code reviews and help raise the engineering bar of the team.",
+            "Experience with cloud platforms is a plus.",
+            "Freshers with strong fundamentals are encouraged to apply.",
+            "You will be mentored by senior engineers during the training period.",
+            "Work with large datasets and build meaningful insights for business decisions.",
+            "Own features end to end, from design through deployment and monitoring.",
+            "Good communication skills and a willingness to learn are essential.",
+            "Our teams follow agile practices with two-week sprints.",
+            "Contribute to internal tools, automation and developer productivity.",
+            "Troubleshoot production issues and improve system reliability.",
+            "Opportunity to work with international clients and distributed teams."
+    };
+    private static final String[] HIRING_STAGES = {
+            "Resume Screening", "Online Assessment", "Coding Challenge", "Technical Interview",
+            "System Design Round", "Managerial Round", "HR Interview", "Cultural Fit Interview"
+    };
+    private static final String[] EXPERIENCE = {"0-1 years", "0-2 years", "1-2 years", "1-3 years", "2-4 years", "3-5 years", "5+ years"};
+    private static final String[] BONDS = {"No bond", "1 year service agreement", "2 years service agreement", "18 months service agreement"};
+    private static final String[] TRAINING_PERIODS = {"No training", "1 month", "2 months", "3 months", "6 months"};
+    private static final String[] WORKING_DAYS = {"Monday to Friday", "Monday to Saturday", "Flexible", "Alternate Saturdays off"};
+
+    // Relative frequencies, in enum declaration order
+    private static final int[] COMPANY_SIZE_WEIGHTS = {20, 30, 25, 15, 10};
+    private static final int[] JOB_TYPE_WEIGHTS = {65, 8, 10, 14, 3};
+    private static final int[] LOCATION_TYPE_WEIGHTS = {50, 20, 30};
+    private static final int[] TRAVEL_WEIGHTS = {45, 30, 15, 7, 3};
+    private static final int[] INTERVIEW_MODE_WEIGHTS = {55, 20, 25};
+
+    private static final int COMPANY_POOL_SIZE = COMPANY_PREFIXES.length * COMPANY_SUFFIXES.length * COMPANY_FORMS.length;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Jobs are dated up to a year back from the base time, so it is fixed rather than the current time
+    public static final LocalDateTime DEFAULT_BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final long seed;
+    private final LocalDate baseDate;
+    private final LocalDateTime baseTime;
+
+    public SyntheticJobGenerator(long seed) {
+        this(seed, DEFAULT_BASE_TIME);
+    }
+
+    public SyntheticJobGenerator(long seed, LocalDateTime baseTime) {
+        this.seed = seed;
+        this.baseTime = baseTime;
+        this.baseDate = baseTime.toLocalDate();
+    }
+
+    public Job generate(long index) {
+        SplittableRandom random = new SplittableRandom(seed + GOLDEN_GAMMA * (index + 1));
+
+        int position = skewed(random, POSITIONS.length, 2.0);
+        int company = skewed(random, COMPANY_POOL_SIZE, 3.0);
+        String city = CITIES[skewed(random, CITIES.length, 2.0)];
+
+        Job job = new Job();
+        job.setCompanyName(companyName(company));
+        // One employer account per company
+        job.setEmployerId(company + 1L);
+        job.setAddress((1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)] + ", " + city + ", India");
+        job.setJobPosition(POSITIONS[position]);
+        job.setNumberOfOpenings(1 + (int) Math.min(49, -Math.log(1 - random.nextDouble()) * 4));
+        job.setRequiredExperience(EXPERIENCE[skewed(random, EXPERIENCE.length, 1.5)]);
+        job.setSalaryPackage(salary(random, POSITION_BASE_SALARY[position]));
+        job.setSkillsRequired(skills(random));
+        job.setBond(BONDS[skewed(random, BONDS.length, 1.5)]);
+        job.setTrainingPeriod(TRAINING_PERIODS[random.nextInt(TRAINING_PERIODS.length)]);
+        job.setCompanySize(Job.CompanySize.values()[weighted(random, COMPANY_SIZE_WEIGHTS)]);
+        job.setWorkingDays(WORKING_DAYS[skewed(random, WORKING_DAYS.length, 2.0)]);
+        job.setJobType(Job.JobType.values()[weighted(random, JOB_TYPE_WEIGHTS)]);
+        job.setJobLocationType(Job.JobLocationType.values()[weighted(random, LOCATION_TYPE_WEIGHTS)]);
+        job.setJobDescription(description(random));
+        job.setTravelRequirements(Job.TravelRequirements.values()[weighted(random, TRAVEL_WEIGHTS)]);
+        job.setHiringStages(hiringStages(random));
+        job.setInterviewMode(Job.InterviewMode.values()[weighted(random, INTERVIEW_MODE_WEIGHTS)]);
+        job.setExpectedJoiningDate(baseDate.plusDays(7 + random.nextInt(120)));
+        job.setIsActive(random.nextInt(100) < 95);
+
+        LocalDateTime createdAt = baseTime.minusMinutes(random.nextInt(365 * 24 * 60));
+        job.setCreatedAt(createdAt);
+        job.setUpdatedAt(random.nextInt(100) < 20 ? createdAt.plusHours(1 + random.nextInt(240)) : createdAt);
+        return job;
+    }
+
+    private static String companyName(int company) {
+        int prefix = company % COMPANY_PREFIXES.length;
+        int suffix = (company / COMPANY_PREFIXES.length) % COMPANY_SUFFIXES.length;
+        int form = company / (COMPANY_PREFIXES.length * COMPANY_SUFFIXES.length);
+        return COMPANY_PREFIXES[prefix] + COMPANY_SUFFIXES[suffix] + COMPANY_FORMS[form];
+    }
+
+    // Log-normal around the position's base salary, rounded to the nearest thousand
+    private static BigDecimal salary(SplittableRandom random, int base) {
+        double value = base * Math.exp(gaussian(random) * 0.35);
+        return BigDecimal.valueOf(Math.max(100, Math.round(value / 1000)) * 1000L);
+    }
+
+    private static String skills(SplittableRandom random) {
+        int count = 3 + skewed(random, 6, 1.5);
+        Set<String> skills = new LinkedHashSet<>();
+        while (skills.size() < count) {
+            skills.add(SKILLS[skewed(random, SKILLS.length, 2.5)]);
+        }
+        return String.join(", ", skills);
+    }
+
+    private static String description(SplittableRandom random) {
+        // Mostly short descriptions with a long tail up to the 2000 character limit
+        int sentences = 2 + (int) Math.min(38, -Math.log(1 - random.nextDouble()) * 5);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            String sentence = DESCRIPTION_SENTENCES[random.nextInt(DESCRIPTION_SENTENCES.length)];
+            if (description.length() + sentence.length() + 1 > 2000) {
+                break;
+            }
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(sentence);
+        }
+        return description.toString();
+    }
+
+    private static String hiringStages(SplittableRandom random) {
+        int count = 2 + random.nextInt(4);
+        StringBuilder stages = new StringBuilder("Resume Screening");
+        int stage = 1;
+        for (int i = 1; i < count && stage < HIRING_STAGES.length; i++) {
+            stage += random.nextInt(2);
+            if (stage < HIRING_STAGES.length) {
+                stages.append(", ").append(HIRING_STAGES[stage]);
+                stage++;
+            }
+        }
+        return stages.toString();
+    }
+
+    // Power-law pick: low indexes are much more likely, the larger the exponent the stronger the skew
+    private static int skewed(SplittableRandom random, int size, double exponent) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
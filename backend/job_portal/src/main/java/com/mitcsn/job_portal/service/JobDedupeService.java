@@ -0,0 +1,12 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dto.DedupeReportDto;
+
+public interface JobDedupeService {
+    
+    /**
+     * Scans all active jobs oldest first and applies the duplicate policy to every job that nearly
+     * duplicates an earlier one. With {@code dryRun} or policy OFF nothing is changed.
+     */
+    DedupeReportDto dedupeExistingJobs(boolean dryRun);
+}
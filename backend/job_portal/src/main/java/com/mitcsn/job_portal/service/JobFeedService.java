@@ -0,0 +1,15 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+
+import java.util.List;
+import java.util.Map;
+
+public interface JobFeedService {
+    
+    List<JobResponseDto> getFeaturedJobs(int limit);
+    
+    List<JobResponseDto> getRecentJobs(int limit);
+    
+    void recordViews(Map<Long, Long> viewsByJobId);
+}
@@ -0,0 +1,46 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dto.ImportReportDto;
+import com.mitcsn.job_portal.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface JobImportService {
+
+    ImportReportDto importJobs(InputStream inputStream, Format format) throws IOException;
+
+    enum Format {
+        CSV,
+        JSONL;
+
+        public static Format fromName(String name) {
+            if (name == null) {
+                return null;
+            }
+            String normalized = name.trim().toUpperCase();
+            if (normalized.equals("NDJSON") || normalized.equals("JSON")) {
+                return JSONL;
+            }
+            try {
+                return valueOf(normalized);
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported import format: " + name);
+            }
+        }
+
+        public static Format fromFileName(String fileName) {
+            if (fileName == null) {
+                return null;
+            }
+            String lower = fileName.toLowerCase();
+            if (lower.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            return null;
+        }
+    }
+}
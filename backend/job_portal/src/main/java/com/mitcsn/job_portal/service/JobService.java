@@ -1,12 +1,18 @@
 package com.mitcsn.job_portal.service;
 
+import com.mitcsn.job_portal.dto.EmployerJobPageDto;
+import com.mitcsn.job_portal.dto.JobBatchResponseDto;
+import com.mitcsn.job_portal.dto.JobFieldSet;
 import com.mitcsn.job_portal.dto.JobRequestDto;
 import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobSearchPageDto;
 import com.mitcsn.job_portal.entity.Job;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface JobService {
     
@@ -14,27 +20,42 @@ public interface JobService {
     
     JobResponseDto updateJob(Long id, JobRequestDto jobRequestDto);
     
-    JobResponseDto getJobById(Long id);
+    JobResponseDto patchJob(Long id, Map<String, Object> fields);
     
-    List<JobResponseDto> getAllActiveJobs();
+    JobResponseDto getJobById(Long id, JobFieldSet fields);
     
-    Page<JobResponseDto> getAllActiveJobs(Pageable pageable);
+    JobBatchResponseDto getJobsByIds(List<Long> ids, JobFieldSet fields);
+    
+    List<JobResponseDto> getAllActiveJobs(JobFieldSet fields);
+    
+    Page<JobResponseDto> getAllActiveJobs(Pageable pageable, JobFieldSet fields);
     
     void deleteJob(Long id);
     
-    List<JobResponseDto> searchJobsByCompany(String companyName);
+    List<JobResponseDto> searchJobsByCompany(String companyName, JobFieldSet fields);
     
-    List<JobResponseDto> searchJobsByPosition(String jobPosition);
+    List<JobResponseDto> searchJobsByPosition(String jobPosition, JobFieldSet fields);
     
-    List<JobResponseDto> searchJobsBySkill(String skill);
+    List<JobResponseDto> searchJobsBySkill(String skill, JobFieldSet fields);
     
-    List<JobResponseDto> getJobsByType(Job.JobType jobType);
+    List<JobResponseDto> getJobsByType(Job.JobType jobType, JobFieldSet fields);
     
-    List<JobResponseDto> getJobsByLocationType(Job.JobLocationType jobLocationType);
+    List<JobResponseDto> getJobsByLocationType(Job.JobLocationType jobLocationType, JobFieldSet fields);
     
-    List<JobResponseDto> getJobsByCompanySize(Job.CompanySize companySize);
+    List<JobResponseDto> getJobsByCompanySize(Job.CompanySize companySize, JobFieldSet fields);
     
     Page<JobResponseDto> searchJobs(String companyName, String jobPosition, String skill, 
                                    Job.JobType jobType, Job.JobLocationType jobLocationType, 
-                                   Pageable pageable);
+                                   Pageable pageable, JobFieldSet fields);
+    
+    // Relevance-ranked full-text search with keyset paging, needs jobportal.search.backend=fulltext
+    JobSearchPageDto searchJobsFullText(String q, Job.JobType jobType, Job.JobLocationType jobLocationType,
+                                        Double afterRank, Long afterId, int size, JobFieldSet fields);
+    
+    // Active jobs matching a query such as "skill:java type:FULL_TIME salary>=500000", see JobQuery
+    Page<JobResponseDto> queryJobs(String q, Pageable pageable, JobFieldSet fields);
+    
+    // Active jobs of one employer, newest first, with keyset paging on (createdAt, id)
+    EmployerJobPageDto getJobsByEmployer(long employerId, LocalDateTime afterCreatedAt, Long afterId, int size,
+                                         JobFieldSet fields);
 }
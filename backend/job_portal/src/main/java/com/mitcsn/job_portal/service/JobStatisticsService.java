@@ -0,0 +1,15 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dto.JobStatisticsDto;
+
+public interface JobStatisticsService {
+    
+    // Served from counters kept in memory, computed from the database until they have loaded
+    JobStatisticsDto getStatistics();
+    
+    // Active jobs of one employer, from the same counters, or one indexed count until they have loaded
+    long countActiveJobsByEmployer(long employerId);
+    
+    // Recounts the active jobs and replaces the counters, on the calling thread
+    void reconcile();
+}
@@ -0,0 +1,17 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dto.SavedSearchRequestDto;
+import com.mitcsn.job_portal.dto.SavedSearchResponseDto;
+
+import java.util.List;
+
+public interface SavedSearchService {
+    
+    SavedSearchResponseDto createSavedSearch(SavedSearchRequestDto savedSearchRequestDto);
+    
+    SavedSearchResponseDto getSavedSearchById(Long id);
+    
+    List<SavedSearchResponseDto> getSavedSearchesByEmail(String email);
+    
+    void deleteSavedSearch(Long id);
+}
@@ -0,0 +1,140 @@
+package com.mitcsn.job_portal.service.impl;
+
+import com.mitcsn.job_portal.dedup.LshIndex;
+import com.mitcsn.job_portal.dedup.NearDuplicateDetector;
+import com.mitcsn.job_portal.dto.DedupeReportDto;
+import com.mitcsn.job_portal.dto.DuplicatePairDto;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.service.JobDedupeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobDedupeServiceImpl implements JobDedupeService {
+    
+    private static final String SELECT_SQL = "SELECT id, company_name, job_position, job_description, duplicate_of_id "
+            + "FROM jobs WHERE is_active = true ORDER BY id";
+    
+    private static final Set<String> CHANGED_FIELDS = Collections.singleton("duplicateOfId");
+    
+    private final NearDuplicateDetector duplicateDetector;
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${jobportal.dedup.fetch-size:5000}")
+    private int fetchSize;
+    
+    @Value("${jobportal.dedup.batch-size:500}")
+    private int batchSize;
+    
+    @Value("${jobportal.dedup.max-reported:1000}")
+    private int maxReported;
+    
+    @Override
+    public DedupeReportDto dedupeExistingJobs(boolean dryRun) {
+        NearDuplicateDetector.Policy policy = duplicateDetector.getPolicy();
+        boolean apply = !dryRun && policy != NearDuplicateDetector.Policy.OFF;
+        log.info("Scanning active jobs for near-duplicates, policy {}{}", policy, apply ? "" : " (dry run)");
+        long started = System.currentTimeMillis();
+        
+        DedupeReportDto report = new DedupeReportDto();
+        report.setPolicy(policy.name());
+        report.setDryRun(!apply);
+        // Each job is only compared with older ones, so the oldest posting of a group is kept
+        LshIndex index = duplicateDetector.newIndex();
+        Map<Long, Long> duplicates = new HashMap<>();
+        
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> streaming.query(SELECT_SQL, (ResultSet rs) -> {
+            long id = rs.getLong("id");
+            int[] signature = duplicateDetector.signature(rs.getString("company_name"),
+                    rs.getString("job_position"), rs.getString("job_description"));
+            report.setScannedJobs(report.getScannedJobs() + 1);
+            
+            Optional<LshIndex.Match> match = index.findSimilar(signature, duplicateDetector.getThreshold(), null);
+            if (!match.isPresent()) {
+                index.add(id, signature);
+                return;
+            }
+            report.setDuplicateJobs(report.getDuplicateJobs() + 1);
+            if (report.getPairs().size() < maxReported) {
+                report.getPairs().add(new DuplicatePairDto(id, match.get().getId(), match.get().getSimilarity()));
+            } else {
+                report.setPairsTruncated(true);
+            }
+            Long flagged = (Long) rs.getObject("duplicate_of_id", Long.class);
+            if (policy == NearDuplicateDetector.Policy.REJECT || !Long.valueOf(match.get().getId()).equals(flagged)) {
+                duplicates.put(id, match.get().getId());
+            }
+        }));
+        
+        if (apply) {
+            List<Long> ids = new ArrayList<>(duplicates.keySet());
+            Collections.sort(ids);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + batchSize));
+                Integer updated = transactionTemplate.execute(status -> applyPolicy(chunk, duplicates, policy));
+                report.setUpdatedJobs(report.getUpdatedJobs() + (updated == null ? 0 : updated));
+            }
+        }
+        
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("Dedupe finished: {} scanned, {} duplicates, {} updated in {} ms", report.getScannedJobs(),
+                report.getDuplicateJobs(), report.getUpdatedJobs(), report.getDurationMs());
+        return report;
+    }
+    
+    // Flags or deactivates one chunk of duplicates and publishes the changes like the job service does
+    private int applyPolicy(List<Long> ids, Map<Long, Long> duplicates, NearDuplicateDetector.Policy policy) {
+        List<Job> jobs = jobRepository.findByIdInAndIsActiveTrue(ids);
+        Map<Long, JobResponseDto> befores = new HashMap<>(jobs.size() * 2);
+        for (Job job : jobs) {
+            befores.put(job.getId(), jobMapper.toResponseDto(job));
+            job.setDuplicateOfId(duplicates.get(job.getId()));
+            if (policy == NearDuplicateDetector.Policy.REJECT) {
+                job.setIsActive(false);
+            }
+        }
+        jobRepository.saveAll(jobs);
+        jobRepository.flush();
+        
+        for (Job job : jobs) {
+            JobResponseDto before = befores.get(job.getId());
+            if (policy == NearDuplicateDetector.Policy.REJECT) {
+                eventPublisher.publishEvent(new JobChangedEvent(job.getId(), JobChangedEvent.Type.DELETED, before, null));
+            } else {
+                eventPublisher.publishEvent(new JobChangedEvent(job.getId(), JobChangedEvent.Type.UPDATED, before,
+                        jobMapper.toResponseDto(job), false, CHANGED_FIELDS));
+            }
+        }
+        return jobs.size();
+    }
+}
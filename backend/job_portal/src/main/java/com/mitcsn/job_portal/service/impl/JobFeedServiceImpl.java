@@ -0,0 +1,252 @@
+package com.mitcsn.job_portal.service.impl;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.entity.JobStats;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobResyncEvent;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.repository.JobStatsRepository;
+import com.mitcsn.job_portal.service.JobFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the home page feeds in memory so reads never run a ranking query.
+ *
+ * Popularity is an exponentially time-decayed view count. Instead of decaying every score on
+ * each tick, views are added with weight e^(lambda * (t - epoch)), which ranks identically; the
+ * epoch is moved forward and scores rescaled before the weights grow too large. Every flush of
+ * views drops scores that have decayed below {@code MIN_SCORE} and keeps at most
+ * {@code jobportal.feed.max-scored-jobs} of the highest, so the map stays bounded. Both feeds are
+ * published as immutable snapshots and patched from committed {@link JobChangedEvent}s, including
+ * those relayed from other instances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobFeedServiceImpl implements JobFeedService {
+
+    private static final double MAX_EXPONENT = 300;
+    private static final double MIN_SCORE = 1e-3;
+
+    private final JobRepository jobRepository;
+    private final JobStatsRepository jobStatsRepository;
+    private final JobMapper jobMapper;
+
+    @Value("${jobportal.feed.size:100}")
+    private int feedSize;
+
+    @Value("${jobportal.feed.half-life-hours:24}")
+    private double halfLifeHours;
+
+    @Value("${jobportal.feed.max-scored-jobs:10000}")
+    private int maxScoredJobs;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    private long epochMillis;
+    private volatile boolean loaded;
+    private volatile List<JobResponseDto> featured = Collections.emptyList();
+    private volatile List<JobResponseDto> recent = Collections.emptyList();
+
+    @Override
+    public List<JobResponseDto> getFeaturedJobs(int limit) {
+        ensureLoaded();
+        return head(featured, limit);
+    }
+
+    @Override
+    public List<JobResponseDto> getRecentJobs(int limit) {
+        ensureLoaded();
+        return head(recent, limit);
+    }
+
+    @Override
+    public synchronized void recordViews(Map<Long, Long> viewsByJobId) {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        double weight = weight(now);
+        viewsByJobId.forEach((jobId, views) -> scores.merge(jobId, views * weight, Double::sum));
+
+        if (lambda() * (now - epochMillis) > MAX_EXPONENT) {
+            rescale(now);
+        }
+        prune(now);
+        refreshFeatured();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+
+        JobResponseDto after = event.getAfter();
+        if (after == null || !Boolean.TRUE.equals(after.getIsActive())) {
+            scores.remove(event.getJobId());
+            featured = without(featured, event.getJobId());
+            recent = without(recent, event.getJobId());
+            return;
+        }
+
+        featured = replaced(featured, after);
+        if (event.getType() == JobChangedEvent.Type.CREATED) {
+            List<JobResponseDto> updated = new ArrayList<>(recent.size() + 1);
+            updated.add(after);
+            updated.addAll(recent);
+            updated.sort(Comparator.comparing(JobResponseDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+            recent = Collections.unmodifiableList(new ArrayList<>(updated.subList(0, Math.min(feedSize, updated.size()))));
+        } else {
+            recent = replaced(recent, after);
+        }
+    }
+
+    // Changes from other instances were missed, reload both feeds on the next read
+    @EventListener(JobResyncEvent.class)
+    public synchronized void onResync() {
+        loaded = false;
+        scores.clear();
+        featured = Collections.emptyList();
+        recent = Collections.emptyList();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            epochMillis = now;
+
+            // Seed popularity from persisted totals, decayed by the time since the last view
+            LocalDateTime nowTime = LocalDateTime.now();
+            LocalDateTime since = nowTime.minusMinutes((long) (halfLifeHours * 60 * 10));
+            for (JobStats stats : jobStatsRepository.findByLastViewedAtAfter(since)) {
+                double ageMillis = Duration.between(stats.getLastViewedAt(), nowTime).toMillis();
+                scores.put(stats.getJobId(), stats.getViewCount() * Math.exp(-lambda() * ageMillis));
+            }
+
+            recent = Collections.unmodifiableList(jobRepository
+                    .findByIsActiveTrueOrderByCreatedAtDesc(PageRequest.of(0, feedSize)).stream()
+                    .map(jobMapper::toResponseDto)
+                    .collect(Collectors.toList()));
+            prune(now);
+            refreshFeatured();
+            loaded = true;
+            log.info("Loaded job feeds with {} scored jobs", scores.size());
+        }
+    }
+
+    private void refreshFeatured() {
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(feedSize + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > feedSize) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+
+        List<Long> currentIds = featured.stream().map(JobResponseDto::getId).collect(Collectors.toList());
+        if (ids.equals(currentIds)) {
+            return;
+        }
+
+        Map<Long, JobResponseDto> byId = new HashMap<>();
+        for (JobResponseDto dto : featured) {
+            byId.put(dto.getId(), dto);
+        }
+        List<Long> missing = ids.stream().filter(id -> !byId.containsKey(id)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            for (Job job : jobRepository.findAllById(missing)) {
+                byId.put(job.getId(), jobMapper.toResponseDto(job));
+            }
+        }
+
+        List<JobResponseDto> jobs = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JobResponseDto dto = byId.get(id);
+            if (dto != null && Boolean.TRUE.equals(dto.getIsActive())) {
+                jobs.add(dto);
+            } else {
+                // Deleted or deactivated since it was viewed, forget it instead of looking it up on every flush
+                scores.remove(id);
+            }
+        }
+        featured = Collections.unmodifiableList(jobs);
+    }
+
+    // Drops scores decayed below MIN_SCORE, then all but the highest maxScoredJobs
+    private void prune(long now) {
+        double minScore = MIN_SCORE * weight(now);
+        scores.values().removeIf(score -> score < minScore);
+        if (scores.size() <= maxScoredJobs) {
+            return;
+        }
+        double[] sorted = scores.values().stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        double cutoff = sorted[sorted.length - maxScoredJobs];
+        scores.values().removeIf(score -> score < cutoff);
+    }
+
+    private void rescale(long now) {
+        double factor = weight(now);
+        epochMillis = now;
+        scores.replaceAll((jobId, score) -> score / factor);
+    }
+
+    private double weight(long now) {
+        return Math.exp(lambda() * (now - epochMillis));
+    }
+
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3_600_000);
+    }
+
+    private static List<JobResponseDto> head(List<JobResponseDto> jobs, int limit) {
+        return limit >= jobs.size() ? jobs : jobs.subList(0, Math.max(0, limit));
+    }
+
+    private static List<JobResponseDto> without(List<JobResponseDto> jobs, Long jobId) {
+        if (jobs.stream().noneMatch(dto -> dto.getId().equals(jobId))) {
+            return jobs;
+        }
+        return Collections.unmodifiableList(jobs.stream()
+                .filter(dto -> !dto.getId().equals(jobId))
+                .collect(Collectors.toList()));
+    }
+
+    private static List<JobResponseDto> replaced(List<JobResponseDto> jobs, JobResponseDto job) {
+        if (jobs.stream().noneMatch(dto -> dto.getId().equals(job.getId()))) {
+            return jobs;
+        }
+        return Collections.unmodifiableList(jobs.stream()
+                .map(dto -> dto.getId().equals(job.getId()) ? job : dto)
+                .collect(Collectors.toList()));
+    }
+}
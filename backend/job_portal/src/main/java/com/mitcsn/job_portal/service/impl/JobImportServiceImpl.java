@@ -0,0 +1,384 @@
+package com.mitcsn.job_portal.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.dedup.LshIndex;
+import com.mitcsn.job_portal.dedup.NearDuplicateDetector;
+import com.mitcsn.job_portal.dto.ImportReportDto;
+import com.mitcsn.job_portal.dto.ImportRowErrorDto;
+import com.mitcsn.job_portal.dto.JobRequestDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.service.JobImportService;
+import com.mitcsn.job_portal.util.CsvReader;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Two-stage import pipeline. A parser thread reads, converts and validates records and hands
+ * them to the calling thread through a bounded queue; the calling thread persists them in
+ * fixed-size transactions. The queue capacity and batch size bound memory regardless of file size.
+ * Every imported job is published as a {@link JobChangedEvent}, like a job created through the API.
+ *
+ * Rows go through the {@link NearDuplicateDetector} like jobs created through the API, compared with
+ * the active jobs and with the earlier rows of their batch; earlier batches are committed and
+ * indexed by then. Under the reject policy a duplicate is a row error, under flag it is imported
+ * with duplicateOfId set.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobImportServiceImpl implements JobImportService {
+
+    private static final Map<String, String> REQUEST_PROPERTIES = requestProperties();
+    private static final ParsedRow END_OF_INPUT = new ParsedRow(-1, null, null);
+
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NearDuplicateDetector duplicateDetector;
+
+    @Value("${jobportal.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${jobportal.import.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${jobportal.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportReportDto importJobs(InputStream inputStream, Format format) throws IOException {
+        log.info("Starting {} job import", format);
+        long startTime = System.currentTimeMillis();
+
+        BlockingQueue<ParsedRow> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService parser = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-import-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ImportReportDto report = new ImportReportDto();
+        try {
+            Future<?> parsing = parser.submit(() -> {
+                try {
+                    if (format == Format.CSV) {
+                        parseCsv(inputStream, queue);
+                    } else {
+                        parseJsonLines(inputStream, queue);
+                    }
+                } finally {
+                    queue.put(END_OF_INPUT);
+                }
+                return null;
+            });
+
+            persist(queue, report);
+            parsing.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Job import was interrupted", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Job import failed", cause);
+        } finally {
+            parser.shutdownNow();
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - startTime);
+        log.info("Finished job import - total: {}, imported: {}, failed: {}, took {} ms",
+                report.getTotalRows(), report.getImportedRows(), report.getFailedRows(), report.getDurationMs());
+        return report;
+    }
+
+    private void persist(BlockingQueue<ParsedRow> queue, ImportReportDto report) throws InterruptedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        long totalRows = 0;
+
+        while (true) {
+            ParsedRow row = queue.take();
+            if (row == END_OF_INPUT) {
+                break;
+            }
+            totalRows++;
+
+            if (row.errors != null) {
+                recordFailure(report, row.rowNumber, row.errors);
+                continue;
+            }
+
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                persistBatch(transactionTemplate, batch, report);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            persistBatch(transactionTemplate, batch, report);
+        }
+        report.setTotalRows(totalRows);
+    }
+
+    private void persistBatch(TransactionTemplate transactionTemplate, List<ParsedRow> batch, ImportReportDto report) {
+        List<ParsedRow> accepted = checkDuplicates(batch, report);
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> accepted.forEach(this::save));
+            report.setImportedRows(report.getImportedRows() + accepted.size());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Batch of {} rows failed, retrying row by row: {}",
+                    accepted.size(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        }
+
+        // Retry individually so a single bad row does not discard the whole batch
+        for (ParsedRow row : accepted) {
+            row.job.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(row));
+                report.setImportedRows(report.getImportedRows() + 1);
+            } catch (RuntimeException ex) {
+                row.job.setId(null);
+                recordFailure(report, row.rowNumber, Collections.singletonList(
+                        "Database error: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage()));
+            }
+        }
+    }
+
+    // Rejects or flags near-duplicates, returns the rows to save
+    private List<ParsedRow> checkDuplicates(List<ParsedRow> batch, ImportReportDto report) {
+        NearDuplicateDetector.Policy policy = duplicateDetector.getPolicy();
+        if (policy == NearDuplicateDetector.Policy.OFF) {
+            return batch;
+        }
+        // Rows of this batch are not committed yet, so the detector cannot know them
+        LshIndex batchIndex = duplicateDetector.newIndex();
+        Map<Long, ParsedRow> batchRows = new HashMap<>();
+        List<ParsedRow> accepted = new ArrayList<>(batch.size());
+        for (ParsedRow row : batch) {
+            Job job = row.job;
+            int[] signature = duplicateDetector.signature(job.getCompanyName(), job.getJobPosition(), job.getJobDescription());
+            Optional<LshIndex.Match> existing = duplicateDetector.findDuplicate(signature, null);
+            Optional<LshIndex.Match> earlierRow = existing.isPresent() ? Optional.empty()
+                    : batchIndex.findSimilar(signature, duplicateDetector.getThreshold(), null);
+
+            if (policy == NearDuplicateDetector.Policy.REJECT && (existing.isPresent() || earlierRow.isPresent())) {
+                recordFailure(report, row.rowNumber, Collections.singletonList(existing.isPresent()
+                        ? "Job is a near-duplicate of job with ID: " + existing.get().getId()
+                        : "Job is a near-duplicate of row " + earlierRow.get().getId()));
+                continue;
+            }
+            if (existing.isPresent()) {
+                job.setDuplicateOfId(existing.get().getId());
+            } else if (earlierRow.isPresent()) {
+                row.duplicateOf = batchRows.get(earlierRow.get().getId());
+            }
+            batchIndex.add(row.rowNumber, signature);
+            batchRows.put(row.rowNumber, row);
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    // Rows are saved in file order, so the earlier row a row duplicates already has its id
+    private void save(ParsedRow row) {
+        if (row.duplicateOf != null) {
+            row.job.setDuplicateOfId(row.duplicateOf.job.getId());
+        }
+        publishCreated(jobRepository.save(row.job));
+    }
+
+    // Published inside the batch transaction, so listeners only see jobs of committed batches
+    private void publishCreated(Job job) {
+        eventPublisher.publishEvent(new JobChangedEvent(job.getId(), JobChangedEvent.Type.CREATED, null,
+                jobMapper.toResponseDto(job)));
+    }
+
+    private void recordFailure(ImportReportDto report, long rowNumber, List<String> errors) {
+        report.setFailedRows(report.getFailedRows() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportRowErrorDto(rowNumber, errors));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private void parseCsv(InputStream inputStream, BlockingQueue<ParsedRow> queue) throws IOException, InterruptedException {
+        try (CsvReader csvReader = new CsvReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)))) {
+            List<String> header = csvReader.readRecord();
+            if (header == null) {
+                return;
+            }
+            String[] columns = resolveColumns(header);
+
+            long rowNumber = 0;
+            List<String> record;
+            while ((record = csvReader.readRecord()) != null) {
+                rowNumber++;
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < columns.length && i < record.size(); i++) {
+                    String value = record.get(i).trim();
+                    if (columns[i] != null && !value.isEmpty()) {
+                        values.put(columns[i], value);
+                    }
+                }
+
+                ParsedRow row;
+                try {
+                    row = validate(rowNumber, objectMapper.convertValue(values, JobRequestDto.class));
+                } catch (IllegalArgumentException ex) {
+                    row = ParsedRow.failed(rowNumber, describe(ex));
+                }
+                queue.put(row);
+            }
+        }
+    }
+
+    private void parseJsonLines(InputStream inputStream, BlockingQueue<ParsedRow> queue) throws IOException, InterruptedException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                ParsedRow row;
+                try {
+                    row = validate(lineNumber, objectMapper.readValue(line, JobRequestDto.class));
+                } catch (JsonProcessingException ex) {
+                    row = ParsedRow.failed(lineNumber, describe(ex));
+                }
+                queue.put(row);
+            }
+        }
+    }
+
+    private ParsedRow validate(long rowNumber, JobRequestDto dto) {
+        Set<ConstraintViolation<JobRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            List<String> errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.toList());
+            return new ParsedRow(rowNumber, null, errors);
+        }
+
+        Job job = jobMapper.toEntity(dto);
+        job.setIsActive(true);
+        return new ParsedRow(rowNumber, job, null);
+    }
+
+    private String[] resolveColumns(List<String> header) {
+        String[] columns = new String[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "");
+            columns[i] = REQUEST_PROPERTIES.get(normalize(name));
+            if (columns[i] == null) {
+                log.warn("Ignoring unknown import column: {}", name);
+            }
+        }
+        return columns;
+    }
+
+    private static String describe(Exception ex) {
+        Throwable error = ex instanceof JsonMappingException || ex.getCause() == null ? ex : ex.getCause();
+        if (error instanceof JsonMappingException) {
+            JsonMappingException mappingException = (JsonMappingException) error;
+            String field = mappingException.getPath().stream()
+                    .map(JsonMappingException.Reference::getFieldName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining("."));
+            return field.isEmpty()
+                    ? mappingException.getOriginalMessage()
+                    : field + ": " + mappingException.getOriginalMessage();
+        }
+        if (error instanceof JsonProcessingException) {
+            return ((JsonProcessingException) error).getOriginalMessage();
+        }
+        return error.getMessage();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase().replace("_", "").replace("-", "").replace(" ", "");
+    }
+
+    private static Map<String, String> requestProperties() {
+        Map<String, String> properties = new HashMap<>();
+        for (Field field : JobRequestDto.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                properties.put(normalize(field.getName()), field.getName());
+            }
+        }
+        return properties;
+    }
+
+    private static final class ParsedRow {
+
+        private final long rowNumber;
+        private final Job job;
+        private final List<String> errors;
+        // An earlier row of the same batch this row nearly duplicates
+        private ParsedRow duplicateOf;
+
+        private ParsedRow(long rowNumber, Job job, List<String> errors) {
+            this.rowNumber = rowNumber;
+            this.job = job;
+            this.errors = errors;
+        }
+
+        private static ParsedRow failed(long rowNumber, String error) {
+            return new ParsedRow(rowNumber, null, Collections.singletonList(error));
+        }
+    }
+}
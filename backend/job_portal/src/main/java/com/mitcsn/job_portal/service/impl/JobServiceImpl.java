@@ -1,20 +1,55 @@
 package com.mitcsn.job_portal.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.dedup.LshIndex;
+import com.mitcsn.job_portal.dedup.NearDuplicateDetector;
+import com.mitcsn.job_portal.dto.EmployerJobPageDto;
+import com.mitcsn.job_portal.dto.JobBatchResponseDto;
+import com.mitcsn.job_portal.dto.JobFieldSet;
 import com.mitcsn.job_portal.dto.JobRequestDto;
 import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobSearchPageDto;
 import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.exception.DuplicateJobException;
 import com.mitcsn.job_portal.exception.ResourceNotFoundException;
 import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.query.JobQuery;
 import com.mitcsn.job_portal.repository.JobRepository;
 import com.mitcsn.job_portal.service.JobService;
+import com.mitcsn.job_portal.service.JobStatisticsService;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.repository.JobSearchHit;
+import com.mitcsn.job_portal.repository.JobSpecifications;
+import com.mitcsn.job_portal.snapshot.ActiveJobIdFilter;
+import com.mitcsn.job_portal.snapshot.JobSnapshot;
+import com.mitcsn.job_portal.stats.ViewCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,153 +60,435 @@ public class JobServiceImpl implements JobService {
     
     private final JobRepository jobRepository;
     private final JobMapper jobMapper;
+    private final ViewCounter viewCounter;
+    private final JobSnapshot jobSnapshot;
+    private final NearDuplicateDetector duplicateDetector;
+    private final ActiveJobIdFilter activeJobIds;
+    private final JobStatisticsService jobStatisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    
+    @Value("${jobportal.batch.max-size:100}")
+    private int maxBatchSize;
+    
+    @Value("${jobportal.search.backend:criteria}")
+    private String searchBackend;
+    
+    @Value("${jobportal.search.max-page-size:100}")
+    private int maxSearchPageSize;
     
     @Override
     public JobResponseDto createJob(JobRequestDto jobRequestDto) {
-        log.info("Creating new job for company: {}", jobRequestDto.getCompanyName());
+        log.debug("Creating new job for company: {}", jobRequestDto.getCompanyName());
         
         Job job = jobMapper.toEntity(jobRequestDto);
         job.setIsActive(true);
         
+        Optional<LshIndex.Match> duplicate = duplicateDetector.findDuplicate(
+                job.getCompanyName(), job.getJobPosition(), job.getJobDescription(), null);
+        if (duplicate.isPresent()) {
+            long duplicateOfId = duplicate.get().getId();
+            if (duplicateDetector.getPolicy() == NearDuplicateDetector.Policy.REJECT) {
+                throw new DuplicateJobException("Job is a near-duplicate of job with ID: " + duplicateOfId, duplicateOfId);
+            }
+            log.info("Job for company {} is a near-duplicate of job {} ({} similar)",
+                    job.getCompanyName(), duplicateOfId, duplicate.get().getSimilarity());
+            job.setDuplicateOfId(duplicateOfId);
+        }
+        
         Job savedJob = jobRepository.save(job);
+        JobResponseDto created = jobMapper.toResponseDto(savedJob);
+        eventPublisher.publishEvent(new JobChangedEvent(savedJob.getId(), JobChangedEvent.Type.CREATED, null, created));
         
         log.info("Successfully created job with ID: {}", savedJob.getId());
-        return jobMapper.toResponseDto(savedJob);
+        return created;
     }
     
     @Override
     public JobResponseDto updateJob(Long id, JobRequestDto jobRequestDto) {
-        log.info("Updating job with ID: {}", id);
+        log.debug("Updating job with ID: {}", id);
         
         Job existingJob = jobRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
         
+        JobResponseDto before = jobMapper.toResponseDto(existingJob);
         jobMapper.updateEntityFromDto(jobRequestDto, existingJob);
         Job updatedJob = jobRepository.save(existingJob);
+        JobResponseDto updated = jobMapper.toResponseDto(updatedJob);
+        eventPublisher.publishEvent(new JobChangedEvent(id, JobChangedEvent.Type.UPDATED, before, updated));
         
         log.info("Successfully updated job with ID: {}", id);
-        return jobMapper.toResponseDto(updatedJob);
+        return updated;
     }
     
     @Override
-    @Transactional(readOnly = true)
-    public JobResponseDto getJobById(Long id) {
-        log.info("Fetching job with ID: {}", id);
+    public JobResponseDto patchJob(Long id, Map<String, Object> fields) {
+        log.debug("Patching fields {} of job with ID: {}", fields.keySet(), id);
         
-        Job job = jobRepository.findByIdAndIsActiveTrue(id)
+        for (String field : fields.keySet()) {
+            if (!JobMapper.PATCHABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown job field: " + field);
+            }
+        }
+        JobRequestDto patch;
+        try {
+            patch = objectMapper.convertValue(fields, JobRequestDto.class);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid job fields: " + ex.getMessage(), ex);
+        }
+        
+        // Validate only the supplied fields, absent ones keep their stored values
+        Set<ConstraintViolation<JobRequestDto>> violations = new HashSet<>();
+        for (String field : fields.keySet()) {
+            violations.addAll(validator.validateProperty(patch, field));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        
+        Job existingJob = jobRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
         
-        return jobMapper.toResponseDto(job);
+        JobResponseDto before = jobMapper.toResponseDto(existingJob);
+        Set<String> changedFields = jobMapper.patchEntityFromDto(patch, fields.keySet(), existingJob);
+        if (changedFields.isEmpty()) {
+            return before;
+        }
+        
+        // Flush so updatedAt is set; with @DynamicUpdate the UPDATE only lists the changed columns
+        Job patchedJob = jobRepository.saveAndFlush(existingJob);
+        JobResponseDto patched = jobMapper.toResponseDto(patchedJob);
+        eventPublisher.publishEvent(new JobChangedEvent(id, JobChangedEvent.Type.UPDATED, before, patched, false, changedFields));
+        
+        log.info("Successfully patched {} of job with ID: {}", changedFields, id);
+        return patched;
     }
     
+    // SUPPORTS starts no transaction: a read-only one checks out a connection before the method runs,
+    // so ids the filter rules out would still cost one. The single query needs no enclosing transaction.
     @Override
-    @Transactional(readOnly = true)
-    public List<JobResponseDto> getAllActiveJobs() {
-        log.info("Fetching all active jobs");
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public JobResponseDto getJobById(Long id, JobFieldSet fields) {
+        log.debug("Fetching job with ID: {}", id);
         
-        List<Job> jobs = jobRepository.findByIsActiveTrue();
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
+        if (!activeJobIds.mightBeActive(id)) {
+            throw new ResourceNotFoundException("Job not found with ID: " + id);
+        }
+        JobResponseDto job;
+        if (fields.isAll()) {
+            job = jobRepository.findByIdAndIsActiveTrue(id)
+                    .map(jobMapper::toResponseDto)
+                    .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
+        } else {
+            JobFilter filter = JobFilter.builder().ids(Collections.singletonList(id)).build();
+            job = jobRepository.findProjected(filter, fields, Pageable.unpaged()).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
+        }
+        
+        viewCounter.recordView(id);
+        return job;
+    }
+    
+    // Like getJobById, a batch the filter rules out entirely costs no connection
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public JobBatchResponseDto getJobsByIds(List<Long> ids, JobFieldSet fields) {
+        log.debug("Fetching {} jobs by ID", ids.size());
+        
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null)) {
+            throw new BadRequestException("Job IDs must not be null");
+        }
+        if (requested.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " job IDs can be fetched at once");
+        }
+        
+        // Ids that are certainly not active are reported missing without being queried
+        List<Long> candidates = requested.stream()
+                .filter(activeJobIds::mightBeActive)
                 .collect(Collectors.toList());
+        Map<Long, JobResponseDto> found = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return missing(requested);
+        }
+        if (fields.isAll()) {
+            for (Job job : jobRepository.findByIdInAndIsActiveTrue(candidates)) {
+                found.put(job.getId(), jobMapper.toResponseDto(job));
+            }
+        } else {
+            JobFilter filter = JobFilter.builder().ids(candidates).build();
+            for (JobResponseDto job : jobRepository.findProjected(filter, fields, Pageable.unpaged())) {
+                found.put(job.getId(), job);
+            }
+        }
+        
+        JobBatchResponseDto response = new JobBatchResponseDto();
+        for (Long id : requested) {
+            JobResponseDto job = found.get(id);
+            if (job != null) {
+                response.getJobs().add(job);
+            } else {
+                response.getMissingIds().add(id);
+            }
+        }
+        return response;
+    }
+    
+    private static JobBatchResponseDto missing(Set<Long> ids) {
+        JobBatchResponseDto response = new JobBatchResponseDto();
+        response.getMissingIds().addAll(ids);
+        return response;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobResponseDto> getAllActiveJobs(JobFieldSet fields) {
+        log.debug("Fetching all active jobs");
+        
+        return findAll(JobFilter.ALL, fields, () -> jobRepository.findByIsActiveTrue());
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<JobResponseDto> getAllActiveJobs(Pageable pageable) {
-        log.info("Fetching active jobs with pagination");
+    public Page<JobResponseDto> getAllActiveJobs(Pageable pageable, JobFieldSet fields) {
+        log.debug("Fetching active jobs with pagination");
         
-        Page<Job> jobPage = jobRepository.findByIsActiveTrue(pageable);
-        return jobPage.map(jobMapper::toResponseDto);
+        return findPage(JobFilter.ALL, fields, pageable, () -> jobRepository.findByIsActiveTrue(pageable));
     }
     
     @Override
     public void deleteJob(Long id) {
-        log.info("Deleting job with ID: {}", id);
+        log.debug("Deleting job with ID: {}", id);
         
         Job job = jobRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + id));
         
+        JobResponseDto before = jobMapper.toResponseDto(job);
         job.setIsActive(false);
         jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(id, JobChangedEvent.Type.DELETED, before, null));
         
         log.info("Successfully deleted job with ID: {}", id);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> searchJobsByCompany(String companyName) {
-        log.info("Searching jobs by company name: {}", companyName);
+    public List<JobResponseDto> searchJobsByCompany(String companyName, JobFieldSet fields) {
+        log.debug("Searching jobs by company name: {}", companyName);
         
-        List<Job> jobs = jobRepository.findByCompanyNameContainingIgnoreCase(companyName);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().companyName(companyName).build();
+        return findAll(filter, fields, () -> jobRepository.findAll(JobSpecifications.matching(filter)));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> searchJobsByPosition(String jobPosition) {
-        log.info("Searching jobs by position: {}", jobPosition);
+    public List<JobResponseDto> searchJobsByPosition(String jobPosition, JobFieldSet fields) {
+        log.debug("Searching jobs by position: {}", jobPosition);
         
-        List<Job> jobs = jobRepository.findByJobPositionContainingIgnoreCase(jobPosition);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().jobPosition(jobPosition).build();
+        return findAll(filter, fields, () -> jobRepository.findAll(JobSpecifications.matching(filter)));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> searchJobsBySkill(String skill) {
-        log.info("Searching jobs by skill: {}", skill);
+    public List<JobResponseDto> searchJobsBySkill(String skill, JobFieldSet fields) {
+        log.debug("Searching jobs by skill: {}", skill);
         
-        List<Job> jobs = jobRepository.findBySkillsRequiredContainingIgnoreCase(skill);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().skill(skill).build();
+        return findAll(filter, fields, () -> jobRepository.findAll(JobSpecifications.matching(filter)));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> getJobsByType(Job.JobType jobType) {
-        log.info("Fetching jobs by type: {}", jobType);
+    public List<JobResponseDto> getJobsByType(Job.JobType jobType, JobFieldSet fields) {
+        log.debug("Fetching jobs by type: {}", jobType);
         
-        List<Job> jobs = jobRepository.findByJobTypeAndIsActiveTrue(jobType);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().jobType(jobType).build();
+        return findAll(filter, fields, () -> jobRepository.findByJobTypeAndIsActiveTrue(jobType));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> getJobsByLocationType(Job.JobLocationType jobLocationType) {
-        log.info("Fetching jobs by location type: {}", jobLocationType);
+    public List<JobResponseDto> getJobsByLocationType(Job.JobLocationType jobLocationType, JobFieldSet fields) {
+        log.debug("Fetching jobs by location type: {}", jobLocationType);
         
-        List<Job> jobs = jobRepository.findByJobLocationTypeAndIsActiveTrue(jobLocationType);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().jobLocationType(jobLocationType).build();
+        return findAll(filter, fields, () -> jobRepository.findByJobLocationTypeAndIsActiveTrue(jobLocationType));
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<JobResponseDto> getJobsByCompanySize(Job.CompanySize companySize) {
-        log.info("Fetching jobs by company size: {}", companySize);
+    public List<JobResponseDto> getJobsByCompanySize(Job.CompanySize companySize, JobFieldSet fields) {
+        log.debug("Fetching jobs by company size: {}", companySize);
         
-        List<Job> jobs = jobRepository.findByCompanySizeAndIsActiveTrue(companySize);
-        return jobs.stream()
-                .map(jobMapper::toResponseDto)
-                .collect(Collectors.toList());
+        JobFilter filter = JobFilter.builder().companySize(companySize).build();
+        return findAll(filter, fields, () -> jobRepository.findByCompanySizeAndIsActiveTrue(companySize));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<JobResponseDto> searchJobs(String companyName, String jobPosition, String skill, 
                                           Job.JobType jobType, Job.JobLocationType jobLocationType, 
-                                          Pageable pageable) {
-        log.info("Searching jobs with filters - Company: {}, Position: {}, Skill: {}, Type: {}, Location: {}", 
+                                          Pageable pageable, JobFieldSet fields) {
+        log.debug("Searching jobs with filters - Company: {}, Position: {}, Skill: {}, Type: {}, Location: {}", 
                 companyName, jobPosition, skill, jobType, jobLocationType);
         
-        Page<Job> jobPage = jobRepository.searchJobs(companyName, jobPosition, skill, jobType, jobLocationType, pageable);
-        return jobPage.map(jobMapper::toResponseDto);
+        JobFilter filter = JobFilter.builder()
+                .companyName(companyName)
+                .jobPosition(jobPosition)
+                .skill(skill)
+                .jobType(jobType)
+                .jobLocationType(jobLocationType)
+                .build();
+        String text = fullTextQuery(companyName, jobPosition, skill);
+        if (isFullTextBackend() && text != null) {
+            // The index finds jobs with the words anywhere, the filter keeps each value to its own field
+            List<JobSearchHit> hits = jobRepository.searchFullText(
+                    text, filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+            long total = pageable.getOffset() == 0 && hits.size() < pageable.getPageSize()
+                    ? hits.size()
+                    : jobRepository.countFullText(text, filter);
+            return new PageImpl<>(loadHits(hits, fields), pageable, total);
+        }
+        return findPage(filter, fields, pageable,
+                () -> jobRepository.findAll(JobSpecifications.matching(filter), pageable));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public JobSearchPageDto searchJobsFullText(String q, Job.JobType jobType, Job.JobLocationType jobLocationType,
+                                               Double afterRank, Long afterId, int size, JobFieldSet fields) {
+        log.debug("Full-text search: {}, Type: {}, Location: {}", q, jobType, jobLocationType);
+        
+        if (!isFullTextBackend()) {
+            // A deployment without the search index does not offer the endpoint, that is not the client's fault
+            throw new ResourceNotFoundException("Full-text search is not enabled on this server");
+        }
+        if (q == null || q.trim().isEmpty()) {
+            throw new BadRequestException("Search text is required");
+        }
+        if ((afterRank == null) != (afterId == null)) {
+            throw new BadRequestException("afterRank and afterId must be given together");
+        }
+        if (size < 1 || size > maxSearchPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxSearchPageSize);
+        }
+        
+        JobFilter filter = JobFilter.builder().jobType(jobType).jobLocationType(jobLocationType).build();
+        List<JobSearchHit> hits = afterRank == null
+                ? jobRepository.searchFullText(q, filter, 0, size)
+                : jobRepository.searchFullTextAfter(q, filter, new JobSearchHit(afterId, afterRank), size);
+        
+        JobSearchPageDto page = new JobSearchPageDto();
+        page.setContent(loadHits(hits, fields));
+        if (hits.size() == size) {
+            JobSearchHit last = hits.get(hits.size() - 1);
+            page.setNextAfterRank(last.getRank());
+            page.setNextAfterId(last.getId());
+        }
+        return page;
+    }
+    
+    private boolean isFullTextBackend() {
+        return "fulltext".equalsIgnoreCase(searchBackend);
+    }
+    
+    // The text criteria of the advanced search as one web search query, each term must match
+    private static String fullTextQuery(String... terms) {
+        StringBuilder text = new StringBuilder();
+        for (String term : terms) {
+            if (term != null && !term.trim().isEmpty()) {
+                text.append(text.length() == 0 ? "" : " ").append(term.trim());
+            }
+        }
+        return text.length() == 0 ? null : text.toString();
+    }
+    
+    // The jobs of the hits in hit order, reading only the requested fields
+    private List<JobResponseDto> loadHits(List<JobSearchHit> hits, JobFieldSet fields) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = hits.stream().map(JobSearchHit::getId).collect(Collectors.toList());
+        Map<Long, JobResponseDto> byId = new HashMap<>();
+        for (JobResponseDto job : jobRepository.findProjected(
+                JobFilter.builder().ids(ids).build(), fields, Pageable.unpaged()).getContent()) {
+            byId.put(job.getId(), job);
+        }
+        // A job deactivated between the two queries is left out
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<JobResponseDto> queryJobs(String q, Pageable pageable, JobFieldSet fields) {
+        log.debug("Querying jobs: {}", q);
+        
+        JobQuery query = JobQuery.parse(q);
+        Optional<JobFilter> filter = query.toFilter();
+        if (filter.isPresent()) {
+            return findPage(filter.get(), fields, pageable,
+                    () -> jobRepository.findAll(query.toSpecification(), pageable));
+        }
+        if (!fields.isAll()) {
+            return jobRepository.findProjected(query.toSpecification(), fields, pageable);
+        }
+        return jobRepository.findAll(query.toSpecification(), pageable).map(jobMapper::toResponseDto);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public EmployerJobPageDto getJobsByEmployer(long employerId, LocalDateTime afterCreatedAt, Long afterId, int size,
+                                                JobFieldSet fields) {
+        log.debug("Fetching jobs of employer: {}", employerId);
+        
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            throw new BadRequestException("afterCreatedAt and afterId must be given together");
+        }
+        if (size < 1 || size > maxSearchPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxSearchPageSize);
+        }
+        
+        // The cursor needs the creation time even when it is not among the requested fields
+        List<JobResponseDto> jobs = jobRepository.findProjectedByEmployer(
+                employerId, fields.including("createdAt"), afterCreatedAt, afterId, size);
+        
+        EmployerJobPageDto page = new EmployerJobPageDto();
+        page.setContent(jobs);
+        page.setTotalJobs(jobStatisticsService.countActiveJobsByEmployer(employerId));
+        if (jobs.size() == size) {
+            JobResponseDto last = jobs.get(jobs.size() - 1);
+            page.setNextAfterCreatedAt(last.getCreatedAt());
+            page.setNextAfterId(last.getId());
+        }
+        return page;
+    }
+    
+    // Snapshot first, then a projection when only some fields are requested, else the full entity query
+    private List<JobResponseDto> findAll(JobFilter filter, JobFieldSet fields, Supplier<List<Job>> query) {
+        Optional<List<JobResponseDto>> cached = jobSnapshot.findAll(filter, fields);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (!fields.isAll()) {
+            return jobRepository.findProjected(filter, fields, Pageable.unpaged()).getContent();
+        }
+        return query.get().stream()
+                .map(jobMapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+    
+    private Page<JobResponseDto> findPage(JobFilter filter, JobFieldSet fields, Pageable pageable,
+                                          Supplier<Page<Job>> query) {
+        Optional<Page<JobResponseDto>> cached = jobSnapshot.find(filter, fields, pageable);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (!fields.isAll()) {
+            return jobRepository.findProjected(filter, fields, pageable);
+        }
+        return query.get().map(jobMapper::toResponseDto);
     }
 }
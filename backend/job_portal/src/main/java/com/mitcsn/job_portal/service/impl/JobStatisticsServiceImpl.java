@@ -0,0 +1,324 @@
+package com.mitcsn.job_portal.service.impl;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobStatisticsDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobInvalidation;
+import com.mitcsn.job_portal.event.JobResyncEvent;
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import com.mitcsn.job_portal.service.JobStatisticsService;
+import com.mitcsn.job_portal.stats.JobAggregates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps {@link JobAggregates} of the active jobs in memory so reads never group the jobs table.
+ *
+ * Committed {@link JobChangedEvent}s are applied as deltas: the state before the change is
+ * subtracted and the state after it added. Changes from other instances use the states sent with
+ * their {@link JobInvalidation}, which sum up to the same counts in whatever order they arrive;
+ * only an invalidation sent without them queues a reconciliation. A reconciliation recounts all
+ * active jobs in the background and replaces the counters.
+ *
+ * The recount reads one REPEATABLE READ snapshot and applies the changes committed after it on
+ * top, so it completes however busy the jobs table is. Local commits hold a shared commit gate
+ * from just before they commit until their listeners have run; the recount takes the gate
+ * exclusively while it opens the snapshot, so every local change is either in the snapshot and
+ * already delivered, or committed later and delivered to the recount. Changes from other
+ * instances are split by when their notification arrives.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobStatisticsServiceImpl implements JobStatisticsService {
+
+    private static final String SELECT_SQL = "SELECT company_name, company_size, job_type, address, job_position, "
+            + "number_of_openings, salary_package, employer_id FROM jobs WHERE is_active = true";
+
+    private static final String COUNT_BY_EMPLOYER_SQL = "SELECT COUNT(*) FROM jobs WHERE employer_id = ? AND is_active = true";
+
+    // Fields that feed the counters, a partial update of anything else keeps them
+    private static final List<String> AGGREGATED_FIELDS = Arrays.asList("companyName", "companySize", "jobType",
+            "address", "jobPosition", "numberOfOpenings", "salaryPackage", "employerId");
+
+    // Opens the snapshot; reading the jobs table makes it the snapshot of the table on H2 as well
+    private static final String SNAPSHOT_SQL = "SELECT COUNT(*) FROM (SELECT 1 FROM jobs LIMIT 1) opened";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jobportal.stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.stats.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${jobportal.stats.max-groups:100}")
+    private int maxGroups;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-stats-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object reconcileLock = new Object();
+    private final ReadWriteLock commitGate = new ReentrantReadWriteLock();
+    private JobAggregates aggregates;
+    private LocalDateTime reconciledAt;
+    private List<JobChangedEvent> pendingEvents;
+    private boolean reconcileQueued;
+    // Rendered statistics, dropped by every change and rendered again by the next read
+    private volatile JobStatisticsDto view;
+
+    @EventListener(WarmUpEvent.class)
+    public void onWarmUp() {
+        if (enabled) {
+            loader.execute(this::reconcile);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.stats.reconcile-interval-ms:600000}",
+            initialDelayString = "${jobportal.stats.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            loader.execute(this::reconcile);
+        }
+    }
+
+    @EventListener(JobResyncEvent.class)
+    public void onResync() {
+        if (enabled) {
+            loader.execute(this::reconcile);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    // Published inside the writing transaction: holds the commit gate across its commit and listeners
+    @EventListener(JobChangedEvent.class)
+    public void onJobChanging() {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(commitGate)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(commitGate, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean held;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitGate.readLock().lock();
+                held = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(commitGate);
+                if (held) {
+                    commitGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        if (aggregates == null) {
+            return;
+        }
+        if (!apply(aggregates, event) && !reconcileQueued) {
+            reconcileQueued = true;
+            loader.execute(this::reconcile);
+        }
+        view = null;
+    }
+
+    @Override
+    public JobStatisticsDto getStatistics() {
+        JobStatisticsDto current = view;
+        if (current != null) {
+            return current;
+        }
+        if (!enabled) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            return transactionTemplate.execute(status -> load()).toDto(null, maxGroups);
+        }
+        current = render();
+        if (current != null) {
+            return current;
+        }
+        // Before the first count, requests wait for a single count instead of each running their own
+        synchronized (reconcileLock) {
+            if (render() == null) {
+                reconcile();
+            }
+        }
+        current = render();
+        if (current == null) {
+            throw new IllegalStateException("Job statistics are not available yet");
+        }
+        return current;
+    }
+
+    private synchronized JobStatisticsDto render() {
+        if (view == null && aggregates != null) {
+            view = aggregates.toDto(reconciledAt, maxGroups);
+        }
+        return view;
+    }
+
+    @Override
+    public long countActiveJobsByEmployer(long employerId) {
+        synchronized (this) {
+            if (aggregates != null) {
+                return aggregates.employerJobs(employerId);
+            }
+        }
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_EMPLOYER_SQL, Long.class, employerId);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void reconcile() {
+        synchronized (this) {
+            reconcileQueued = false;
+        }
+        // Recounts requested by the schedule, a resync and callers run one at a time
+        synchronized (reconcileLock) {
+            long started = System.currentTimeMillis();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            JobAggregates recounted;
+            try {
+                recounted = transactionTemplate.execute(status -> {
+                    openSnapshot();
+                    return load();
+                });
+            } catch (RuntimeException ex) {
+                log.warn("Failed to recount job statistics, keeping the current counters until the next recount: {}",
+                        ex.getMessage());
+                synchronized (this) {
+                    pendingEvents = null;
+                }
+                return;
+            }
+
+            synchronized (this) {
+                // Changes committed after the snapshot, in the order they were delivered
+                boolean complete = true;
+                for (JobChangedEvent event : pendingEvents) {
+                    complete &= apply(recounted, event);
+                }
+                pendingEvents = null;
+                if (aggregates != null && complete && !aggregates.matches(recounted)) {
+                    log.warn("Job statistics had drifted from the database, replaced them with a recount");
+                }
+                aggregates = recounted;
+                reconciledAt = LocalDateTime.now();
+                view = null;
+                if (!complete && !reconcileQueued) {
+                    reconcileQueued = true;
+                    loader.execute(this::reconcile);
+                }
+                log.info("Counted job statistics over {} active jobs in {} ms",
+                        recounted.size(), System.currentTimeMillis() - started);
+            }
+        }
+    }
+
+    // Starts collecting changes at the point the snapshot is taken, with no local commit half delivered
+    private void openSnapshot() {
+        commitGate.writeLock().lock();
+        try {
+            jdbcTemplate.queryForObject(SNAPSHOT_SQL, Long.class);
+            synchronized (this) {
+                pendingEvents = new ArrayList<>();
+            }
+        } finally {
+            commitGate.writeLock().unlock();
+        }
+    }
+
+    // Runs in the caller's transaction so the recount reads the snapshot opened by it
+    private JobAggregates load() {
+        JobAggregates loaded = new JobAggregates();
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        streaming.query(SELECT_SQL, (ResultSet rs) -> {
+            loaded.add(rs.getString("company_name"),
+                    toEnum(Job.CompanySize.class, rs.getString("company_size")),
+                    toEnum(Job.JobType.class, rs.getString("job_type")),
+                    rs.getString("address"),
+                    rs.getString("job_position"),
+                    (Integer) rs.getObject("number_of_openings", Integer.class),
+                    rs.getBigDecimal("salary_package"),
+                    (Long) rs.getObject("employer_id", Long.class));
+        });
+        return loaded;
+    }
+
+    // Applies one change as a delta, false when the change lacks the state it replaced
+    private static boolean apply(JobAggregates target, JobChangedEvent event) {
+        Set<String> changed = event.getChangedFields();
+        if (changed != null && AGGREGATED_FIELDS.stream().noneMatch(changed::contains)) {
+            return true;
+        }
+        JobResponseDto before = event.getBefore();
+        JobResponseDto after = event.getAfter();
+        if (event.isRemote()) {
+            // The reloaded state may already include later changes, the sent states are exact
+            JobInvalidation invalidation = event.getInvalidation();
+            if (invalidation == null || !invalidation.isStatesIncluded()) {
+                return false;
+            }
+            before = invalidation.getBefore();
+            after = invalidation.getAfter();
+        } else if (before == null && event.getType() != JobChangedEvent.Type.CREATED) {
+            return false;
+        }
+        if (before != null && Boolean.TRUE.equals(before.getIsActive())) {
+            target.remove(before);
+        }
+        if (after != null && Boolean.TRUE.equals(after.getIsActive())) {
+            target.add(after);
+        }
+        return true;
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
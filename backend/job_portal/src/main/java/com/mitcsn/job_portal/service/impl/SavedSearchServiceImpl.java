@@ -0,0 +1,72 @@
+package com.mitcsn.job_portal.service.impl;
+
+import com.mitcsn.job_portal.dto.SavedSearchRequestDto;
+import com.mitcsn.job_portal.dto.SavedSearchResponseDto;
+import com.mitcsn.job_portal.entity.SavedSearch;
+import com.mitcsn.job_portal.event.SavedSearchChangedEvent;
+import com.mitcsn.job_portal.exception.ResourceNotFoundException;
+import com.mitcsn.job_portal.mapper.SavedSearchMapper;
+import com.mitcsn.job_portal.repository.SavedSearchRepository;
+import com.mitcsn.job_portal.service.SavedSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SavedSearchServiceImpl implements SavedSearchService {
+    
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMapper savedSearchMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public SavedSearchResponseDto createSavedSearch(SavedSearchRequestDto savedSearchRequestDto) {
+        log.info("Creating saved search for: {}", savedSearchRequestDto.getEmail());
+        
+        SavedSearch savedSearch = savedSearchRepository.save(savedSearchMapper.toEntity(savedSearchRequestDto));
+        eventPublisher.publishEvent(new SavedSearchChangedEvent(savedSearch.getId(), savedSearch));
+        
+        log.info("Successfully created saved search with ID: {}", savedSearch.getId());
+        return savedSearchMapper.toResponseDto(savedSearch);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SavedSearchResponseDto getSavedSearchById(Long id) {
+        log.info("Fetching saved search with ID: {}", id);
+        
+        return savedSearchRepository.findById(id)
+                .map(savedSearchMapper::toResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with ID: " + id));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SavedSearchResponseDto> getSavedSearchesByEmail(String email) {
+        log.info("Fetching saved searches for: {}", email);
+        
+        return savedSearchRepository.findByEmailIgnoreCase(email).stream()
+                .map(savedSearchMapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void deleteSavedSearch(Long id) {
+        log.info("Deleting saved search with ID: {}", id);
+        
+        SavedSearch savedSearch = savedSearchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Saved search not found with ID: " + id));
+        savedSearchRepository.delete(savedSearch);
+        eventPublisher.publishEvent(new SavedSearchChangedEvent(id, null));
+        
+        log.info("Successfully deleted saved search with ID: {}", id);
+    }
+}
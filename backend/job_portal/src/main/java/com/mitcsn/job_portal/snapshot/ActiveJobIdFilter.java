@@ -0,0 +1,169 @@
+package com.mitcsn.job_portal.snapshot;
+
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobResyncEvent;
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import com.mitcsn.job_portal.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bloom filter of active job ids, used to answer lookups of ids that certainly do not exist without
+ * a database round trip.
+ *
+ * The filter is built from the table and covers ids up to the highest id seen when it was built;
+ * newer ids are always reported as possibly active, so jobs created on other instances or by bulk
+ * imports are never hidden. Local and remote creates are added as they commit. Deleted ids cannot
+ * be removed from a Bloom filter and keep going to the database until the next periodic rebuild.
+ * Until the first build has finished every id is reported as possibly active.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveJobIdFilter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jobportal.bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.bloom.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${jobportal.bloom.fetch-size:5000}")
+    private int fetchSize;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-id-filter-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Generation current;
+    private List<Long> pendingIds;
+
+    @EventListener(WarmUpEvent.class)
+    public void onWarmUp() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.bloom.rebuild-interval-ms:600000}",
+            initialDelayString = "${jobportal.bloom.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @EventListener(JobResyncEvent.class)
+    public void onResync() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (event.getAfter() == null || !Boolean.TRUE.equals(event.getAfter().getIsActive())) {
+            return;
+        }
+        if (pendingIds != null) {
+            pendingIds.add(event.getJobId());
+        }
+        Generation generation = current;
+        if (generation != null) {
+            generation.filter.put(event.getJobId());
+        }
+    }
+
+    /**
+     * Returns false only when the id is certainly not an active job.
+     */
+    public boolean mightBeActive(long id) {
+        Generation generation = current;
+        return generation == null || id > generation.maxId || generation.filter.mightContain(id);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pendingIds = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        Generation rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load the active job id filter, lookups use the database: {}", ex.getMessage());
+            synchronized (this) {
+                pendingIds = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (Long id : pendingIds) {
+                rebuilt.filter.put(id);
+            }
+            pendingIds = null;
+            current = rebuilt;
+        }
+        log.info("Loaded active job id filter up to id {} in {} ms ({} bits, {} hashes)", rebuilt.maxId,
+                System.currentTimeMillis() - started, rebuilt.filter.bitSize(), rebuilt.filter.hashCount());
+    }
+
+    private Generation load() {
+        // The high-water mark is read first, so every id at or below it is either streamed below or inactive
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM jobs", Long.class);
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs WHERE is_active = true", Integer.class);
+        // Headroom for jobs created before the next rebuild
+        BloomFilter filter = new BloomFilter(Math.max(1024, (count == null ? 0 : count) * 2L), falsePositiveProbability);
+
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> streaming.query("SELECT id FROM jobs WHERE is_active = true",
+                (ResultSet rs) -> {
+                    filter.put(rs.getLong(1));
+                }));
+        return new Generation(filter, maxId == null ? 0 : maxId);
+    }
+
+    private static final class Generation {
+
+        private final BloomFilter filter;
+        private final long maxId;
+
+        Generation(BloomFilter filter, long maxId) {
+            this.filter = filter;
+            this.maxId = maxId;
+        }
+    }
+}
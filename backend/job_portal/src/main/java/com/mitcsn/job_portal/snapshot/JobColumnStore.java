@@ -0,0 +1,582 @@
+package com.mitcsn.job_portal.snapshot;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.util.Addresses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented store of active jobs. Instead of one object graph per job (headers, boxed
+ * numbers, BigDecimal, LocalDateTime and duplicated strings) every field lives in a primitive
+ * array indexed by row:
+ * <ul>
+ *     <li>enums as ordinals in {@code byte[]}</li>
+ *     <li>salary in cents in {@code long[]}, openings in {@code int[]}</li>
+ *     <li>dates as epoch days in {@code int[]}, timestamps as epoch seconds (UTC) in {@code long[]} plus
+ *     microseconds in {@code int[]}</li>
+ *     <li>short repeated strings (company, position, city, ...) as codes into {@link StringDictionary}s</li>
+ *     <li>skills as dictionary codes in one shared {@code int[]}, addressed per row by start and count</li>
+ * </ul>
+ * Long free-text fields (address, skills text, description, hiring stages) are not kept; callers
+ * load them for the rows they actually return.
+ *
+ * Rows are kept in ascending id order so a row is found by binary search without a per-job map.
+ * Ids are assigned at insert time but committed in any order, so a job older than the newest row
+ * is inserted at its position and only the rows after it move. Deleted rows are only flagged and
+ * disappear on the next rebuild. Every write also keeps an index
+ * of the rows by creation time, so reads never have to sort or take the write lock.
+ */
+public class JobColumnStore {
+
+    private static final byte NULL_ORDINAL = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    // Span of creation times that still leaves the 31 bits of the row in a packed sort key
+    private static final long MAX_PACKED_SECONDS = 1L << 32;
+
+    private static final Job.JobType[] JOB_TYPES = Job.JobType.values();
+    private static final Job.JobLocationType[] LOCATION_TYPES = Job.JobLocationType.values();
+    private static final Job.CompanySize[] COMPANY_SIZES = Job.CompanySize.values();
+    private static final Job.TravelRequirements[] TRAVEL_REQUIREMENTS = Job.TravelRequirements.values();
+    private static final Job.InterviewMode[] INTERVIEW_MODES = Job.InterviewMode.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final StringDictionary companies = new StringDictionary();
+    private final StringDictionary positions = new StringDictionary();
+    private final StringDictionary cities = new StringDictionary();
+    private final StringDictionary skills = new StringDictionary();
+    private final StringDictionary shortTexts = new StringDictionary();
+
+    private int rows;
+    private int activeRows;
+    private long[] ids;
+    private boolean[] active;
+    private byte[] jobType;
+    private byte[] locationType;
+    private byte[] companySize;
+    private byte[] travelRequirements;
+    private byte[] interviewMode;
+    private int[] openings;
+    private long[] salaryCents;
+    private long[] duplicateOf;
+    private long[] employer;
+    private int[] joiningEpochDay;
+    private long[] createdEpochSecond;
+    private long[] updatedEpochSecond;
+    private int[] createdMicros;
+    private int[] updatedMicros;
+    private int[] company;
+    private int[] position;
+    private int[] city;
+    private int[] experience;
+    private int[] bond;
+    private int[] trainingPeriod;
+    private int[] workingDays;
+    private int[] skillStart;
+    private short[] skillCount;
+    private int[] skillCodes = new int[1024];
+    private int skillCodesSize;
+
+    // Row indexes ordered by creation time (ties by id), one entry per row
+    private int[] createdOrder;
+    // True while rows appended by a load wait for sortCreatedOrder()
+    private boolean createdOrderPending;
+
+    public JobColumnStore() {
+        this(1024);
+    }
+
+    public JobColumnStore(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    // Inserts or replaces a job
+    public void upsert(JobResponseDto job) {
+        upsert(job, null);
+    }
+
+    /**
+     * Like {@link #upsert(JobResponseDto)}, but for an existing row only re-encodes the derived
+     * columns (city, skill list) whose source fields are among the changed fields.
+     *
+     * @param changedFields request field names changed by a partial update, null if unknown
+     */
+    public void upsert(JobResponseDto job, Set<String> changedFields) {
+        lock.writeLock().lock();
+        try {
+            put(job, changedFields, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a job while loading the store, before it is shared. Unlike {@link #upsert(JobResponseDto)}
+     * it leaves the creation-time order to a single {@link #sortCreatedOrder()} after the last job.
+     */
+    void append(JobResponseDto job) {
+        lock.writeLock().lock();
+        try {
+            put(job, null, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Sorting packed (createdAt second, row) longs avoids boxing a million Integers
+    void sortCreatedOrder() {
+        lock.writeLock().lock();
+        try {
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (int row = 0; row < rows; row++) {
+                if (createdEpochSecond[row] != NULL_LONG) {
+                    first = Math.min(first, createdEpochSecond[row]);
+                    last = Math.max(last, createdEpochSecond[row]);
+                }
+            }
+            if (first <= last && last - first >= MAX_PACKED_SECONDS) {
+                sortCreatedOrderBoxed();
+                return;
+            }
+            long[] keys = new long[rows];
+            for (int row = 0; row < rows; row++) {
+                // Missing creation times sort first, like in the comparisons below
+                long offset = createdEpochSecond[row] == NULL_LONG ? 0 : createdEpochSecond[row] - first + 1;
+                keys[row] = offset << 31 | row;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < rows; i++) {
+                createdOrder[i] = (int) (keys[i] & Integer.MAX_VALUE);
+            }
+            createdOrderPending = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Creation times more than a century apart do not fit the packed keys
+    private void sortCreatedOrderBoxed() {
+        Integer[] order = new Integer[rows];
+        for (int row = 0; row < rows; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, (row, other) -> compareCreated(row, createdEpochSecond[other], other));
+        for (int i = 0; i < rows; i++) {
+            createdOrder[i] = order[i];
+        }
+        createdOrderPending = false;
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeRow(find(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return activeRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * True when {@link #query} matches the filter exactly like the database, which looks for the skill
+     * anywhere in the whole skills text. The store keeps the trimmed comma-separated skills, so it
+     * matches the same rows only for skill texts that neither contain a comma nor start or end with
+     * whitespace; others have to be matched against the full text.
+     */
+    public static boolean supports(JobFilter filter) {
+        String skill = filter.getSkill();
+        return skill == null || !skill.isEmpty() && skill.indexOf(',') < 0 && skill.trim().length() == skill.length();
+    }
+
+    /**
+     * Returns the matching jobs in the requested order, without the lazily loaded text fields.
+     *
+     * @param byCreatedAt order by creation time (ties by id), otherwise by id
+     * @param offset      number of matches to skip
+     * @param limit       maximum number of jobs to return
+     */
+    public Result query(JobFilter filter, boolean byCreatedAt, boolean descending, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (byCreatedAt && createdOrderPending) {
+                throw new IllegalStateException("Loaded jobs are not sorted by creation time yet");
+            }
+            RowMatcher matcher = matcher(filter);
+            int[] order = byCreatedAt ? createdOrder : null;
+            List<JobResponseDto> jobs = new ArrayList<>(Math.min(limit, 1024));
+            long total = 0;
+            for (int i = 0; i < rows; i++) {
+                int position = descending ? rows - 1 - i : i;
+                int row = order == null ? position : order[position];
+                if (!active[row] || !matcher.matches(row)) {
+                    continue;
+                }
+                if (total >= offset && jobs.size() < limit) {
+                    jobs.add(toDto(row));
+                }
+                total++;
+            }
+            return new Result(jobs, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Approximate retained heap of the store, for monitoring bytes per job
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long capacity = ids.length;
+            long perRow = 8 + 1 + 5 + 4 + 8 + 8 + 8 + 4 * 3 + 8 * 2 + 4 * 7 + 4 + 2 + 4;
+            return capacity * perRow + skillCodes.length * 4L
+                    + companies.estimatedBytes() + positions.estimatedBytes() + cities.estimatedBytes()
+                    + skills.estimatedBytes() + shortTexts.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytesPerJob() {
+        int count = size();
+        return count == 0 ? 0 : estimatedBytes() / count;
+    }
+
+    private void put(JobResponseDto job, Set<String> changedFields, boolean keepOrder) {
+        if (!Boolean.TRUE.equals(job.getIsActive())) {
+            removeRow(find(job.getId()));
+            return;
+        }
+        int row = find(job.getId());
+        boolean added = row < 0;
+        boolean existing = !added && active[row];
+        if (added) {
+            if (rows == ids.length) {
+                allocate(rows * 2);
+            }
+            row = -row - 1;
+            if (row < rows) {
+                shiftRows(row, keepOrder);
+            }
+            rows++;
+            ids[row] = job.getId();
+            activeRows++;
+        } else if (!active[row]) {
+            activeRows++;
+        }
+        long previousSecond = added ? NULL_LONG : createdEpochSecond[row];
+        int previousIndex = added || !keepOrder ? -1 : indexOfCreated(previousSecond, row, rows);
+        write(row, job, existing ? changedFields : null);
+
+        if (!keepOrder) {
+            createdOrder[row] = row;
+            createdOrderPending = true;
+        } else if (added) {
+            insertCreated(row, rows - 1);
+        } else if (createdEpochSecond[row] != previousSecond) {
+            System.arraycopy(createdOrder, previousIndex + 1, createdOrder, previousIndex, rows - previousIndex - 1);
+            insertCreated(row, rows - 1);
+        }
+    }
+
+    /**
+     * Moves the rows from the given one up by one to make room for an insert. Writes usually come
+     * close to the newest id, so few rows move; the creation-time index keeps its order and only
+     * has its row numbers adjusted.
+     */
+    private void shiftRows(int from, boolean keepOrder) {
+        int count = rows - from;
+        for (Object column : new Object[] {ids, active, jobType, locationType, companySize, travelRequirements,
+                interviewMode, openings, salaryCents, duplicateOf, employer, joiningEpochDay, createdEpochSecond,
+                updatedEpochSecond, createdMicros, updatedMicros, company, position, city, experience, bond,
+                trainingPeriod, workingDays, skillStart, skillCount}) {
+            System.arraycopy(column, from, column, from + 1, count);
+        }
+        if (keepOrder) {
+            for (int i = 0; i < rows; i++) {
+                if (createdOrder[i] >= from) {
+                    createdOrder[i]++;
+                }
+            }
+        }
+    }
+
+    // New jobs are usually the newest, so inserting mostly appends without moving anything
+    private void insertCreated(int row, int size) {
+        int index = -indexOfCreated(createdEpochSecond[row], row, size) - 1;
+        System.arraycopy(createdOrder, index, createdOrder, index + 1, size - index);
+        createdOrder[index] = row;
+    }
+
+    // Position of the row with the given creation second in the index, as Arrays.binarySearch
+    private int indexOfCreated(long epochSecond, int row, int size) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareCreated(createdOrder[middle], epochSecond, row);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Orders a row against a creation second and row. Rows are in id order, so ordering by
+     * (createdAt second, row) breaks ties by id; NULL_LONG is the lowest value, so missing
+     * creation times sort first.
+     */
+    private int compareCreated(int row, long epochSecond, int other) {
+        int comparison = Long.compare(createdEpochSecond[row], epochSecond);
+        return comparison != 0 ? comparison : Integer.compare(row, other);
+    }
+
+    private void write(int row, JobResponseDto job, Set<String> changedFields) {
+        active[row] = true;
+        jobType[row] = ordinal(job.getJobType());
+        locationType[row] = ordinal(job.getJobLocationType());
+        companySize[row] = ordinal(job.getCompanySize());
+        travelRequirements[row] = ordinal(job.getTravelRequirements());
+        interviewMode[row] = ordinal(job.getInterviewMode());
+        openings[row] = job.getNumberOfOpenings() == null ? NULL_INT : job.getNumberOfOpenings();
+        salaryCents[row] = job.getSalaryPackage() == null
+                ? NULL_LONG : job.getSalaryPackage().movePointRight(2).longValue();
+        duplicateOf[row] = job.getDuplicateOfId() == null ? NULL_LONG : job.getDuplicateOfId();
+        employer[row] = job.getEmployerId() == null ? NULL_LONG : job.getEmployerId();
+        joiningEpochDay[row] = job.getExpectedJoiningDate() == null
+                ? NULL_INT : (int) job.getExpectedJoiningDate().toEpochDay();
+        createdEpochSecond[row] = epochSecond(job.getCreatedAt());
+        createdMicros[row] = micros(job.getCreatedAt());
+        updatedEpochSecond[row] = epochSecond(job.getUpdatedAt());
+        updatedMicros[row] = micros(job.getUpdatedAt());
+        company[row] = companies.encode(job.getCompanyName());
+        position[row] = positions.encode(job.getJobPosition());
+        if (changedFields == null || changedFields.contains("address")) {
+            city[row] = cities.encode(Addresses.city(job.getAddress()));
+        }
+        experience[row] = shortTexts.encode(job.getRequiredExperience());
+        bond[row] = shortTexts.encode(job.getBond());
+        trainingPeriod[row] = shortTexts.encode(job.getTrainingPeriod());
+        workingDays[row] = shortTexts.encode(job.getWorkingDays());
+
+        if (changedFields != null && !changedFields.contains("skillsRequired")) {
+            return;
+        }
+        // Replaced skill lists are appended, the old range is reclaimed by the next rebuild
+        List<String> tokens = skillTokens(job.getSkillsRequired());
+        int count = tokens.size();
+        if (skillCodesSize + count > skillCodes.length) {
+            skillCodes = Arrays.copyOf(skillCodes, Math.max(skillCodes.length * 2, skillCodesSize + count));
+        }
+        skillStart[row] = skillCodesSize;
+        skillCount[row] = (short) count;
+        for (int i = 0; i < count; i++) {
+            skillCodes[skillCodesSize++] = skills.encode(tokens.get(i));
+        }
+    }
+
+    private JobResponseDto toDto(int row) {
+        JobResponseDto dto = new JobResponseDto();
+        dto.setId(ids[row]);
+        dto.setCompanyName(companies.decode(company[row]));
+        dto.setJobPosition(positions.decode(position[row]));
+        dto.setNumberOfOpenings(openings[row] == NULL_INT ? null : openings[row]);
+        dto.setRequiredExperience(shortTexts.decode(experience[row]));
+        dto.setSalaryPackage(salaryCents[row] == NULL_LONG ? null : BigDecimal.valueOf(salaryCents[row], 2));
+        dto.setBond(shortTexts.decode(bond[row]));
+        dto.setTrainingPeriod(shortTexts.decode(trainingPeriod[row]));
+        dto.setCompanySize(companySize[row] == NULL_ORDINAL ? null : COMPANY_SIZES[companySize[row]]);
+        dto.setWorkingDays(shortTexts.decode(workingDays[row]));
+        dto.setJobType(jobType[row] == NULL_ORDINAL ? null : JOB_TYPES[jobType[row]]);
+        dto.setJobLocationType(locationType[row] == NULL_ORDINAL ? null : LOCATION_TYPES[locationType[row]]);
+        dto.setTravelRequirements(travelRequirements[row] == NULL_ORDINAL ? null : TRAVEL_REQUIREMENTS[travelRequirements[row]]);
+        dto.setInterviewMode(interviewMode[row] == NULL_ORDINAL ? null : INTERVIEW_MODES[interviewMode[row]]);
+        dto.setExpectedJoiningDate(joiningEpochDay[row] == NULL_INT ? null : LocalDate.ofEpochDay(joiningEpochDay[row]));
+        dto.setIsActive(true);
+        dto.setCreatedAt(dateTime(createdEpochSecond[row], createdMicros[row]));
+        dto.setUpdatedAt(dateTime(updatedEpochSecond[row], updatedMicros[row]));
+        dto.setDuplicateOfId(duplicateOf[row] == NULL_LONG ? null : duplicateOf[row]);
+        dto.setEmployerId(employer[row] == NULL_LONG ? null : employer[row]);
+        return dto;
+    }
+
+    private RowMatcher matcher(JobFilter filter) {
+        List<RowMatcher> matchers = new ArrayList<>();
+        if (filter.getJobType() != null) {
+            byte ordinal = (byte) filter.getJobType().ordinal();
+            matchers.add(row -> jobType[row] == ordinal);
+        }
+        if (filter.getJobLocationType() != null) {
+            byte ordinal = (byte) filter.getJobLocationType().ordinal();
+            matchers.add(row -> locationType[row] == ordinal);
+        }
+        if (filter.getCompanySize() != null) {
+            byte ordinal = (byte) filter.getCompanySize().ordinal();
+            matchers.add(row -> companySize[row] == ordinal);
+        }
+        if (filter.getCompanyName() != null) {
+            boolean[] codes = companies.matchContaining(filter.getCompanyName());
+            matchers.add(row -> company[row] != StringDictionary.NULL_CODE && codes[company[row]]);
+        }
+        if (filter.getJobPosition() != null) {
+            boolean[] codes = positions.matchContaining(filter.getJobPosition());
+            matchers.add(row -> position[row] != StringDictionary.NULL_CODE && codes[position[row]]);
+        }
+        if (filter.getSkill() != null) {
+            boolean[] codes = skills.matchContaining(filter.getSkill());
+            matchers.add(row -> {
+                for (int i = skillStart[row], end = i + skillCount[row]; i < end; i++) {
+                    if (codes[skillCodes[i]]) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        RowMatcher[] all = matchers.toArray(new RowMatcher[0]);
+        return row -> {
+            for (RowMatcher matcher : all) {
+                if (!matcher.matches(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private int find(long id) {
+        return Arrays.binarySearch(ids, 0, rows, id);
+    }
+
+    private void removeRow(int row) {
+        if (row >= 0 && active[row]) {
+            active[row] = false;
+            activeRows--;
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new long[capacity] : Arrays.copyOf(ids, capacity);
+        active = active == null ? new boolean[capacity] : Arrays.copyOf(active, capacity);
+        jobType = grow(jobType, capacity);
+        locationType = grow(locationType, capacity);
+        companySize = grow(companySize, capacity);
+        travelRequirements = grow(travelRequirements, capacity);
+        interviewMode = grow(interviewMode, capacity);
+        openings = grow(openings, capacity);
+        salaryCents = grow(salaryCents, capacity);
+        duplicateOf = grow(duplicateOf, capacity);
+        employer = grow(employer, capacity);
+        joiningEpochDay = grow(joiningEpochDay, capacity);
+        createdEpochSecond = grow(createdEpochSecond, capacity);
+        updatedEpochSecond = grow(updatedEpochSecond, capacity);
+        createdMicros = grow(createdMicros, capacity);
+        updatedMicros = grow(updatedMicros, capacity);
+        company = grow(company, capacity);
+        position = grow(position, capacity);
+        city = grow(city, capacity);
+        experience = grow(experience, capacity);
+        bond = grow(bond, capacity);
+        trainingPeriod = grow(trainingPeriod, capacity);
+        workingDays = grow(workingDays, capacity);
+        skillStart = grow(skillStart, capacity);
+        skillCount = grow(skillCount, capacity);
+        createdOrder = grow(createdOrder, capacity);
+    }
+
+    private static byte[] grow(byte[] array, int capacity) {
+        return array == null ? new byte[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static short[] grow(short[] array, int capacity) {
+        return array == null ? new short[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static long[] grow(long[] array, int capacity) {
+        return array == null ? new long[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NULL_ORDINAL : (byte) value.ordinal();
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? NULL_LONG : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Fraction of the second at the database's microsecond precision
+    private static int micros(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.getNano() / 1000;
+    }
+
+    private static LocalDateTime dateTime(long epochSecond, int micros) {
+        return epochSecond == NULL_LONG ? null : LocalDateTime.ofEpochSecond(epochSecond, micros * 1000, ZoneOffset.UTC);
+    }
+
+    static List<String> skillTokens(String skillsRequired) {
+        List<String> tokens = new ArrayList<>();
+        if (skillsRequired == null) {
+            return tokens;
+        }
+        for (String token : skillsRequired.split(",")) {
+            String trimmed = token.trim();
+            if (!trimmed.isEmpty()) {
+                tokens.add(trimmed);
+            }
+        }
+        return tokens;
+    }
+
+    @FunctionalInterface
+    private interface RowMatcher {
+        boolean matches(int row);
+    }
+
+    public static final class Result {
+
+        private final List<JobResponseDto> jobs;
+        private final long total;
+
+        Result(List<JobResponseDto> jobs, long total) {
+            this.jobs = jobs;
+            this.total = total;
+        }
+
+        public List<JobResponseDto> getJobs() {
+            return jobs;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.mitcsn.job_portal.snapshot;
+
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobResyncEvent;
+import com.mitcsn.job_portal.event.WarmUpEvent;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves list and filter reads from a {@link JobColumnStore} of all active jobs.
+ *
+ * The store is loaded in the background once the application is ready and rebuilt periodically
+ * to drop deleted rows. Committed {@link JobChangedEvent}s are applied immediately and, while a
+ * rebuild is running, also replayed onto the new store before it is swapped in. Until a store is
+ * available, or for orderings it does not support, the methods return empty and callers fall
+ * back to the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSnapshot {
+
+    private static final String SELECT_SQL = "SELECT id, company_name, address, job_position, number_of_openings, "
+            + "required_experience, salary_package, skills_required, bond, training_period, company_size, working_days, "
+            + "job_type, job_location_type, travel_requirements, interview_mode, expected_joining_date, created_at, "
+            + "updated_at, duplicate_of_id, employer_id FROM jobs WHERE is_active = true ORDER BY id";
+
+    private static final int HYDRATE_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JobRepository jobRepository;
+
+    @Value("${jobportal.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.snapshot.fetch-size:5000}")
+    private int fetchSize;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-snapshot-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile JobColumnStore store;
+    private List<JobChangedEvent> pendingEvents;
+
+    @EventListener(WarmUpEvent.class)
+    public void onWarmUp() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.snapshot.rebuild-interval-ms:600000}",
+            initialDelayString = "${jobportal.snapshot.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+        JobColumnStore current = store;
+        if (current != null) {
+            apply(current, event);
+        }
+    }
+
+    @EventListener(JobResyncEvent.class)
+    public void onResync() {
+        if (enabled) {
+            loader.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Returns a page of active jobs matching the filter, or empty when the snapshot cannot answer
+     * the request. Supported orderings are unsorted (by id), {@code id} and {@code createdAt}.
+     * Free-text fields are only loaded when they are among the requested fields.
+     */
+    public Optional<Page<JobResponseDto>> find(JobFilter filter, JobFieldSet fields, Pageable pageable) {
+        JobColumnStore current = store;
+        if (current == null || filter.getIds() != null || !JobColumnStore.supports(filter)) {
+            return Optional.empty();
+        }
+
+        boolean byCreatedAt = false;
+        boolean descending = false;
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return Optional.empty();
+        }
+        if (orders.size() == 1) {
+            Sort.Order order = orders.get(0);
+            if (order.getProperty().equals("createdAt")) {
+                byCreatedAt = true;
+            } else if (!order.getProperty().equals("id")) {
+                return Optional.empty();
+            }
+            descending = order.isDescending();
+        }
+
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        JobColumnStore.Result result = current.query(filter, byCreatedAt, descending, offset, limit);
+        return Optional.of(new PageImpl<>(hydrate(result.getJobs(), fields), pageable, result.getTotal()));
+    }
+
+    // All active jobs matching the filter, in id order
+    public Optional<List<JobResponseDto>> findAll(JobFilter filter, JobFieldSet fields) {
+        return find(filter, fields, Pageable.unpaged()).map(Page::getContent);
+    }
+
+    public boolean isReady() {
+        return store != null;
+    }
+
+    // Heap estimate of the current store, 0 while not loaded
+    public long estimatedBytesPerJob() {
+        JobColumnStore current = store;
+        return current == null ? 0 : current.estimatedBytesPerJob();
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        JobColumnStore rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load the job snapshot, reads use the database: {}", ex.getMessage());
+            synchronized (this) {
+                pendingEvents = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (JobChangedEvent event : pendingEvents) {
+                apply(rebuilt, event);
+            }
+            pendingEvents = null;
+            store = rebuilt;
+        }
+        log.info("Loaded job snapshot with {} active jobs in {} ms, about {} bytes per job",
+                rebuilt.size(), System.currentTimeMillis() - started, rebuilt.estimatedBytesPerJob());
+    }
+
+    private JobColumnStore load() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs WHERE is_active = true", Integer.class);
+        JobColumnStore loaded = new JobColumnStore(count == null ? 0 : count + count / 8);
+
+        // Stream the rows, the driver only uses a cursor inside a transaction with a fetch size
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> streaming.query(SELECT_SQL, (ResultSet rs) -> {
+            loaded.append(toDto(rs));
+        }));
+        loaded.sortCreatedOrder();
+        return loaded;
+    }
+
+    // Fills the free-text fields the store does not keep, with one query per chunk of ids
+    private List<JobResponseDto> hydrate(List<JobResponseDto> jobs, JobFieldSet fields) {
+        if (!fields.includes("address") && !fields.includes("skillsRequired")
+                && !fields.includes("jobDescription") && !fields.includes("hiringStages")) {
+            return jobs;
+        }
+        Map<Long, JobResponseDto> byId = new HashMap<>(jobs.size() * 2);
+        for (JobResponseDto job : jobs) {
+            byId.put(job.getId(), job);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += HYDRATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + HYDRATE_CHUNK_SIZE));
+            for (Object[] row : jobRepository.findTextFieldsByIdIn(chunk)) {
+                JobResponseDto job = byId.get((Long) row[0]);
+                job.setAddress((String) row[1]);
+                job.setSkillsRequired((String) row[2]);
+                job.setJobDescription((String) row[3]);
+                job.setHiringStages((String) row[4]);
+            }
+        }
+        return jobs;
+    }
+
+    private static void apply(JobColumnStore target, JobChangedEvent event) {
+        if (event.getAfter() == null) {
+            target.remove(event.getJobId());
+        } else {
+            target.upsert(event.getAfter(), event.getChangedFields());
+        }
+    }
+
+    private static JobResponseDto toDto(ResultSet rs) throws SQLException {
+        JobResponseDto dto = new JobResponseDto();
+        dto.setId(rs.getLong("id"));
+        dto.setCompanyName(rs.getString("company_name"));
+        dto.setAddress(rs.getString("address"));
+        dto.setJobPosition(rs.getString("job_position"));
+        dto.setNumberOfOpenings((Integer) rs.getObject("number_of_openings", Integer.class));
+        dto.setRequiredExperience(rs.getString("required_experience"));
+        dto.setSalaryPackage(rs.getBigDecimal("salary_package"));
+        dto.setSkillsRequired(rs.getString("skills_required"));
+        dto.setBond(rs.getString("bond"));
+        dto.setTrainingPeriod(rs.getString("training_period"));
+        dto.setCompanySize(toEnum(Job.CompanySize.class, rs.getString("company_size")));
+        dto.setWorkingDays(rs.getString("working_days"));
+        dto.setJobType(toEnum(Job.JobType.class, rs.getString("job_type")));
+        dto.setJobLocationType(toEnum(Job.JobLocationType.class, rs.getString("job_location_type")));
+        dto.setTravelRequirements(toEnum(Job.TravelRequirements.class, rs.getString("travel_requirements")));
+        dto.setInterviewMode(toEnum(Job.InterviewMode.class, rs.getString("interview_mode")));
+        Date joining = rs.getDate("expected_joining_date");
+        dto.setExpectedJoiningDate(joining == null ? null : joining.toLocalDate());
+        dto.setIsActive(true);
+        Timestamp created = rs.getTimestamp("created_at");
+        dto.setCreatedAt(created == null ? null : created.toLocalDateTime());
+        Timestamp updated = rs.getTimestamp("updated_at");
+        dto.setUpdatedAt(updated == null ? null : updated.toLocalDateTime());
+        dto.setDuplicateOfId((Long) rs.getObject("duplicate_of_id", Long.class));
+        dto.setEmployerId((Long) rs.getObject("employer_id", Long.class));
+        return dto;
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mitcsn.job_portal.snapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Append-only dictionary that stores each distinct string once and hands out dense int codes.
+ * Not thread-safe; guarded by the owning store's lock.
+ */
+class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private long chars;
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+            chars += value.length();
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    // Codes of all entries containing the given text, ignoring case (like SQL LOWER(..) LIKE %text%)
+    boolean[] matchContaining(String text) {
+        String needle = text.toLowerCase(Locale.ROOT);
+        boolean[] matches = new boolean[values.size()];
+        for (int i = 0; i < values.size(); i++) {
+            matches[i] = values.get(i).toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return matches;
+    }
+
+    // Rough heap cost: String and hash map entry overhead plus character data
+    long estimatedBytes() {
+        return values.size() * 120L + chars * 2;
+    }
+}
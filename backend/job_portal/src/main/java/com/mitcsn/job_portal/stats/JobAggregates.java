@@ -0,0 +1,195 @@
+package com.mitcsn.job_portal.stats;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobStatisticsDto;
+import com.mitcsn.job_portal.dto.PositionStatisticsDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.util.Addresses;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Counters over the active jobs, updated by adding and removing single jobs.
+ *
+ * Groups are dropped when their count reaches zero, so the maps only hold values that occur.
+ * Companies, cities and positions are also kept ranked, largest first, as they change, so a view of
+ * the largest groups is built without sorting. Jobs per employer are kept for lookups by employer
+ * and left out of the statistics view. Not thread-safe; callers synchronize.
+ */
+public class JobAggregates {
+
+    private long jobs;
+    private long openings;
+    private final Map<String, Long> byCompany = new HashMap<>();
+    private final Map<Job.CompanySize, Long> byCompanySize = new EnumMap<>(Job.CompanySize.class);
+    private final Map<Job.JobType, Long> byJobType = new EnumMap<>(Job.JobType.class);
+    private final Map<String, Long> byCity = new HashMap<>();
+    private final Map<String, PositionTotals> byPosition = new HashMap<>();
+    private final Map<Long, Long> byEmployer = new HashMap<>();
+    private final TreeSet<Group> companyRanking = new TreeSet<>();
+    private final TreeSet<Group> cityRanking = new TreeSet<>();
+    private final TreeSet<Group> positionRanking = new TreeSet<>();
+
+    private static class PositionTotals {
+        private long jobs;
+        private long openings;
+        private long salaries;
+        private BigDecimal salarySum = BigDecimal.ZERO;
+
+        private boolean isEmpty() {
+            return jobs == 0;
+        }
+
+        private boolean sameAs(PositionTotals other) {
+            return jobs == other.jobs && openings == other.openings && salaries == other.salaries
+                    && salarySum.compareTo(other.salarySum) == 0;
+        }
+    }
+
+    // A group and its size at the time it was ranked; ordered largest first, then by name
+    private static final class Group implements Comparable<Group> {
+        private final String key;
+        private final long size;
+
+        private Group(String key, long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        @Override
+        public int compareTo(Group other) {
+            int bySize = Long.compare(other.size, size);
+            return bySize != 0 ? bySize : key.compareTo(other.key);
+        }
+    }
+
+    public void add(JobResponseDto job) {
+        apply(job.getCompanyName(), job.getCompanySize(), job.getJobType(), job.getAddress(),
+                job.getJobPosition(), job.getNumberOfOpenings(), job.getSalaryPackage(), job.getEmployerId(), 1);
+    }
+
+    public void remove(JobResponseDto job) {
+        apply(job.getCompanyName(), job.getCompanySize(), job.getJobType(), job.getAddress(),
+                job.getJobPosition(), job.getNumberOfOpenings(), job.getSalaryPackage(), job.getEmployerId(), -1);
+    }
+
+    // Adds a job read column by column, without building a DTO per row
+    public void add(String companyName, Job.CompanySize companySize, Job.JobType jobType, String address,
+                    String jobPosition, Integer numberOfOpenings, BigDecimal salaryPackage, Long employerId) {
+        apply(companyName, companySize, jobType, address, jobPosition, numberOfOpenings, salaryPackage, employerId, 1);
+    }
+
+    public long size() {
+        return jobs;
+    }
+
+    public long employerJobs(long employerId) {
+        return byEmployer.getOrDefault(employerId, 0L);
+    }
+
+    private void apply(String companyName, Job.CompanySize companySize, Job.JobType jobType, String address,
+                       String jobPosition, Integer numberOfOpenings, BigDecimal salaryPackage, Long employerId,
+                       int sign) {
+        int jobOpenings = numberOfOpenings == null ? 0 : numberOfOpenings;
+        jobs += sign;
+        openings += sign * (long) jobOpenings;
+        rank(companyRanking, companyName, count(byCompany, companyName, sign), sign);
+        count(byEmployer, employerId, sign);
+        count(byCompanySize, companySize, sign);
+        count(byJobType, jobType, sign);
+        String city = Addresses.city(address);
+        rank(cityRanking, city, count(byCity, city, sign), sign);
+
+        if (jobPosition == null) {
+            return;
+        }
+        PositionTotals totals = byPosition.computeIfAbsent(jobPosition, position -> new PositionTotals());
+        rank(positionRanking, jobPosition, totals.jobs + sign, sign);
+        totals.jobs += sign;
+        totals.openings += sign * (long) jobOpenings;
+        if (salaryPackage != null) {
+            totals.salaries += sign;
+            totals.salarySum = sign > 0 ? totals.salarySum.add(salaryPackage) : totals.salarySum.subtract(salaryPackage);
+        }
+        if (totals.isEmpty()) {
+            byPosition.remove(jobPosition);
+        }
+    }
+
+    // Returns the new count of the key, 0 when it has none or is null
+    private static <K> long count(Map<K, Long> counts, K key, int sign) {
+        if (key == null) {
+            return 0;
+        }
+        Long count = counts.merge(key, (long) sign, (current, delta) -> current + delta == 0 ? null : current + delta);
+        return count == null ? 0 : count;
+    }
+
+    // Moves a group from its previous size to its new one, O(log groups)
+    private static void rank(TreeSet<Group> ranking, String key, long size, int sign) {
+        if (key == null) {
+            return;
+        }
+        long previous = size - sign;
+        if (previous > 0) {
+            ranking.remove(new Group(key, previous));
+        }
+        if (size > 0) {
+            ranking.add(new Group(key, size));
+        }
+    }
+
+    public JobStatisticsDto toDto(LocalDateTime reconciledAt) {
+        return toDto(reconciledAt, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The statistics with at most {@code maxGroups} companies, cities and positions each, largest
+     * first. Read from the rankings, so the cost depends on {@code maxGroups}, not on the number of groups.
+     */
+    public JobStatisticsDto toDto(LocalDateTime reconciledAt, int maxGroups) {
+        return new JobStatisticsDto(jobs, openings,
+                largestFirst(companyRanking, maxGroups, byCompany::get),
+                new EnumMap<>(byCompanySize),
+                new EnumMap<>(byJobType),
+                largestFirst(cityRanking, maxGroups, byCity::get),
+                largestFirst(positionRanking, maxGroups, position -> {
+                    PositionTotals totals = byPosition.get(position);
+                    return new PositionStatisticsDto(totals.jobs, totals.openings, totals.salaries == 0 ? null
+                            : totals.salarySum.divide(BigDecimal.valueOf(totals.salaries), 2, RoundingMode.HALF_UP));
+                }),
+                reconciledAt);
+    }
+
+    private static <V> Map<String, V> largestFirst(TreeSet<Group> ranking, int maxGroups, Function<String, V> value) {
+        Map<String, V> largest = new LinkedHashMap<>(Math.min(ranking.size(), maxGroups) * 2);
+        Iterator<Group> groups = ranking.iterator();
+        while (groups.hasNext() && largest.size() < maxGroups) {
+            String key = groups.next().key;
+            largest.put(key, value.apply(key));
+        }
+        return largest;
+    }
+
+    // True when both hold the same counts, used to report drift found by a reconciliation
+    public boolean matches(JobAggregates other) {
+        if (jobs != other.jobs || openings != other.openings || !byCompany.equals(other.byCompany)
+                || !byCompanySize.equals(other.byCompanySize) || !byJobType.equals(other.byJobType)
+                || !byCity.equals(other.byCity) || !byEmployer.equals(other.byEmployer)
+                || !byPosition.keySet().equals(other.byPosition.keySet())) {
+            return false;
+        }
+        return byPosition.entrySet().stream()
+                .allMatch(entry -> entry.getValue().sameAs(Objects.requireNonNull(other.byPosition.get(entry.getKey()))));
+    }
+}
@@ -0,0 +1,129 @@
+package com.mitcsn.job_portal.stats;
+
+import com.mitcsn.job_portal.service.JobFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts job views in memory and writes them to {@code job_stats} in periodic batches.
+ *
+ * Each job gets a {@link LongAdder}, which stripes concurrent increments across cells so hot
+ * jobs do not serialize request threads. A flush swaps in a fresh generation of counters and
+ * drains the generation retired by the previous flush, giving in-flight increments on the old
+ * map a full interval to land before it is read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCounter {
+
+    private static final String UPDATE_SQL =
+            "UPDATE job_stats SET view_count = view_count + ?, last_viewed_at = ? WHERE job_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO job_stats (job_id, view_count, last_viewed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JobFeedService jobFeedService;
+
+    private volatile ConcurrentHashMap<Long, LongAdder> current = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<Long, LongAdder> retired = new ConcurrentHashMap<>();
+
+    public void recordView(Long jobId) {
+        LongAdder counter = current.get(jobId);
+        if (counter == null) {
+            counter = current.computeIfAbsent(jobId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${jobportal.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        ConcurrentHashMap<Long, LongAdder> draining = retired;
+        retired = current;
+        current = new ConcurrentHashMap<>();
+        write(draining);
+    }
+
+    @PreDestroy
+    public synchronized void flushAll() {
+        ConcurrentHashMap<Long, LongAdder> draining = retired;
+        retired = current;
+        current = new ConcurrentHashMap<>();
+        write(draining);
+        write(retired);
+        retired = new ConcurrentHashMap<>();
+    }
+
+    private void write(Map<Long, LongAdder> counters) {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> deltas = new HashMap<>(counters.size() * 2);
+        counters.forEach((jobId, counter) -> deltas.put(jobId, counter.sum()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> upsert(deltas, now));
+            } catch (DuplicateKeyException ex) {
+                // Another instance inserted some of the rows concurrently, the retry updates them instead
+                transactionTemplate.executeWithoutResult(status -> upsert(deltas, now));
+            }
+            log.debug("Flushed views of {} jobs", deltas.size());
+        } catch (RuntimeException ex) {
+            // Keep the counts for the next flush rather than losing them
+            log.warn("Failed to flush views of {} jobs: {}", deltas.size(), ex.getMessage());
+            deltas.forEach((jobId, views) -> current.computeIfAbsent(jobId, id -> new LongAdder()).add(views));
+            return;
+        }
+
+        jobFeedService.recordViews(Collections.unmodifiableMap(deltas));
+    }
+
+    // Portable upsert: batch UPDATE, then batch INSERT the rows that did not exist yet
+    private void upsert(Map<Long, Long> deltas, Timestamp now) {
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((jobId, views) -> updates.add(new Object[]{views, now, jobId}));
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(),
+                (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setTimestamp(2, (Timestamp) row[1]);
+                    ps.setLong(3, (Long) row[2]);
+                });
+
+        List<Object[]> inserts = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    Object[] row = updates.get(index);
+                    inserts.add(new Object[]{row[2], row[0], row[1]});
+                }
+                index++;
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+}
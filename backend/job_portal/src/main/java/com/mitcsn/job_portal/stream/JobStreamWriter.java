@@ -0,0 +1,164 @@
+package com.mitcsn.job_portal.stream;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+
+/**
+ * Writes one streamed response as newline-delimited JSON with non-blocking servlet output.
+ *
+ * Rows are written only while the container reports the connection ready, so a slow client holds
+ * at most one chunk of rows and one serialized row in memory, and no thread. When a chunk has been
+ * written, the next one is fetched on the executor; the container resumes writing through
+ * {@link #onWritePossible()} and a finished fetch resumes it through {@link #drain()}, one at a
+ * time under this object's lock.
+ *
+ * The status line is long gone when a later fetch fails or the stream times out, so how the stream
+ * ended is sent in the {@link JobStreamer#STATUS_TRAILER} trailer: {@code complete} only when every
+ * row was written.
+ */
+@Slf4j
+class JobStreamWriter implements WriteListener, AsyncListener {
+
+    static final String COMPLETE = "complete";
+    static final String FAILED = "failed";
+    static final String TIMED_OUT = "timed-out";
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream output;
+    private final ObjectWriter rowWriter;
+    // Loads the chunk after the given id, empty when there are no more rows
+    private final LongFunction<List<JobResponseDto>> source;
+    private final Executor fetcher;
+    private final int chunkSize;
+    // Each row goes out in a single write, the container refuses a second one until it is ready again
+    private final ByteArrayOutputStream row = new ByteArrayOutputStream(1024);
+
+    private List<JobResponseDto> chunk;
+    private int next;
+    private long lastId;
+    private boolean fetching;
+    private boolean finished;
+    private boolean completed;
+    private volatile String status = FAILED;
+
+    JobStreamWriter(AsyncContext asyncContext, ServletOutputStream output, ObjectWriter rowWriter,
+                    LongFunction<List<JobResponseDto>> source, Executor fetcher, int chunkSize,
+                    List<JobResponseDto> firstChunk) {
+        this.asyncContext = asyncContext;
+        this.output = output;
+        this.rowWriter = rowWriter;
+        this.source = source;
+        this.fetcher = fetcher;
+        this.chunkSize = chunkSize;
+        this.chunk = firstChunk;
+    }
+
+    @Override
+    public void onWritePossible() {
+        drain();
+    }
+
+    @Override
+    public synchronized void onError(Throwable ex) {
+        // Usually the client went away
+        log.debug("Job stream aborted: {}", ex.getMessage());
+        finished = true;
+    }
+
+    synchronized void drain() {
+        try {
+            while (!finished && output.isReady()) {
+                if (next < chunk.size()) {
+                    JobResponseDto job = chunk.get(next++);
+                    lastId = job.getId();
+                    row.reset();
+                    rowWriter.writeValue(row, job);
+                    row.write('\n');
+                    row.writeTo(output);
+                    continue;
+                }
+                if (chunk.size() < chunkSize) {
+                    complete(COMPLETE);
+                    return;
+                }
+                if (!fetching) {
+                    fetching = true;
+                    long after = lastId;
+                    fetcher.execute(() -> fetched(after));
+                    // Send what is buffered while the next chunk loads
+                    output.flush();
+                }
+                return;
+            }
+        } catch (IOException | RuntimeException ex) {
+            onError(ex);
+            complete(FAILED);
+        }
+    }
+
+    private void fetched(long after) {
+        List<JobResponseDto> loaded;
+        try {
+            loaded = source.apply(after);
+        } catch (RuntimeException ex) {
+            // The status is already sent, the trailer tells the client the stream is truncated
+            log.warn("Failed to load jobs after id {} for a stream: {}", after, ex.getMessage());
+            complete(FAILED);
+            return;
+        }
+        synchronized (this) {
+            chunk = loaded;
+            next = 0;
+            fetching = false;
+        }
+        drain();
+    }
+
+    @Override
+    public synchronized void onTimeout(AsyncEvent event) {
+        log.debug("Job stream timed out after id {}", lastId);
+        complete(TIMED_OUT);
+    }
+
+    @Override
+    public synchronized void onError(AsyncEvent event) {
+        onError(event.getThrowable());
+        complete(FAILED);
+    }
+
+    private synchronized void complete(String endStatus) {
+        finished = true;
+        if (!completed) {
+            completed = true;
+            status = endStatus;
+            asyncContext.complete();
+        }
+    }
+
+    // Read by the container when it closes the response, after complete()
+    Map<String, String> trailerFields() {
+        return Collections.singletonMap(JobStreamer.STATUS_TRAILER, status);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+}
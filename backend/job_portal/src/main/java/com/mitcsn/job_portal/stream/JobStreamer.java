@@ -0,0 +1,106 @@
+package com.mitcsn.job_portal.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams active jobs as newline-delimited JSON without tying a request thread or a database
+ * connection to the client for the length of the response.
+ *
+ * Jobs are read in chunks by keyset on the id, each chunk in its own short read-only transaction.
+ * The first chunk is read on the request thread, so errors before any output still go through the
+ * usual exception handling; the rest are read on a small fetch pool whose size caps the
+ * connections all streams use together. Writing is non-blocking, see {@link JobStreamWriter}.
+ * The {@link #STATUS_TRAILER} trailer after the last row tells whether the stream is complete.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobStreamer {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+    public static final String STATUS_TRAILER = "X-Stream-Status";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jobportal.stream.chunk-size:20}")
+    private int chunkSize;
+
+    @Value("${jobportal.stream.fetch-threads:4}")
+    private int fetchThreads;
+
+    @Value("${jobportal.stream.timeout-ms:300000}")
+    private long timeoutMillis;
+
+    private ExecutorService fetcher;
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        fetcher = new ThreadPoolExecutor(fetchThreads, fetchThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "job-stream-fetch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetcher.shutdownNow();
+    }
+
+    public void stream(JobFilter filter, JobFieldSet fields, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        List<JobResponseDto> firstChunk = fetch(filter, fields, 0);
+
+        response.setContentType(CONTENT_TYPE);
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+        ServletOutputStream output = response.getOutputStream();
+        ObjectWriter rowWriter = objectMapper.writer(fields.getFilterProvider());
+        JobStreamWriter writer = new JobStreamWriter(asyncContext, output, rowWriter,
+                after -> fetch(filter, fields, after), fetcher, chunkSize, firstChunk);
+        try {
+            response.setTrailerFields(writer::trailerFields);
+            response.setHeader(HttpHeaders.TRAILER, STATUS_TRAILER);
+        } catch (IllegalStateException ex) {
+            // HTTP/1.0 has no trailers, such clients only see the connection close
+        }
+        asyncContext.addListener(writer);
+        // The container calls the writer as soon as this request thread has returned
+        output.setWriteListener(writer);
+    }
+
+    private List<JobResponseDto> fetch(JobFilter filter, JobFieldSet fields, long afterId) {
+        return readOnly.execute(status -> jobRepository.findProjectedAfter(filter, fields, afterId, chunkSize));
+    }
+}
@@ -0,0 +1,24 @@
+package com.mitcsn.job_portal.util;
+
+/**
+ * Parsing of the free-text job address, shared by the in-memory views that group jobs by city.
+ */
+public final class Addresses {
+
+    private Addresses() {
+    }
+
+    /**
+     * The city of an address written as "street, city, state, country": the third part from the
+     * end, or the first part of shorter addresses. Null for blank addresses.
+     */
+    public static String city(String address) {
+        if (address == null) {
+            return null;
+        }
+        String[] parts = address.split(",");
+        String city = parts.length >= 3 ? parts[parts.length - 3] : parts[0];
+        city = city.trim();
+        return city.isEmpty() ? null : city;
+    }
+}
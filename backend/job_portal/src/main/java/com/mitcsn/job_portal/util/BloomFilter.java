@@ -0,0 +1,75 @@
+package com.mitcsn.job_portal.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of {@code long} keys. {@link #mightContain} never returns false for a key that was
+ * added and returns true for other keys with roughly the false-positive probability it was sized
+ * for. Adds and lookups are lock-free and may run concurrently; keys cannot be removed.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and the probability in (0, 1)");
+        }
+        // m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        this.words = new AtomicLongArray(Math.max(1, wordCount));
+        this.bits = words.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    // Double hashing (Kirsch and Mitzenmacher) from the two halves of one 64-bit hash
+    private long index(int combined) {
+        return (combined & 0x7fffffffL) % bits;
+    }
+
+    // SplitMix64 finalizer, sequential ids would otherwise set clustered bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,95 @@
+package com.mitcsn.job_portal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader. Quoted fields may contain separators,
+ * escaped quotes ("") and line breaks. Only one record is held in memory at a time.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char separator;
+    private int pushback = Integer.MIN_VALUE;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    // Returns the next record, or null once the input is exhausted
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushback = next;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != Integer.MIN_VALUE) {
+            int c = pushback;
+            pushback = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
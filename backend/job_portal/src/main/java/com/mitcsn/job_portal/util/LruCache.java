@@ -0,0 +1,39 @@
+package com.mitcsn.job_portal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache that drops the least recently used entry once it holds {@code capacity} entries.
+ * Lookups reorder the entries, so every access takes the lock; meant for small caches in front of
+ * cheap computations, which run outside the lock and may occasionally run twice for one key.
+ */
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries;
+
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        // Access order, so the eldest entry is always the least recently used one
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
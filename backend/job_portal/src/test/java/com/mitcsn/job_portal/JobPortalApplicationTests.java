@@ -61,6 +61,14 @@ class JobPortalApplicationTests {
 				.andExpect(jsonPath("$.jobPosition").value("Test Position"));
 	}
 
+	@Test
+	void fullTextSearchIsNotFoundWithoutTheIndex() throws Exception {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+		mockMvc.perform(get("/api/v1/jobs/search/text").param("q", "java"))
+				.andExpect(status().isNotFound());
+	}
+
 	@Test
 	void testGetAllJobs() throws Exception {
 		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
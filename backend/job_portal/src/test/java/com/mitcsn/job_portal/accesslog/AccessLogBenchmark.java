@@ -0,0 +1,96 @@
+package com.mitcsn.job_portal.accesslog;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Logging cost on the request thread per request: the two synchronous INFO lines a job detail
+ * request used to write (controller and service) against recording it in the {@link AccessLog}
+ * at different sample rates. The writer thread competes for the same cores, so on small machines
+ * it falls behind at high sample rates and the surplus is dropped. Output goes through logback with the application's console pattern
+ * into a stream that discards it, so only formatting and appending are measured, not the terminal.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mitcsn.job_portal.accesslog.AccessLogBenchmark
+ * </pre>
+ */
+public class AccessLogBenchmark {
+
+	private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+	private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+	public static void main(String[] args) throws Exception {
+		Logger logger = logger();
+
+		System.out.printf("%-36s %12s %10s%n", "per request", "ns", "queued %");
+		run("sync, 2 INFO lines", () -> {
+			logger.info("Received request to get job with ID: {}", 42L);
+			logger.info("Fetching job with ID: {}", 42L);
+			return true;
+		});
+		for (double sampleRate : new double[]{0, 0.1, 1}) {
+			AccessLog accessLog = new AccessLog(logger, 8192, sampleRate, Long.MAX_VALUE);
+			accessLog.start();
+			run("access log, sample rate " + sampleRate, () -> accessLog.record(System.currentTimeMillis(), "GET",
+					"/api/v1/jobs/42", "fields=companyName", "127.0.0.1", 200, 1_500_000, 532));
+			accessLog.stop(5000);
+		}
+	}
+
+	// Queued is the share of requests written, below the sample rate when the writer falls behind
+	private static void run(String label, BooleanSupplier request) {
+		measure(request, WARMUP_NANOS);
+		long[] counts = measure(request, MEASURE_NANOS);
+		System.out.printf("%-36s %12.1f %10.1f%n", label, (double) MEASURE_NANOS / counts[0],
+				100.0 * counts[1] / counts[0]);
+	}
+
+	private static long[] measure(BooleanSupplier request, long nanos) {
+		long deadline = System.nanoTime() + nanos;
+		long count = 0;
+		long queued = 0;
+		while (System.nanoTime() < deadline) {
+			for (int i = 0; i < 100; i++) {
+				if (request.getAsBoolean()) {
+					queued++;
+				}
+			}
+			count += 100;
+		}
+		return new long[]{count, queued};
+	}
+
+	private static Logger logger() {
+		LoggerContext context = new LoggerContext();
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+		encoder.start();
+
+		OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+		appender.setContext(context);
+		appender.setEncoder(encoder);
+		appender.setOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] bytes, int offset, int length) {
+			}
+		});
+		appender.start();
+
+		Logger logger = context.getLogger("access");
+		logger.addAppender(appender);
+		return logger;
+	}
+}
@@ -0,0 +1,70 @@
+package com.mitcsn.job_portal.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogRingTest {
+
+	@Test
+	void deliversEveryEventOnceInProducerOrder() throws InterruptedException {
+		AccessLogRing ring = new AccessLogRing(1024);
+		int producers = 4;
+		int perProducer = 50000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			String client = "client-" + p;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!ring.offer(i, "GET", "/api/v1/jobs", null, client, 200, i, i)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		long[] next = new long[producers];
+		int[] received = new int[1];
+		while (received[0] < producers * perProducer) {
+			ring.drain(event -> {
+				int producer = event.getClient().charAt(event.getClient().length() - 1) - '0';
+				assertEquals(next[producer]++, event.getTimestampMillis());
+				received[0]++;
+			}, 100);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (long count : next) {
+			assertEquals(perProducer, count);
+		}
+		assertEquals(0, ring.size());
+	}
+
+	@Test
+	void dropsWhenFullInsteadOfBlocking() {
+		AccessLogRing ring = new AccessLogRing(8);
+		for (int i = 0; i < 8; i++) {
+			assertTrue(ring.offer(i, "GET", "/", null, "c", 200, 0, 0));
+		}
+		assertFalse(ring.offer(8, "GET", "/", null, "c", 200, 0, 0));
+		assertEquals(1, ring.droppedAndReset());
+
+		assertEquals(3, ring.drain(event -> { }, 3));
+		assertTrue(ring.offer(9, "GET", "/", null, "c", 200, 0, 0));
+	}
+
+	@Test
+	void capturesErrorsSlowRequestsAndWritesDespiteSampling() {
+		AccessLog accessLog = new AccessLog(null, 16, 0, 1000);
+		assertFalse(accessLog.isCaptured("GET", 200, 10));
+		assertTrue(accessLog.isCaptured("GET", 404, 10));
+		assertTrue(accessLog.isCaptured("GET", 200, 1000));
+		assertTrue(accessLog.isCaptured("POST", 201, 10));
+	}
+}
@@ -0,0 +1,135 @@
+package com.mitcsn.job_portal.alert;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.entity.SavedSearch;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedSearchIndexTest {
+
+	private static final int SEARCHES = 20000;
+	private static final int JOBS = 500;
+
+	private final SyntheticJobGenerator generator = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0));
+	private final JobMapper jobMapper = new JobMapper();
+
+	@Test
+	void matchesTheSameSearchesAsCheckingEverySearch() {
+		Random random = new Random(7);
+		List<SavedSearch> searches = new ArrayList<>();
+		SavedSearchIndex index = new SavedSearchIndex();
+		for (long id = 1; id <= SEARCHES; id++) {
+			SavedSearch search = randomSearch(id, random);
+			searches.add(search);
+			index.add(search);
+		}
+
+		long candidates = 0;
+		long matches = 0;
+		for (long id = 1; id <= JOBS; id++) {
+			JobResponseDto job = job(id);
+			Set<Long> expected = searches.stream()
+					.filter(search -> matches(search, job))
+					.map(SavedSearch::getId)
+					.collect(Collectors.toCollection(TreeSet::new));
+			Set<Long> actual = index.match(job).stream()
+					.map(SavedSearchIndex.Query::getId)
+					.collect(Collectors.toCollection(TreeSet::new));
+			assertEquals(expected, actual, "job " + id);
+			candidates += index.candidates(job).size();
+			matches += actual.size();
+		}
+
+		// Checks that do not end in a match are the cost of the index, they should be a small share
+		long misses = (candidates - matches) / JOBS;
+		assertTrue(matches > 0);
+		assertTrue(misses < SEARCHES / 20, "a job should only be checked against a few non-matching searches, was " + misses);
+	}
+
+	@Test
+	void removesSearches() {
+		SavedSearch search = new SavedSearch();
+		search.setId(1L);
+		search.setEmail("a@example.com");
+		search.setSkill("Java");
+		SavedSearchIndex index = new SavedSearchIndex();
+		index.add(search);
+
+		JobResponseDto job = job(1);
+		job.setSkillsRequired("Java, Spring Boot");
+		assertEquals(1, index.match(job).size());
+
+		index.remove(1L);
+		assertEquals(0, index.size());
+		assertTrue(index.match(job).isEmpty());
+	}
+
+	// The searchJobs semantics: case-insensitive substrings, exact enums, salary at least the minimum
+	private static boolean matches(SavedSearch search, JobResponseDto job) {
+		return contains(job.getSkillsRequired(), search.getSkill())
+				&& contains(job.getJobPosition(), search.getJobPosition())
+				&& contains(job.getCompanyName(), search.getCompanyName())
+				&& (search.getJobType() == null || search.getJobType() == job.getJobType())
+				&& (search.getJobLocationType() == null || search.getJobLocationType() == job.getJobLocationType())
+				&& (search.getMinSalary() == null || job.getSalaryPackage().compareTo(search.getMinSalary()) >= 0);
+	}
+
+	private static boolean contains(String text, String needle) {
+		return needle == null || text.toLowerCase().contains(needle.toLowerCase());
+	}
+
+	// Filters built from generated jobs so that a useful share of them match something
+	private SavedSearch randomSearch(long id, Random random) {
+		JobResponseDto source = job(1 + random.nextInt(JOBS));
+		SavedSearch search = new SavedSearch();
+		search.setId(id);
+		search.setEmail("user" + (id % 5000) + "@example.com");
+		if (random.nextInt(3) != 0) {
+			search.setSkill(substring(source.getSkillsRequired(), random).toUpperCase());
+		}
+		if (random.nextInt(4) == 0) {
+			search.setJobPosition(substring(source.getJobPosition(), random));
+		}
+		if (random.nextInt(6) == 0) {
+			search.setCompanyName(substring(source.getCompanyName(), random));
+		}
+		if (random.nextInt(2) == 0) {
+			search.setJobType(source.getJobType());
+		}
+		if (random.nextInt(2) == 0) {
+			search.setJobLocationType(source.getJobLocationType());
+		}
+		if (random.nextInt(3) == 0) {
+			search.setMinSalary(BigDecimal.valueOf(200000 + random.nextInt(20) * 50000L));
+		}
+		return search;
+	}
+
+	// Mostly three to ten characters; one in ten is shorter than a trigram, which the index cannot key on
+	private static String substring(String text, Random random) {
+		int length = random.nextInt(10) == 0 ? 1 + random.nextInt(2) : 3 + random.nextInt(8);
+		int start = random.nextInt(Math.max(1, text.length() - length + 1));
+		int end = Math.min(text.length(), start + length);
+		return text.substring(start, end);
+	}
+
+	private JobResponseDto job(long id) {
+		Job job = generator.generate(id);
+		job.setId(id);
+		job.setIsActive(true);
+		return jobMapper.toResponseDto(job);
+	}
+}
@@ -0,0 +1,65 @@
+package com.mitcsn.job_portal.alert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rows written straight to the table stand in for searches saved and deleted on another instance.
+ * A refresh keeps the index it has, a reconcile swaps in a freshly loaded one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SavedSearchPercolatorTests {
+
+	@Autowired
+	private SavedSearchPercolator percolator;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void loadIndex() {
+		percolator.reload();
+	}
+
+	@Test
+	void refreshOnlyLoadsNewSearches() {
+		Object loaded = ReflectionTestUtils.getField(percolator, "index");
+		int size = percolator.size();
+
+		insert("new@example.com");
+		percolator.reload();
+
+		assertEquals(size + 1, percolator.size());
+		assertSame(loaded, ReflectionTestUtils.getField(percolator, "index"));
+	}
+
+	@Test
+	void reconcilesWhenASearchWasDeletedElsewhere() {
+		insert("deleted@example.com");
+		percolator.reload();
+		Object loaded = ReflectionTestUtils.getField(percolator, "index");
+		int size = percolator.size();
+
+		jdbcTemplate.update("DELETE FROM saved_searches WHERE email = ?", "deleted@example.com");
+		percolator.reload();
+
+		assertEquals(size - 1, percolator.size());
+		assertNotSame(loaded, ReflectionTestUtils.getField(percolator, "index"));
+	}
+
+	private void insert(String email) {
+		jdbcTemplate.update("INSERT INTO saved_searches (email, skill, created_at) VALUES (?, ?, ?)",
+				email, "Java", Timestamp.valueOf(LocalDateTime.now()));
+	}
+}
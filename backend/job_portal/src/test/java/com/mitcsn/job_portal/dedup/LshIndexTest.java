@@ -0,0 +1,52 @@
+package com.mitcsn.job_portal.dedup;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LshIndexTest {
+
+	private static final String DESCRIPTION = "We are looking for a backend engineer to design, build and operate the "
+			+ "services behind our payments platform. You will own APIs end to end, work closely with product and "
+			+ "mobile teams, review code, mentor junior developers and take part in the on-call rotation.";
+
+	private final MinHasher hasher = new MinHasher(128, 3, 0x5eed);
+
+	@Test
+	void estimatesJaccardSimilarity() {
+		int[] original = hasher.signature("Acme", "Backend Engineer", DESCRIPTION);
+		assertEquals(1.0, MinHasher.similarity(original, hasher.signature("ACME", "backend engineer", DESCRIPTION.replace(",", ""))));
+
+		int[] unrelated = hasher.signature("Globex", "Data Analyst",
+				"Analyse sales data, build dashboards and present weekly insights to the leadership team.");
+		assertTrue(MinHasher.similarity(original, unrelated) < 0.1);
+	}
+
+	@Test
+	void findsRewordedRepostsButNotOtherJobs() {
+		LshIndex index = new LshIndex(16, 8, 64);
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0));
+		for (long id = 1; id <= 2000; id++) {
+			Job job = generator.generate(id);
+			index.add(id, hasher.signature(job.getCompanyName(), job.getJobPosition(), job.getJobDescription() + " " + id));
+		}
+		index.add(5000, hasher.signature("Acme", "Backend Engineer", DESCRIPTION));
+
+		String reworded = DESCRIPTION.replace("services", "Services").replace(",", " ;") + " Remote friendly.";
+		Optional<LshIndex.Match> match = index.findSimilar(hasher.signature("Acme", "Backend Engineer", reworded), 0.8, null);
+		assertTrue(match.isPresent());
+		assertEquals(5000, match.get().getId());
+
+		assertFalse(index.findSimilar(hasher.signature("Initech", "Backend Engineer", "Maintain the billing monolith "
+				+ "and migrate reports to the new warehouse."), 0.8, null).isPresent());
+		assertFalse(index.findSimilar(hasher.signature("Acme", "Backend Engineer", DESCRIPTION), 0.8, 5000L).isPresent());
+
+		index.remove(5000);
+		assertFalse(index.findSimilar(hasher.signature("Acme", "Backend Engineer", reworded), 0.8, null).isPresent());
+	}
+}
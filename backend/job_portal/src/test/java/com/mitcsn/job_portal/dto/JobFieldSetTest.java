@@ -0,0 +1,76 @@
+package com.mitcsn.job_portal.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.config.JacksonConfig;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFieldSetTest {
+
+	@Test
+	void listsEveryResponseProperty() {
+		List<String> declared = new ArrayList<>();
+		for (Field field : JobResponseDto.class.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				declared.add(field.getName());
+			}
+		}
+		assertEquals(declared, JobFieldSet.ALL_FIELDS);
+	}
+
+	@Test
+	void parsesInDeclarationOrderWithIdAndCachesResult() {
+		JobFieldSet fields = JobFieldSet.parse("jobPosition, companyName");
+
+		assertEquals(Arrays.asList("id", "companyName", "jobPosition"), fields.getFields());
+		assertFalse(fields.isAll());
+		assertFalse(fields.includes("jobDescription"));
+		assertSame(fields, JobFieldSet.parse("jobPosition, companyName"));
+		// Spacing, order and repeats do not make a new entry
+		assertSame(fields, JobFieldSet.parse("companyName,jobPosition,companyName,"));
+		assertSame(JobFieldSet.ALL, JobFieldSet.parse(null));
+		assertThrows(BadRequestException.class, () -> JobFieldSet.parse("companyName,password"));
+	}
+
+	@Test
+	void keepsCachingNewSetsOnceTheCacheIsFull() {
+		// Far more distinct sets than the cache holds
+		for (int i = 0; i < 1000; i++) {
+			JobFieldSet.parse(String.join(",", JobFieldSet.ALL_FIELDS.subList(1, 2 + i % 20))
+					+ "," + JobFieldSet.ALL_FIELDS.get(2 + (i / 20) % 20));
+		}
+		JobFieldSet fields = JobFieldSet.parse("bond,workingDays");
+		assertSame(fields, JobFieldSet.parse("workingDays,bond"));
+	}
+
+	@Test
+	void serializesOnlyRequestedProperties() throws Exception {
+		Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+		new JacksonConfig().jobFieldsFilterCustomizer().customize(builder);
+		ObjectMapper objectMapper = builder.build();
+
+		JobResponseDto dto = new JobResponseDto();
+		dto.setId(1L);
+		dto.setCompanyName("Acme");
+		dto.setJobDescription("Long text");
+
+		JsonNode all = objectMapper.readTree(objectMapper.writeValueAsString(dto));
+		assertEquals(JobFieldSet.ALL_FIELDS.size(), all.size());
+
+		JsonNode sparse = objectMapper.readTree(objectMapper
+				.writer(JobFieldSet.parse("companyName").getFilterProvider())
+				.writeValueAsString(dto));
+		assertEquals(2, sparse.size());
+		assertEquals("Acme", sparse.get("companyName").asText());
+	}
+}
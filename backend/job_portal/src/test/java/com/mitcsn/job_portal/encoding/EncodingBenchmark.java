@@ -0,0 +1,126 @@
+package com.mitcsn.job_portal.encoding;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mitcsn.job_portal.config.JacksonConfig;
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import lombok.Data;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON, CBOR and Smile for typical responses: encode time, decode time (into DTOs, as a
+ * Java client would) and payload size. Mappers are configured like the application's.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mitcsn.job_portal.encoding.EncodingBenchmark
+ * </pre>
+ */
+public class EncodingBenchmark {
+
+	private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+	private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(3);
+	private static final String MOBILE_FIELDS = "companyName,jobPosition,salaryPackage,jobLocationType";
+
+	private static volatile Object sink;
+
+	public static void main(String[] args) throws Exception {
+		List<JobResponseDto> jobs = jobs(1000);
+
+		System.out.printf("%-28s %-6s %10s %12s %12s%n", "payload", "format", "bytes", "encode us", "decode us");
+		for (String format : new String[]{"json", "cbor", "smile"}) {
+			ObjectMapper mapper = mapper(format);
+			run("page of 20", format, mapper, page(jobs, 20), JobFieldSet.ALL, PageResponse.class);
+			run("page of 100", format, mapper, page(jobs, 100), JobFieldSet.ALL, PageResponse.class);
+			run("search page of 20, 4 fields", format, mapper, page(jobs, 20), JobFieldSet.parse(MOBILE_FIELDS),
+					PageResponse.class);
+			run("list of 1000", format, mapper, jobs, JobFieldSet.ALL, JobResponseDto[].class);
+		}
+	}
+
+	private static void run(String payload, String format, ObjectMapper mapper, Object value, JobFieldSet fields,
+							Class<?> type) throws Exception {
+		ObjectWriter writer = mapper.writer(fields.getFilterProvider());
+		ObjectReader reader = mapper.readerFor(type);
+		byte[] encoded = writer.writeValueAsBytes(value);
+
+		double encodeMicros = time(() -> sink = writer.writeValueAsBytes(value));
+		double decodeMicros = time(() -> sink = reader.readValue(encoded));
+		System.out.printf("%-28s %-6s %,10d %12.1f %12.1f%n", payload, format, encoded.length, encodeMicros, decodeMicros);
+	}
+
+	// Average microseconds per operation after a warm-up phase
+	private static double time(Operation operation) throws Exception {
+		long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+		while (System.nanoTime() < warmupEnd) {
+			operation.run();
+		}
+		long operations = 0;
+		long start = System.nanoTime();
+		long end = start + MEASURE_NANOS;
+		long now;
+		do {
+			operation.run();
+			operations++;
+		} while ((now = System.nanoTime()) < end);
+		return (now - start) / 1000.0 / operations;
+	}
+
+	private static ObjectMapper mapper(String format) {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		new JacksonConfig().jobFieldsFilterCustomizer().customize(builder);
+		JsonFactory factory = format.equals("cbor") ? new CBORFactory()
+				: format.equals("smile") ? new SmileFactory() : new JsonFactory();
+		return builder.factory(factory).build();
+	}
+
+	private static PageImpl<JobResponseDto> page(List<JobResponseDto> jobs, int size) {
+		return new PageImpl<>(jobs.subList(0, size), PageRequest.of(0, size, Sort.by("createdAt").descending()),
+				jobs.size());
+	}
+
+	private static List<JobResponseDto> jobs(int count) {
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0));
+		JobMapper jobMapper = new JobMapper();
+		List<JobResponseDto> jobs = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Job job = generator.generate(i);
+			job.setId(i + 1L);
+			jobs.add(jobMapper.toResponseDto(job));
+		}
+		return jobs;
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		void run() throws Exception;
+	}
+
+	// The part of a serialized Page a client reads back
+	@Data
+	static class PageResponse {
+		private List<JobResponseDto> content;
+		private long totalElements;
+		private int totalPages;
+		private int number;
+		private int size;
+	}
+}
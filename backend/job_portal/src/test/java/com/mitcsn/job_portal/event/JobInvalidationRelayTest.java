@@ -0,0 +1,132 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobInvalidationRelayTest {
+
+	private final InMemoryJobInvalidationBus bus = new InMemoryJobInvalidationBus();
+	private final List<Object> nodeAEvents = new ArrayList<>();
+	private final List<Object> nodeBEvents = new ArrayList<>();
+	private JobInvalidationRelay nodeA;
+	private JobInvalidationRelay nodeB;
+
+	@BeforeEach
+	void setUp() {
+		JobRepository jobRepository = mock(JobRepository.class);
+		Job job = new Job();
+		job.setId(1L);
+		job.setIsActive(true);
+		when(jobRepository.findByIdAndIsActiveTrue(anyLong())).thenReturn(Optional.of(job));
+
+		nodeA = relay(jobRepository, nodeAEvents);
+		nodeB = relay(jobRepository, nodeBEvents);
+	}
+
+	@Test
+	void relaysCommittedChangesToOtherNodesOnly() {
+		nodeA.onJobChanged(new JobChangedEvent(1L, JobChangedEvent.Type.UPDATED, null, null));
+
+		assertTrue(nodeAEvents.isEmpty());
+		assertEquals(1, nodeBEvents.size());
+		JobChangedEvent received = (JobChangedEvent) nodeBEvents.get(0);
+		assertTrue(received.isRemote());
+		assertEquals(1L, received.getAfter().getId());
+
+		// Remote events are not sent on again
+		nodeB.onJobChanged(received);
+		assertTrue(nodeAEvents.isEmpty());
+	}
+
+	@Test
+	void sendsTheCountedStatesOfAChange() {
+		JobResponseDto before = state("Acme, Inc.", "Pune: Baner");
+		JobResponseDto after = state("Acme, Inc.", "Mumbai");
+		nodeA.onJobChanged(new JobChangedEvent(1L, JobChangedEvent.Type.UPDATED, before, after));
+
+		JobInvalidation received = ((JobChangedEvent) nodeBEvents.get(0)).getInvalidation();
+		assertTrue(received.isStatesIncluded());
+		assertEquals("Pune: Baner", received.getBefore().getAddress());
+		assertEquals("Acme, Inc.", received.getAfter().getCompanyName());
+		assertEquals(new BigDecimal("650000.50"), received.getAfter().getSalaryPackage());
+		assertEquals(7L, received.getAfter().getEmployerId());
+		assertNull(received.getAfter().getJobDescription());
+
+		// A deactivated state counts nothing and travels empty
+		after.setIsActive(false);
+		JobInvalidation deactivated = JobInvalidation.of("node", 2, new JobChangedEvent(1L, JobChangedEvent.Type.UPDATED, before, after));
+		assertNull(JobInvalidation.decode(deactivated.encode()).getAfter());
+	}
+
+	@Test
+	void sendsOnlyTheIdWhenTheStatesDoNotFit() {
+		char[] address = new char[JobInvalidation.MAX_PAYLOAD_BYTES];
+		Arrays.fill(address, 'x');
+		JobInvalidation invalidation = JobInvalidation.of("node", 1, new JobChangedEvent(1L, JobChangedEvent.Type.CREATED,
+				null, state("Acme", new String(address))));
+		assertFalse(invalidation.isStatesIncluded());
+	}
+
+	@Test
+	void dropsRepeatedSequencesAndResyncsOnGaps() {
+		String origin = nodeA.getOrigin();
+		nodeB.onInvalidation(new JobInvalidation(origin, 1, 1L, JobChangedEvent.Type.UPDATED));
+		nodeB.onInvalidation(new JobInvalidation(origin, 1, 1L, JobChangedEvent.Type.UPDATED));
+		assertEquals(1, nodeBEvents.size());
+
+		nodeB.onInvalidation(new JobInvalidation(origin, 3, 1L, JobChangedEvent.Type.UPDATED));
+		assertEquals(2, nodeBEvents.size());
+		assertTrue(nodeBEvents.get(1) instanceof JobResyncEvent);
+
+		nodeB.onInvalidation(new JobInvalidation(origin, 2, 1L, JobChangedEvent.Type.UPDATED));
+		assertEquals(2, nodeBEvents.size());
+	}
+
+	@Test
+	void encodesInvalidationsForTheWire() {
+		JobInvalidation invalidation = new JobInvalidation("node", 42, 7L, JobChangedEvent.Type.DELETED);
+		assertEquals(invalidation, JobInvalidation.decode(invalidation.encode()));
+		JobInvalidation withStates = JobInvalidation.of("node", 43,
+				new JobChangedEvent(7L, JobChangedEvent.Type.DELETED, state(null, "Pune"), null));
+		assertEquals(withStates, JobInvalidation.decode(withStates.encode()));
+		assertThrows(IllegalArgumentException.class, () -> JobInvalidation.decode("node:42"));
+	}
+
+	private static JobResponseDto state(String companyName, String address) {
+		JobResponseDto state = new JobResponseDto();
+		state.setCompanyName(companyName);
+		state.setAddress(address);
+		state.setJobType(Job.JobType.FULL_TIME);
+		state.setSalaryPackage(new BigDecimal("650000.50"));
+		state.setEmployerId(7L);
+		state.setJobDescription("Not counted, not sent");
+		state.setIsActive(true);
+		return state;
+	}
+
+	private JobInvalidationRelay relay(JobRepository jobRepository, List<Object> events) {
+		ObjectProvider<JobInvalidationBus> provider = new StaticListableBeanFactory(
+				Collections.singletonMap("bus", bus)).getBeanProvider(JobInvalidationBus.class);
+		JobInvalidationRelay relay = new JobInvalidationRelay(provider, jobRepository, new JobMapper(), events::add);
+		relay.subscribe();
+		return relay;
+	}
+}
@@ -0,0 +1,138 @@
+package com.mitcsn.job_portal.event;
+
+import com.mitcsn.job_portal.dto.JobRequestDto;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.service.JobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A second bus on the same database stands in for another instance: writes made through this
+ * context must reach it, and it must ask for a resync when its listening connection is dropped.
+ */
+// Needs a live PostgreSQL: ./mvnw test -Djobportal.test.postgres=true
+@SpringBootTest(properties = {
+		"jobportal.bus.type=postgres",
+		"jobportal.bus.poll-timeout-ms=100",
+		"jobportal.bus.reconnect-delay-ms=100"})
+@ActiveProfiles("postgres-test")
+@EnabledIfSystemProperty(named = "jobportal.test.postgres", matches = "true")
+class PostgresJobInvalidationBusTests {
+
+	private static final String CHANNEL = "job_invalidation";
+
+	@Autowired
+	private JobService jobService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSourceProperties dataSourceProperties;
+
+	private PostgresJobInvalidationBus otherInstance;
+	private final List<JobInvalidation> received = new CopyOnWriteArrayList<>();
+	private final AtomicInteger resyncs = new AtomicInteger();
+
+	@BeforeEach
+	void startOtherInstance() throws InterruptedException {
+		otherInstance = new PostgresJobInvalidationBus(jdbcTemplate, dataSourceProperties);
+		ReflectionTestUtils.setField(otherInstance, "channel", CHANNEL);
+		ReflectionTestUtils.setField(otherInstance, "pollTimeoutMillis", 100);
+		ReflectionTestUtils.setField(otherInstance, "reconnectDelayMillis", 100L);
+		otherInstance.subscribe(new JobInvalidationBus.Listener() {
+			@Override
+			public void onInvalidation(JobInvalidation invalidation) {
+				received.add(invalidation);
+			}
+
+			@Override
+			public void onResyncRequired() {
+				resyncs.incrementAndGet();
+			}
+		});
+		otherInstance.start();
+		// Notifications sent before LISTEN has run are not delivered, probe until one arrives
+		long deadline = System.currentTimeMillis() + 10_000;
+		for (long probe = 1; received.isEmpty(); probe++) {
+			assertTrue(System.currentTimeMillis() < deadline, "other instance did not start listening");
+			otherInstance.publish(new JobInvalidation("probe", probe, 0L, JobChangedEvent.Type.UPDATED));
+			Thread.sleep(50);
+		}
+		received.clear();
+	}
+
+	@AfterEach
+	void stopOtherInstance() throws InterruptedException {
+		otherInstance.stop();
+	}
+
+	@Test
+	void deliversACommittedWriteToTheOtherInstance() throws InterruptedException {
+		JobResponseDto created = jobService.createJob(job("Bus Labs"));
+
+		await(() -> received.stream().anyMatch(invalidation -> created.getId().equals(invalidation.getJobId())),
+				"invalidation for the new job was not received");
+		JobInvalidation invalidation = received.stream()
+				.filter(candidate -> created.getId().equals(candidate.getJobId())).findFirst().get();
+		assertEquals(JobChangedEvent.Type.CREATED, invalidation.getType());
+		assertTrue(invalidation.isStatesIncluded());
+		assertEquals("Bus Labs", invalidation.getAfter().getCompanyName());
+		assertEquals(0, resyncs.get());
+	}
+
+	@Test
+	void requestsAResyncAfterTheConnectionIsDropped() throws InterruptedException {
+		// Drops every listening connection, this context's bus reconnects the same way
+		jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = 'LISTEN "
+				+ CHANNEL + "' AND pid <> pg_backend_pid()");
+
+		// The resync is requested once LISTEN has run again, so later writes are received
+		await(() -> resyncs.get() > 0, "no resync after the connection was dropped");
+		JobResponseDto created = jobService.createJob(job("Reconnected Labs"));
+		await(() -> received.stream().anyMatch(invalidation -> created.getId().equals(invalidation.getJobId())),
+				"invalidation after the reconnect was not received");
+	}
+
+	private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, message);
+			Thread.sleep(20);
+		}
+	}
+
+	private static JobRequestDto job(String companyName) {
+		JobRequestDto job = new JobRequestDto();
+		job.setCompanyName(companyName);
+		job.setAddress("1 Main Road, Pune, Maharashtra, India");
+		job.setJobPosition("Platform Engineer");
+		job.setNumberOfOpenings(1);
+		job.setRequiredExperience("2-4 years");
+		job.setSalaryPackage(new BigDecimal("900000"));
+		job.setSkillsRequired("Java, PostgreSQL");
+		job.setJobDescription("Keeps " + companyName + " instances in sync");
+		job.setJobType(Job.JobType.FULL_TIME);
+		job.setJobLocationType(Job.JobLocationType.ONSITE);
+		job.setExpectedJoiningDate(LocalDate.now().plusMonths(1));
+		return job;
+	}
+}
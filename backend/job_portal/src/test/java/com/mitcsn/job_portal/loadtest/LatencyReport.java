@@ -0,0 +1,156 @@
+package com.mitcsn.job_portal.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms. Response time is measured from the moment a request was
+ * scheduled to be sent, so queueing caused by a slow server is included (coordinated omission
+ * correction); service time is measured from the moment it was actually sent.
+ */
+class LatencyReport {
+
+	static final String TOTAL = "ALL";
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+	private static final String CSV_HEADER = "label,endpoint,count,errors,client_errors,throughput,"
+			+ "p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms,avg_bytes";
+
+	private final Map<RequestMix.Endpoint, Stats> endpoints = new EnumMap<>(RequestMix.Endpoint.class);
+	private final Stats total = new Stats();
+
+	LatencyReport() {
+		for (RequestMix.Endpoint endpoint : RequestMix.Endpoint.values()) {
+			endpoints.put(endpoint, new Stats());
+		}
+	}
+
+	void record(RequestMix.Endpoint endpoint, long responseNanos, long serviceNanos, int status, long bytes) {
+		endpoints.get(endpoint).record(responseNanos, serviceNanos, status, bytes);
+		total.record(responseNanos, serviceNanos, status, bytes);
+	}
+
+	void print(PrintStream out, double seconds) {
+		out.printf("%-10s %9s %7s %7s %10s %9s %9s %9s %9s %9s %11s%n", "endpoint", "count", "errors", "4xx",
+				"req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+		for (Map.Entry<String, Stats> entry : rows().entrySet()) {
+			Stats stats = entry.getValue();
+			out.printf("%-10s %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n", entry.getKey(),
+					stats.count(), stats.errors.sum(), stats.clientErrors.sum(), stats.count() / seconds,
+					stats.responsePercentile(50), stats.responsePercentile(90), stats.responsePercentile(99),
+					stats.responsePercentile(99.9), stats.response.getMaxValue() / 1000.0, stats.servicePercentile(99));
+		}
+	}
+
+	void writeCsv(Path path, String label, double seconds) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add(CSV_HEADER);
+		for (Map.Entry<String, Stats> entry : rows().entrySet()) {
+			Stats stats = entry.getValue();
+			long count = stats.count();
+			lines.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d", label, entry.getKey(),
+					count, stats.errors.sum(), stats.clientErrors.sum(), count / seconds,
+					stats.responsePercentile(50), stats.responsePercentile(90), stats.responsePercentile(99),
+					stats.responsePercentile(99.9), stats.response.getMaxValue() / 1000.0, stats.servicePercentile(99),
+					count == 0 ? 0 : stats.bytes.sum() / count));
+		}
+		Files.write(path, lines, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Compares p99 latency of every endpoint and total throughput against an earlier report.
+	 * Returns a description of each metric that got worse by more than the allowed ratio.
+	 */
+	List<String> compareWithBaseline(Path baselinePath, double seconds, double maxRegression) throws IOException {
+		Map<String, String[]> baseline = new HashMap<>();
+		List<String> lines = Files.readAllLines(baselinePath, StandardCharsets.UTF_8);
+		for (String line : lines.subList(1, lines.size())) {
+			String[] columns = line.split(",");
+			baseline.put(columns[1], columns);
+		}
+
+		List<String> regressions = new ArrayList<>();
+		for (Map.Entry<String, Stats> entry : rows().entrySet()) {
+			String[] previous = baseline.get(entry.getKey());
+			if (previous == null || entry.getValue().count() == 0) {
+				continue;
+			}
+			double previousP99 = Double.parseDouble(previous[8]);
+			double currentP99 = entry.getValue().responsePercentile(99);
+			if (currentP99 > previousP99 * (1 + maxRegression)) {
+				regressions.add(String.format("%s p99 %.2f ms -> %.2f ms", entry.getKey(), previousP99, currentP99));
+			}
+		}
+
+		String[] previousTotal = baseline.get(TOTAL);
+		if (previousTotal != null) {
+			double previousThroughput = Double.parseDouble(previousTotal[5]);
+			double currentThroughput = total.count() / seconds;
+			if (currentThroughput < previousThroughput * (1 - maxRegression)) {
+				regressions.add(String.format("throughput %.1f req/s -> %.1f req/s", previousThroughput, currentThroughput));
+			}
+		}
+		return regressions;
+	}
+
+	private Map<String, Stats> rows() {
+		Map<String, Stats> rows = new LinkedHashMap<>();
+		for (Map.Entry<RequestMix.Endpoint, Stats> entry : endpoints.entrySet()) {
+			if (entry.getValue().count() > 0) {
+				rows.put(entry.getKey().name(), entry.getValue());
+			}
+		}
+		rows.put(TOTAL, total);
+		return rows;
+	}
+
+	private static final class Stats {
+
+		private final Histogram response = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+		private final Histogram service = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder clientErrors = new LongAdder();
+		private final LongAdder bytes = new LongAdder();
+
+		void record(long responseNanos, long serviceNanos, int status, long responseBytes) {
+			response.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(responseNanos)));
+			service.recordValue(Math.min(MAX_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(serviceNanos)));
+			if (status < 0 || status >= 500) {
+				errors.increment();
+			} else if (status >= 400) {
+				clientErrors.increment();
+			}
+			bytes.add(responseBytes);
+		}
+
+		long count() {
+			return response.getTotalCount();
+		}
+
+		double responsePercentile(double percentile) {
+			return response.getValueAtPercentile(percentile) / 1000.0;
+		}
+
+		double servicePercentile(double percentile) {
+			return service.getValueAtPercentile(percentile) / 1000.0;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.mitcsn.job_portal.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for a running instance. Requests are scheduled with exponentially
+ * distributed gaps at the configured rate, independent of how fast responses come back, and
+ * latency is measured from the scheduled start.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:java -Dexec.args="--rate=200 --duration=60 --label=main"
+ * ./mvnw -Ploadtest test-compile exec:java -Dexec.args="--rate=200 --baseline=target/loadtest/main.csv"
+ * </pre>
+ */
+public class LoadGenerator {
+
+	private static final int TIMEOUT_MILLIS = 30_000;
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.parse(args);
+		ObjectMapper objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+		long maxId = discoverMaxId(config.getTarget(), objectMapper);
+		RequestMix mix = new RequestMix(config.getMix(), maxId, config.getSeed(), objectMapper);
+		LatencyReport report = new LatencyReport();
+
+		System.out.printf("Offering %.1f req/s to %s for %d s (+%d s warmup), mix %s, newest job id %d%n",
+				config.getRate(), config.getTarget(), config.getDurationSeconds(), config.getWarmupSeconds(),
+				config.getMix(), maxId);
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(),
+				0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "load-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		SplittableRandom random = new SplittableRandom(config.getSeed());
+		double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+		long start = System.nanoTime();
+		long measureFrom = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+		long end = measureFrom + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+		long intended = start;
+		while (intended < end) {
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			RequestMix.Request request = mix.next(random);
+			long scheduledAt = intended;
+			boolean measured = scheduledAt >= measureFrom;
+			executor.execute(() -> {
+				long sentAt = System.nanoTime();
+				long[] result = execute(config.getTarget(), request);
+				long finishedAt = System.nanoTime();
+				if (measured) {
+					report.record(request.endpoint, finishedAt - scheduledAt, finishedAt - sentAt, (int) result[0], result[1]);
+				}
+			});
+
+			intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+		}
+
+		executor.shutdown();
+		if (!executor.awaitTermination(2, TimeUnit.MINUTES)) {
+			System.out.printf("%d requests still queued after the run, server cannot sustain the offered rate%n",
+					executor.getQueue().size());
+			executor.shutdownNow();
+		}
+
+		double seconds = config.getDurationSeconds();
+		report.print(System.out, seconds);
+		report.writeCsv(Paths.get(config.getOutput()), config.getLabel(), seconds);
+		System.out.println("Report written to " + config.getOutput());
+
+		if (config.getBaseline() != null) {
+			List<String> regressions = report.compareWithBaseline(Paths.get(config.getBaseline()), seconds,
+					config.getMaxRegression());
+			if (!regressions.isEmpty()) {
+				regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+				System.exit(1);
+			}
+			System.out.println("No regressions against " + config.getBaseline());
+		}
+	}
+
+	// Returns {status, response bytes}; status is -1 when the request failed at the I/O level
+	private static long[] execute(String target, RequestMix.Request request) {
+		HttpURLConnection connection = null;
+		try {
+			connection = (HttpURLConnection) new URL(target + request.path).openConnection();
+			connection.setRequestMethod(request.method);
+			connection.setConnectTimeout(TIMEOUT_MILLIS);
+			connection.setReadTimeout(TIMEOUT_MILLIS);
+			connection.setRequestProperty("Accept", "application/json");
+			if (request.body != null) {
+				connection.setDoOutput(true);
+				connection.setRequestProperty("Content-Type", "application/json");
+				try (OutputStream out = connection.getOutputStream()) {
+					out.write(request.body);
+				}
+			}
+
+			int status = connection.getResponseCode();
+			InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+			return new long[]{status, drain(in)};
+		} catch (IOException ex) {
+			if (connection != null) {
+				connection.disconnect();
+			}
+			return new long[]{-1, 0};
+		}
+	}
+
+	// Reading the body completely lets the connection return to the keep-alive pool
+	private static long drain(InputStream in) throws IOException {
+		if (in == null) {
+			return 0;
+		}
+		long total = 0;
+		byte[] buffer = new byte[8192];
+		try (InputStream stream = in) {
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				total += read;
+			}
+		}
+		return total;
+	}
+
+	private static long discoverMaxId(String target, ObjectMapper objectMapper) throws IOException {
+		URL url = new URL(target + "/api/v1/jobs/paginated?page=0&size=1&sortBy=id&sortDir=desc");
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setConnectTimeout(TIMEOUT_MILLIS);
+		connection.setReadTimeout(TIMEOUT_MILLIS);
+		try (InputStream in = connection.getInputStream()) {
+			JsonNode content = objectMapper.readTree(in).path("content");
+			return content.size() == 0 ? 1 : content.get(0).path("id").asLong(1);
+		}
+	}
+}
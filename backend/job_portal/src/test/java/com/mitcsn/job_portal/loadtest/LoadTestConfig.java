@@ -0,0 +1,61 @@
+package com.mitcsn.job_portal.loadtest;
+
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator, given as {@code --name=value}.
+ */
+@Getter
+class LoadTestConfig {
+
+	private String target = "http://localhost:8080";
+	private double rate = 100;
+	private int durationSeconds = 60;
+	private int warmupSeconds = 10;
+	private int threads = 64;
+	private long seed = 1;
+	private String label = "current";
+	private String output = "target/loadtest/report.csv";
+	private String baseline;
+	private double maxRegression = 0.10;
+	private Map<RequestMix.Endpoint, Integer> mix = parseMix("detail=50,search=25,list=15,create=7,update=3,full-list=0");
+
+	static LoadTestConfig parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+			}
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+
+		LoadTestConfig config = new LoadTestConfig();
+		config.target = options.getOrDefault("target", config.target).replaceAll("/$", "");
+		config.rate = Double.parseDouble(options.getOrDefault("rate", String.valueOf(config.rate)));
+		config.durationSeconds = Integer.parseInt(options.getOrDefault("duration", String.valueOf(config.durationSeconds)));
+		config.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", String.valueOf(config.warmupSeconds)));
+		config.threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(config.threads)));
+		config.seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(config.seed)));
+		config.label = options.getOrDefault("label", config.label);
+		config.output = options.getOrDefault("output", config.output);
+		config.baseline = options.get("baseline");
+		config.maxRegression = Double.parseDouble(options.getOrDefault("max-regression", String.valueOf(config.maxRegression)));
+		if (options.containsKey("mix")) {
+			config.mix = parseMix(options.get("mix"));
+		}
+		return config;
+	}
+
+	private static Map<RequestMix.Endpoint, Integer> parseMix(String value) {
+		Map<RequestMix.Endpoint, Integer> mix = new EnumMap<>(RequestMix.Endpoint.class);
+		for (String entry : value.split(",")) {
+			String[] parts = entry.trim().split("=");
+			mix.put(RequestMix.Endpoint.fromName(parts[0]), Integer.parseInt(parts[1].trim()));
+		}
+		return mix;
+	}
+}
@@ -0,0 +1,161 @@
+package com.mitcsn.job_portal.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.dto.JobRequestDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted mix of API calls. Ids, filters and pages follow skewed distributions so that
+ * caches and query plans see a realistic mix of hot and cold requests.
+ */
+class RequestMix {
+
+	enum Endpoint {
+		DETAIL,
+		SEARCH,
+		LIST,
+		FULL_LIST,
+		CREATE,
+		UPDATE;
+
+		static Endpoint fromName(String name) {
+			return valueOf(name.trim().toUpperCase().replace('-', '_'));
+		}
+	}
+
+	private static final String BASE_PATH = "/api/v1/jobs";
+	private static final String[] SKILLS = {
+			"Java", "Python", "JavaScript", "SQL", "React", "Spring Boot", "AWS", "Docker", "TypeScript", "Node.js",
+			"Angular", "Kubernetes", "Go", "Kafka", "Rust"
+	};
+	private static final String[] COMPANY_PREFIXES = {"Tech", "Data", "Cloud", "Info", "Net"};
+	private static final String[] JOB_TYPES = {"FULL_TIME", "FULL_TIME", "FULL_TIME", "INTERNSHIP", "CONTRACT", "PART_TIME"};
+	private static final String[] LOCATION_TYPES = {"ONSITE", "HYBRID", "REMOTE"};
+
+	private final Endpoint[] endpoints;
+	private final int[] cumulativeWeights;
+	private final long maxId;
+	private final ObjectMapper objectMapper;
+	private final SyntheticJobGenerator generator;
+
+	RequestMix(Map<Endpoint, Integer> weights, long maxId, long seed, ObjectMapper objectMapper) {
+		this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+		this.cumulativeWeights = new int[endpoints.length];
+		int total = 0;
+		for (int i = 0; i < endpoints.length; i++) {
+			total += weights.get(endpoints[i]);
+			cumulativeWeights[i] = total;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("Request mix needs at least one positive weight");
+		}
+		this.maxId = Math.max(1, maxId);
+		this.objectMapper = objectMapper;
+		this.generator = new SyntheticJobGenerator(seed);
+	}
+
+	Request next(SplittableRandom random) {
+		int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		Endpoint endpoint = endpoints[endpoints.length - 1];
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (pick < cumulativeWeights[i]) {
+				endpoint = endpoints[i];
+				break;
+			}
+		}
+
+		switch (endpoint) {
+			case DETAIL:
+				return new Request(endpoint, "GET", BASE_PATH + "/" + popularId(random), null);
+			case SEARCH:
+				return new Request(endpoint, "GET", BASE_PATH + "/search?" + searchQuery(random), null);
+			case LIST:
+				return new Request(endpoint, "GET", BASE_PATH + "/paginated?page=" + skewed(random, 50, 3.0)
+						+ "&size=" + (random.nextInt(4) == 0 ? 20 : 10), null);
+			case FULL_LIST:
+				return new Request(endpoint, "GET", BASE_PATH, null);
+			case CREATE:
+				return new Request(endpoint, "POST", BASE_PATH, jobBody(random));
+			case UPDATE:
+				return new Request(endpoint, "PUT", BASE_PATH + "/" + popularId(random), jobBody(random));
+			default:
+				throw new IllegalStateException("Unknown endpoint: " + endpoint);
+		}
+	}
+
+	// Recent postings are viewed far more often than old ones
+	private long popularId(SplittableRandom random) {
+		return maxId - skewed(random, (int) Math.min(Integer.MAX_VALUE, maxId), 3.0);
+	}
+
+	private String searchQuery(SplittableRandom random) {
+		StringBuilder query = new StringBuilder();
+		if (random.nextInt(100) < 60) {
+			query.append("skill=").append(SKILLS[skewed(random, SKILLS.length, 2.0)].replace(" ", "%20")).append('&');
+		}
+		if (random.nextInt(100) < 40) {
+			query.append("jobType=").append(JOB_TYPES[random.nextInt(JOB_TYPES.length)]).append('&');
+		}
+		if (random.nextInt(100) < 25) {
+			query.append("jobLocationType=").append(LOCATION_TYPES[skewed(random, LOCATION_TYPES.length, 1.5)]).append('&');
+		}
+		if (random.nextInt(100) < 10) {
+			query.append("companyName=").append(COMPANY_PREFIXES[random.nextInt(COMPANY_PREFIXES.length)]).append('&');
+		}
+		query.append("page=").append(random.nextInt(100) < 80 ? 0 : 1 + random.nextInt(5)).append("&size=10");
+		return query.toString();
+	}
+
+	private byte[] jobBody(SplittableRandom random) {
+		Job job = generator.generate(random.nextLong() & Long.MAX_VALUE);
+		JobRequestDto dto = new JobRequestDto();
+		dto.setCompanyName(job.getCompanyName());
+		dto.setAddress(job.getAddress());
+		dto.setJobPosition(job.getJobPosition());
+		dto.setNumberOfOpenings(job.getNumberOfOpenings());
+		dto.setRequiredExperience(job.getRequiredExperience());
+		dto.setSalaryPackage(job.getSalaryPackage());
+		dto.setSkillsRequired(job.getSkillsRequired());
+		dto.setBond(job.getBond());
+		dto.setTrainingPeriod(job.getTrainingPeriod());
+		dto.setCompanySize(job.getCompanySize());
+		dto.setWorkingDays(job.getWorkingDays());
+		dto.setJobType(job.getJobType());
+		dto.setJobLocationType(job.getJobLocationType());
+		dto.setJobDescription(job.getJobDescription());
+		dto.setTravelRequirements(job.getTravelRequirements());
+		dto.setHiringStages(job.getHiringStages());
+		dto.setInterviewMode(job.getInterviewMode());
+		dto.setExpectedJoiningDate(job.getExpectedJoiningDate());
+		try {
+			return objectMapper.writeValueAsString(dto).getBytes(StandardCharsets.UTF_8);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unable to serialize job request", ex);
+		}
+	}
+
+	private static int skewed(SplittableRandom random, int size, double exponent) {
+		return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), exponent)));
+	}
+
+	static final class Request {
+
+		final Endpoint endpoint;
+		final String method;
+		final String path;
+		final byte[] body;
+
+		Request(Endpoint endpoint, String method, String path, byte[] body) {
+			this.endpoint = endpoint;
+			this.method = method;
+			this.path = path;
+			this.body = body;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package com.mitcsn.job_portal.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many concurrent clients on slow connections against a running instance. Every client sends one
+ * request and reads the response at a fixed byte rate through a small receive buffer, like a phone
+ * on a poor network; all of them are driven by one selector thread, so the client side scales to
+ * tens of thousands of connections.
+ *
+ * Each second it prints how many responses are being received concurrently, how many have
+ * completed or failed, and, with {@code --pid}, the thread count and resident memory of the
+ * server process. Run it once against a buffered endpoint and once against the stream:
+ *
+ * <pre>
+ * java -jar target/job_portal-0.0.1-SNAPSHOT.jar --server.tomcat.max-connections=12000 ...
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mitcsn.job_portal.loadtest.SlowClientBenchmark \
+ *     -Dexec.args="--connections=10000 --path=/api/v1/jobs/stream --pid=12345"
+ * </pre>
+ */
+public class SlowClientBenchmark {
+
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final byte[] STATUS_OK = "HTTP/1.1 200".getBytes(StandardCharsets.US_ASCII);
+
+	private static final class Client {
+		private final SocketChannel channel;
+		private long startedNanos;
+		private long budget;
+		private int statusRead;
+		private boolean ok = true;
+		private boolean responding;
+		private boolean paused;
+
+		private Client(SocketChannel channel) {
+			this.channel = channel;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+		}
+		URI target = URI.create(options.getOrDefault("target", "http://localhost:8080"));
+		String path = options.getOrDefault("path", "/api/v1/jobs/stream");
+		int connections = Integer.parseInt(options.getOrDefault("connections", "10000"));
+		int rampSeconds = Integer.parseInt(options.getOrDefault("ramp", "10"));
+		int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+		int readRate = Integer.parseInt(options.getOrDefault("read-rate", "4096"));
+		int receiveBuffer = Integer.parseInt(options.getOrDefault("receive-buffer", "4096"));
+		String pid = options.get("pid");
+
+		InetSocketAddress address = new InetSocketAddress(target.getHost(), target.getPort());
+		byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: " + target.getHost() + "\r\nAccept: */*\r\n"
+				+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+		long budgetPerTick = Math.max(1, readRate / 10);
+
+		System.out.printf("%d connections to %s%s over %d s, each reading %d B/s%n",
+				connections, target, path, rampSeconds, readRate);
+		System.out.printf("%5s %7s %10s %9s %7s %9s %8s %9s%n",
+				"sec", "open", "receiving", "complete", "failed", "MB read", "threads", "RSS MB");
+
+		Histogram firstByte = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+		List<Client> clients = new ArrayList<>(connections);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+		long bytesRead = 0;
+		int open = 0;
+		int receiving = 0;
+		int peakReceiving = 0;
+		int completed = 0;
+		int failed = 0;
+
+		Selector selector = Selector.open();
+		long start = System.nanoTime();
+		long end = start + TimeUnit.SECONDS.toNanos(rampSeconds + durationSeconds);
+		long nextTick = start;
+		long nextReport = start + TimeUnit.SECONDS.toNanos(1);
+		while (System.nanoTime() < end) {
+			long now = System.nanoTime();
+
+			// Ramp up evenly so the accept queue is not overrun
+			long due = Math.min(connections, (now - start) * connections / Math.max(1, TimeUnit.SECONDS.toNanos(rampSeconds)) + 1);
+			while (clients.size() < due) {
+				SocketChannel channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBuffer);
+				Client client = new Client(channel);
+				client.startedNanos = System.nanoTime();
+				client.budget = budgetPerTick;
+				clients.add(client);
+				try {
+					channel.connect(address);
+					channel.register(selector, SelectionKey.OP_CONNECT, client);
+					open++;
+				} catch (IOException ex) {
+					failed++;
+					channel.close();
+				}
+			}
+
+			if (now >= nextTick) {
+				nextTick += TICK_NANOS;
+				for (Client client : clients) {
+					client.budget = budgetPerTick;
+					if (client.paused && client.channel.isOpen()) {
+						client.paused = false;
+						client.channel.keyFor(selector).interestOps(SelectionKey.OP_READ);
+					}
+				}
+			}
+
+			selector.select(10);
+			for (SelectionKey key : selector.selectedKeys()) {
+				Client client = (Client) key.attachment();
+				try {
+					if (key.isConnectable()) {
+						client.channel.finishConnect();
+						// The request fits in the send buffer of a fresh connection
+						client.channel.write(ByteBuffer.wrap(request));
+						key.interestOps(SelectionKey.OP_READ);
+						continue;
+					}
+					buffer.clear().limit((int) Math.min(buffer.capacity(), client.budget));
+					int read = client.channel.read(buffer);
+					if (read < 0) {
+						if (client.ok && client.responding) {
+							completed++;
+						} else {
+							failed++;
+						}
+						if (client.responding) {
+							receiving--;
+						}
+						open--;
+						key.cancel();
+						client.channel.close();
+						continue;
+					}
+					if (read > 0 && !client.responding) {
+						client.responding = true;
+						receiving++;
+						peakReceiving = Math.max(peakReceiving, receiving);
+						firstByte.recordValue(Math.min(firstByte.getHighestTrackableValue(),
+								TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - client.startedNanos)));
+					}
+					for (int i = 0; i < read && client.statusRead < STATUS_OK.length; i++, client.statusRead++) {
+						client.ok &= buffer.get(i) == STATUS_OK[client.statusRead];
+					}
+					bytesRead += read;
+					client.budget -= read;
+					if (client.budget <= 0) {
+						client.paused = true;
+						key.interestOps(0);
+					}
+				} catch (IOException ex) {
+					failed++;
+					open--;
+					if (client.responding) {
+						receiving--;
+					}
+					key.cancel();
+					client.channel.close();
+				}
+			}
+			selector.selectedKeys().clear();
+
+			if (now >= nextReport) {
+				nextReport += TimeUnit.SECONDS.toNanos(1);
+				String[] server = serverStatus(pid);
+				System.out.printf("%5d %7d %10d %9d %7d %9.1f %8s %9s%n",
+						TimeUnit.NANOSECONDS.toSeconds(now - start), open, receiving, completed, failed,
+						bytesRead / 1048576.0, server[0], server[1]);
+			}
+		}
+
+		System.out.printf("%nPeak concurrently receiving: %d, completed: %d, failed: %d, still waiting: %d%n",
+				peakReceiving, completed, failed, open - receiving);
+		System.out.printf("Time to first byte (ms): p50 %.0f, p90 %.0f, p99 %.0f, max %.0f over %d responses%n",
+				firstByte.getValueAtPercentile(50) / 1000.0, firstByte.getValueAtPercentile(90) / 1000.0,
+				firstByte.getValueAtPercentile(99) / 1000.0, firstByte.getMaxValue() / 1000.0,
+				firstByte.getTotalCount());
+		for (Client client : clients) {
+			client.channel.close();
+		}
+		selector.close();
+	}
+
+	// Thread count and resident set size in MB of the server process, read from /proc on Linux
+	private static String[] serverStatus(String pid) {
+		String[] status = {"-", "-"};
+		if (pid == null) {
+			return status;
+		}
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc", pid, "status"))) {
+				if (line.startsWith("Threads:")) {
+					status[0] = line.substring(8).trim();
+				} else if (line.startsWith("VmRSS:")) {
+					status[1] = String.valueOf(Long.parseLong(line.substring(6).replace("kB", "").trim()) / 1024);
+				}
+			}
+		} catch (IOException ex) {
+			// The server is gone or not on this machine
+		}
+		return status;
+	}
+}
@@ -0,0 +1,70 @@
+package com.mitcsn.job_portal.mapper;
+
+import com.mitcsn.job_portal.dto.JobRequestDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobMapperTest {
+
+	private final JobMapper jobMapper = new JobMapper();
+
+	@Test
+	void patchCopiesOnlySuppliedFieldsAndReportsRealChanges() {
+		Job job = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0)).generate(1);
+		String description = job.getJobDescription();
+		JobRequestDto patch = new JobRequestDto();
+		patch.setNumberOfOpenings(job.getNumberOfOpenings() + 1);
+		patch.setSalaryPackage(job.getSalaryPackage().setScale(2));
+
+		Set<String> changed = jobMapper.patchEntityFromDto(patch,
+				new HashSet<>(Arrays.asList("numberOfOpenings", "salaryPackage")), job);
+
+		assertEquals(Collections.singleton("numberOfOpenings"), changed);
+		assertEquals(patch.getNumberOfOpenings(), job.getNumberOfOpenings());
+		assertEquals(description, job.getJobDescription());
+	}
+
+	@Test
+	void patchRejectsUnknownFields() {
+		assertThrows(IllegalArgumentException.class, () -> jobMapper.patchEntityFromDto(new JobRequestDto(),
+				Collections.singleton("isActive"), new Job()));
+		assertFalse(JobMapper.PATCHABLE_FIELDS.contains("isActive"));
+		assertFalse(JobMapper.PATCHABLE_FIELDS.contains("employerId"));
+		assertEquals(18, JobMapper.PATCHABLE_FIELDS.size());
+	}
+
+	@Test
+	void updateKeepsTheEmployer() {
+		Job job = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0)).generate(1);
+		Long employerId = job.getEmployerId();
+		JobRequestDto update = new JobRequestDto();
+		update.setCompanyName("Renamed Labs");
+		jobMapper.updateEntityFromDto(update, job);
+		assertEquals("Renamed Labs", job.getCompanyName());
+		assertEquals(employerId, job.getEmployerId());
+
+		update.setEmployerId(employerId + 1);
+		jobMapper.updateEntityFromDto(update, job);
+		assertEquals(employerId, job.getEmployerId());
+	}
+
+	@Test
+	void patchCanClearOptionalFields() {
+		Job job = new Job();
+		job.setSalaryPackage(new BigDecimal("50000"));
+		Set<String> changed = jobMapper.patchEntityFromDto(new JobRequestDto(), Collections.singleton("salaryPackage"), job);
+
+		assertEquals(Collections.singleton("salaryPackage"), changed);
+		assertNull(job.getSalaryPackage());
+	}
+}
@@ -0,0 +1,79 @@
+package com.mitcsn.job_portal.query;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import com.mitcsn.job_portal.repository.JobFilter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobQueryTest {
+
+	@Test
+	void parsesFieldsOperatorsAndValues() {
+		List<JobQuery.Clause> clauses = JobQuery.parse("skill:Java type:FULL_TIME,part_time -location:REMOTE salary>=500000").getClauses();
+
+		assertEquals(4, clauses.size());
+		assertEquals(JobQueryField.SKILL, clauses.get(0).getField());
+		assertEquals(Collections.singletonList("java"), clauses.get(0).getValues());
+		assertEquals(Arrays.asList(Job.JobType.FULL_TIME, Job.JobType.PART_TIME), clauses.get(1).getValues());
+		assertTrue(clauses.get(2).isNegated());
+		assertEquals(Collections.singletonList(Job.JobLocationType.REMOTE), clauses.get(2).getValues());
+		assertEquals(JobQuery.Operator.GREATER_OR_EQUAL, clauses.get(3).getOperator());
+		assertEquals(Collections.singletonList(new BigDecimal("500000")), clauses.get(3).getValues());
+	}
+
+	@Test
+	void keepsQuotedValuesAndBareWords() {
+		List<JobQuery.Clause> clauses = JobQuery.parse("company:\"Tech Corp\" kotlin").getClauses();
+
+		assertEquals(Collections.singletonList("tech corp"), clauses.get(0).getValues());
+		assertNull(clauses.get(1).getField());
+		assertEquals(Collections.singletonList("kotlin"), clauses.get(1).getValues());
+	}
+
+	@Test
+	void cachesQueriesWhateverTheSpacing() {
+		JobQuery query = JobQuery.parse("skill:java  type:FULL_TIME");
+
+		assertSame(query, JobQuery.parse(" skill:java\ttype:FULL_TIME "));
+		// Spaces inside quotes are part of the value
+		assertNotSame(JobQuery.parse("company:\"tech corp\""), JobQuery.parse("company:\"tech  corp\""));
+		// Far more distinct queries than the cache holds, the most recent ones stay cached
+		for (int i = 0; i < 2000; i++) {
+			JobQuery.parse("salary>=" + i);
+		}
+		JobQuery recent = JobQuery.parse("openings>=3 skill:go");
+		assertSame(recent, JobQuery.parse("openings>=3   skill:go"));
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		assertThrows(BadRequestException.class, () -> JobQuery.parse("color:red"));
+		assertThrows(BadRequestException.class, () -> JobQuery.parse("type:SOMETIMES"));
+		assertThrows(BadRequestException.class, () -> JobQuery.parse("skill>java"));
+		assertThrows(BadRequestException.class, () -> JobQuery.parse("salary>=lots"));
+		assertThrows(BadRequestException.class, () -> JobQuery.parse("company:\"unterminated"));
+	}
+
+	@Test
+	void convertsSimpleQueriesToFilters() {
+		JobFilter filter = JobQuery.parse("skill:java type:FULL_TIME").toFilter().orElseThrow(AssertionError::new);
+		assertEquals("java", filter.getSkill());
+		assertEquals(Job.JobType.FULL_TIME, filter.getJobType());
+
+		assertFalse(JobQuery.parse("salary>=500000").toFilter().isPresent());
+		assertFalse(JobQuery.parse("-skill:java").toFilter().isPresent());
+		assertFalse(JobQuery.parse("type:FULL_TIME,PART_TIME").toFilter().isPresent());
+	}
+
+	@Test
+	void cachesParsedQueries() {
+		assertSame(JobQuery.parse("skill:java"), JobQuery.parse(" skill:java "));
+	}
+}
@@ -0,0 +1,108 @@
+package com.mitcsn.job_portal.querycount;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps a {@link DataSource} so that the statements executed and the connections checked out by a
+ * thread while it is recording are collected, whatever issues them: Hibernate, Spring Data or a
+ * {@code JdbcTemplate}. Other threads, such as background loaders and schedulers, are not counted.
+ */
+final class CountingDataSource {
+
+	private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+	private static final ThreadLocal<int[]> CONNECTIONS = new ThreadLocal<>();
+
+	private CountingDataSource() {
+	}
+
+	static DataSource wrap(DataSource dataSource) {
+		return proxy(DataSource.class, dataSource, (target, method, args) -> {
+			Object result = invoke(target, method, args);
+			if (!(result instanceof Connection)) {
+				return result;
+			}
+			int[] connections = CONNECTIONS.get();
+			if (connections != null) {
+				connections[0]++;
+			}
+			return connection((Connection) result);
+		});
+	}
+
+	static void startRecording() {
+		RECORDING.set(new ArrayList<>());
+		CONNECTIONS.set(new int[1]);
+	}
+
+	// Connections checked out since startRecording, call before stopRecording
+	static int connectionCount() {
+		int[] connections = CONNECTIONS.get();
+		return connections == null ? 0 : connections[0];
+	}
+
+	// The SQL of every statement executed since startRecording, a batch counts once
+	static List<String> stopRecording() {
+		List<String> statements = RECORDING.get();
+		RECORDING.remove();
+		CONNECTIONS.remove();
+		return statements == null ? new ArrayList<>() : statements;
+	}
+
+	private static Connection connection(Connection connection) {
+		return proxy(Connection.class, connection, (target, method, args) -> {
+			Object result = invoke(target, method, args);
+			if (result instanceof CallableStatement) {
+				return statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+			}
+			if (result instanceof PreparedStatement) {
+				return statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+			}
+			if (result instanceof Statement) {
+				return statement(Statement.class, (Statement) result, null);
+			}
+			return result;
+		});
+	}
+
+	private static <S extends Statement> S statement(Class<S> type, S statement, String preparedSql) {
+		return proxy(type, statement, (target, method, args) -> {
+			if (method.getName().startsWith("execute")) {
+				List<String> statements = RECORDING.get();
+				if (statements != null) {
+					String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+					statements.add(method.getName().equals("executeBatch") ? "batch: " + sql : sql);
+				}
+			}
+			return invoke(target, method, args);
+		});
+	}
+
+	private interface Handler<T> {
+
+		Object invoke(T target, Method method, Object[] args) throws Throwable;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+		InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+		return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getCause();
+		}
+	}
+}
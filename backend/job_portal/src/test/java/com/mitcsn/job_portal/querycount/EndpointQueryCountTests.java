@@ -0,0 +1,352 @@
+package com.mitcsn.job_portal.querycount;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.event.JobChangedEvent;
+import com.mitcsn.job_portal.event.JobInvalidation;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.service.JobStatisticsService;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import com.mitcsn.job_portal.snapshot.ActiveJobIdFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statement budgets per endpoint. A change that adds a round trip or an N+1 pattern fails here;
+ * when a budget is raised on purpose, the report in {@code target/query-counts.txt} shows the
+ * statements of every endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCounter.Config.class)
+class EndpointQueryCountTests {
+
+	private static final Map<String, QueryCount> REPORT = new TreeMap<>();
+
+	private static final String NEW_JOB = "{\"companyName\":\"Query Count Labs\",\"address\":\"Pune\","
+			+ "\"jobPosition\":\"Backend Developer\",\"numberOfOpenings\":1,\"requiredExperience\":\"0-1 years\","
+			+ "\"salaryPackage\":500000,\"skillsRequired\":\"Java, SQL\",\"jobDescription\":\"Counts statements\","
+			+ "\"jobType\":\"FULL_TIME\",\"jobLocationType\":\"ONSITE\",\"expectedJoiningDate\":\"2030-01-01\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QueryCounter queryCounter;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private JobStatisticsService jobStatisticsService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JobMapper jobMapper;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private ActiveJobIdFilter activeJobIds;
+
+	private List<Long> ids;
+
+	@BeforeEach
+	void createJobs() {
+		jobRepository.deleteAll();
+		ids = createJobs(25);
+	}
+
+	@Test
+	void readsById() throws Exception {
+		long id = ids.get(0);
+		assertStatements("GET /jobs/{id}", 1, get("/api/v1/jobs/{id}", id), 200);
+		assertStatements("GET /jobs/{id}?fields=", 1, get("/api/v1/jobs/{id}", id).param("fields", "companyName"), 200);
+		assertStatements("GET /jobs/{id} newer than the filter", 1, get("/api/v1/jobs/{id}", id + 1000), 404);
+		assertStatements("GET /jobs/batch", 1, get("/api/v1/jobs/batch")
+				.param("ids", ids.get(0) + "," + ids.get(1) + "," + ids.get(2)), 200);
+	}
+
+	@Test
+	void unknownIdsNeedNoConnection() throws Exception {
+		long unknown = ids.get(10);
+		jobRepository.deleteById(unknown);
+		ReflectionTestUtils.invokeMethod(activeJobIds, "rebuild");
+
+		QueryCount count = measure(get("/api/v1/jobs/{id}", unknown), 404);
+		REPORT.put("GET /jobs/{id} unknown", count);
+		assertEquals(0, count.getStatementCount(), count.toString());
+		assertEquals(0, count.getConnectionCount(), count.toString());
+		count = measure(get("/api/v1/jobs/batch").param("ids", String.valueOf(unknown)), 200);
+		assertEquals(0, count.getConnectionCount(), count.toString());
+	}
+
+	@Test
+	void readsLists() throws Exception {
+		assertStatements("GET /jobs", 1, get("/api/v1/jobs"), 200);
+		assertStatements("GET /jobs/paginated", 2, get("/api/v1/jobs/paginated").param("size", "10"), 200);
+		assertStatements("GET /jobs/search", 2, get("/api/v1/jobs/search").param("jobType", "FULL_TIME").param("size", "5"), 200);
+		assertStatements("GET /jobs/query", 2, get("/api/v1/jobs/query").param("q", "salary>=1 -type:INTERNSHIP").param("size", "5"), 200);
+		assertStatements("GET /jobs/filter/type", 1, get("/api/v1/jobs/filter/type").param("jobType", "FULL_TIME"), 200);
+		assertStatements("GET /jobs/search/skill", 1, get("/api/v1/jobs/search/skill").param("skill", "java"), 200);
+	}
+
+	@Test
+	void textSearchesMatchWildcardsLiterally() throws Exception {
+		mockMvc.perform(post("/api/v1/jobs").contentType(MediaType.APPLICATION_JSON).content(NEW_JOB))
+				.andExpect(status().isCreated());
+
+		// The database fallback matches like the snapshot: % and _ are plain characters
+		mockMvc.perform(get("/api/v1/jobs/search/company").param("companyName", "query count"))
+				.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get("/api/v1/jobs/search/company").param("companyName", "Query_Count"))
+				.andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/v1/jobs/search/position").param("jobPosition", "%"))
+				.andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/v1/jobs/search/skill").param("skill", "J_va"))
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void writes() throws Exception {
+		long id = ids.get(0);
+		assertStatements("POST /jobs", 1, post("/api/v1/jobs").contentType(MediaType.APPLICATION_JSON).content(NEW_JOB), 201);
+		// Find-then-save: a select for the current state, then the update
+		assertStatements("PUT /jobs/{id}", 2, put("/api/v1/jobs/{id}", id).contentType(MediaType.APPLICATION_JSON).content(NEW_JOB), 200);
+		assertStatements("PATCH /jobs/{id}", 2, patch("/api/v1/jobs/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"numberOfOpenings\":3}"), 200);
+		assertStatements("DELETE /jobs/{id}", 2, delete("/api/v1/jobs/{id}", id), 204);
+	}
+
+	@Test
+	void invalidRequestsAreRejectedBeforeTheDatabase() throws Exception {
+		assertEquals(0, measure(patch("/api/v1/jobs/{id}", ids.get(0)).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"numberOfOpenings\":\"many\"}"), 400).getStatementCount());
+		assertEquals(0, measure(get("/api/v1/jobs/paginated").param("page", "-1"), 400).getStatementCount());
+		assertEquals(0, measure(get("/api/v1/jobs/query").param("q", "color:red"), 400).getStatementCount());
+	}
+
+	@Test
+	void statisticsAreServedFromMemory() throws Exception {
+		jobStatisticsService.reconcile();
+		long active = jobRepository.findAll().stream().filter(Job::getIsActive).count();
+		assertStatements("GET /jobs/stats", 0, get("/api/v1/jobs/stats"), 200);
+		mockMvc.perform(get("/api/v1/jobs/stats")).andExpect(jsonPath("$.totalJobs").value(active));
+
+		mockMvc.perform(post("/api/v1/jobs").contentType(MediaType.APPLICATION_JSON).content(NEW_JOB))
+				.andExpect(status().isCreated());
+		assertStatements("GET /jobs/stats after a write", 0, get("/api/v1/jobs/stats"), 200);
+		mockMvc.perform(get("/api/v1/jobs/stats"))
+				.andExpect(jsonPath("$.totalJobs").value(active + 1))
+				.andExpect(jsonPath("$.byCompany['Query Count Labs']").value(1));
+	}
+
+	@Test
+	void statisticsApplyRemoteChangesAsDeltas() throws Exception {
+		jobStatisticsService.reconcile();
+		long active = jobRepository.findAll().stream().filter(Job::getIsActive).count();
+		Job job = jobRepository.findAll().stream().filter(Job::getIsActive).findFirst().get();
+		JobResponseDto before = jobMapper.toResponseDto(job);
+		JobResponseDto after = jobMapper.toResponseDto(job);
+		after.setCompanyName("Remote Labs");
+		JobInvalidation invalidation = JobInvalidation.of("other-node", 1,
+				new JobChangedEvent(job.getId(), JobChangedEvent.Type.UPDATED, before, after));
+
+		// The reloaded state may be newer than the change, so counters must use the states sent along
+		JobChangedEvent received = new JobChangedEvent(job.getId(), JobChangedEvent.Type.UPDATED, null,
+				jobMapper.toResponseDto(job), true, null, JobInvalidation.decode(invalidation.encode()));
+		QueryCount count = queryCounter.measure(() -> eventPublisher.publishEvent(received));
+		assertEquals(0, count.getStatementCount(), "remote change applied without a recount");
+		mockMvc.perform(get("/api/v1/jobs/stats"))
+				.andExpect(jsonPath("$.totalJobs").value(active))
+				.andExpect(jsonPath("$.byCompany['Remote Labs']").value(1));
+	}
+
+	@Test
+	void recountCompletesWhileJobsAreWritten() throws Exception {
+		// Drift: a remote create for a job that never reached this database
+		JobResponseDto phantom = jobMapper.toResponseDto(jobRepository.findAll().get(0));
+		phantom.setCompanyName("Drift Labs");
+		phantom.setIsActive(true);
+		JobInvalidation invalidation = JobInvalidation.of("other-node", 1,
+				new JobChangedEvent(-1L, JobChangedEvent.Type.CREATED, null, phantom));
+		eventPublisher.publishEvent(new JobChangedEvent(-1L, JobChangedEvent.Type.CREATED, null, phantom, true, null,
+				JobInvalidation.decode(invalidation.encode())));
+		mockMvc.perform(get("/api/v1/jobs/stats")).andExpect(jsonPath("$.byCompany['Drift Labs']").value(1));
+
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicInteger written = new AtomicInteger();
+		Thread writer = new Thread(() -> {
+			while (writing.get()) {
+				try {
+					mockMvc.perform(post("/api/v1/jobs").contentType(MediaType.APPLICATION_JSON).content(NEW_JOB))
+							.andExpect(status().isCreated());
+					written.incrementAndGet();
+				} catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		});
+		writer.start();
+		try {
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (written.get() < 3) {
+				assertTrue(System.currentTimeMillis() < deadline, "writer did not start");
+				Thread.sleep(5);
+			}
+			// Every recount overlaps with writes and is still taken, so the drift is gone after the first
+			for (int i = 0; i < 5; i++) {
+				jobStatisticsService.reconcile();
+			}
+		} finally {
+			writing.set(false);
+			writer.join();
+		}
+
+		long active = jobRepository.findAll().stream().filter(Job::getIsActive).count();
+		mockMvc.perform(get("/api/v1/jobs/stats"))
+				.andExpect(jsonPath("$.totalJobs").value(active))
+				.andExpect(jsonPath("$.byCompany['Query Count Labs']").value(written.get()))
+				.andExpect(jsonPath("$.byCompany['Drift Labs']").doesNotExist());
+	}
+
+	@Test
+	void employerListingsPageByKeyset() throws Exception {
+		jobStatisticsService.reconcile();
+		long employerId = jobRepository.findById(ids.get(0)).get().getEmployerId();
+		long owned = jobRepository.findAll().stream()
+				.filter(job -> job.getIsActive() && job.getEmployerId() == employerId)
+				.count();
+
+		assertStatements("GET /jobs/employer/{id}", 1, get("/api/v1/jobs/employer/{id}", employerId).param("size", "2"), 200);
+		assertStatements("GET /jobs/my-jobs", 1, get("/api/v1/jobs/my-jobs").header("X-Employer-Id", employerId), 200);
+		mockMvc.perform(get("/api/v1/jobs/my-jobs")).andExpect(status().isBadRequest());
+
+		// Walk all pages with the returned cursor, newest first and without repeats
+		Set<Long> seen = new HashSet<>();
+		String afterCreatedAt = null;
+		String afterId = null;
+		QueryCount cursorQuery = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/api/v1/jobs/employer/{id}", employerId)
+					.param("size", "2").param("fields", "jobPosition");
+			if (afterId != null) {
+				request.param("afterCreatedAt", afterCreatedAt).param("afterId", afterId);
+			}
+			String body = mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.totalJobs").value(owned))
+					.andExpect(jsonPath("$.content[0].createdAt").doesNotExist())
+					.andReturn().getResponse().getContentAsString();
+			JsonNode page = objectMapper.readTree(body);
+			for (JsonNode job : page.get("content")) {
+				assertTrue(seen.add(job.get("id").asLong()));
+			}
+			afterCreatedAt = page.get("nextAfterCreatedAt").asText(null);
+			afterId = page.get("nextAfterId").asText(null);
+			if (afterId != null && cursorQuery == null) {
+				cursorQuery = measure(get("/api/v1/jobs/employer/{id}", employerId).param("size", "2")
+						.param("afterCreatedAt", afterCreatedAt).param("afterId", afterId), 200);
+			}
+		} while (afterId != null);
+		assertEquals(owned, seen.size());
+		// The OR of the keyset is no index bound, the created_at <= conjunct is
+		assertNotNull(cursorQuery);
+		assertTrue(cursorQuery.getStatements().get(0).replace(" ", "").contains("created_at<=?"), cursorQuery.toString());
+
+		// Updates keep the owner: a PUT without employerId leaves it, a PATCH may not change it
+		mockMvc.perform(put("/api/v1/jobs/{id}", ids.get(0)).contentType(MediaType.APPLICATION_JSON).content(NEW_JOB))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employerId").value(employerId));
+		mockMvc.perform(patch("/api/v1/jobs/{id}", ids.get(0)).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"employerId\":" + (employerId + 1) + "}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/jobs/employer/{id}", employerId))
+				.andExpect(jsonPath("$.totalJobs").value(owned));
+	}
+
+	@Test
+	void listStatementsDoNotGrowWithTheNumberOfJobs() throws Exception {
+		QueryCount small = measure(get("/api/v1/jobs"), 200);
+		createJobs(100);
+		QueryCount large = measure(get("/api/v1/jobs"), 200);
+
+		assertEquals(small.getStatementCount(), large.getStatementCount(), large.toString());
+		assertEquals(0, large.getCollectionFetches());
+	}
+
+	@AfterAll
+	static void writeReport() throws IOException {
+		StringBuilder report = new StringBuilder(String.format("%-28s %10s %8s %9s%n",
+				"endpoint", "statements", "queries", "entities"));
+		for (Map.Entry<String, QueryCount> entry : REPORT.entrySet()) {
+			QueryCount count = entry.getValue();
+			report.append(String.format("%-28s %10d %8d %9d%n", entry.getKey(), count.getStatementCount(),
+					count.getQueryExecutions(), count.getEntityLoads()));
+		}
+		System.out.print(report);
+		Path path = Paths.get("target", "query-counts.txt");
+		Files.createDirectories(path.getParent());
+		Files.write(path, report.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void assertStatements(String endpoint, int max, RequestBuilder request, int status) throws Exception {
+		QueryCount count = measure(request, status);
+		REPORT.put(endpoint, count);
+		assertTrue(count.getStatementCount() <= max, endpoint + " allows " + max + ", issued " + count);
+	}
+
+	private QueryCount measure(RequestBuilder request, int status) throws Exception {
+		return queryCounter.measure(() -> mockMvc.perform(request).andExpect(status().is(status)));
+	}
+
+	private List<Long> createJobs(int count) {
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(42);
+		List<Job> jobs = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			jobs.add(generator.generate(i));
+		}
+		List<Long> created = new ArrayList<>();
+		for (Job job : jobRepository.saveAll(jobs)) {
+			created.add(job.getId());
+		}
+		return created;
+	}
+}
@@ -0,0 +1,63 @@
+package com.mitcsn.job_portal.querycount;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What one measured action did to the database: the statements its thread executed, and
+ * Hibernate's view of the same interval.
+ */
+public final class QueryCount {
+
+	private final List<String> statements;
+	private final int connectionCount;
+	private final long queryExecutions;
+	private final long entityLoads;
+	private final long collectionFetches;
+
+	QueryCount(List<String> statements, int connectionCount, long queryExecutions, long entityLoads,
+			long collectionFetches) {
+		this.statements = Collections.unmodifiableList(statements);
+		this.connectionCount = connectionCount;
+		this.queryExecutions = queryExecutions;
+		this.entityLoads = entityLoads;
+		this.collectionFetches = collectionFetches;
+	}
+
+	public List<String> getStatements() {
+		return statements;
+	}
+
+	public int getStatementCount() {
+		return statements.size();
+	}
+
+	// Connections checked out of the pool, also by transactions that issue no statement
+	public int getConnectionCount() {
+		return connectionCount;
+	}
+
+	// JPQL, criteria and native queries executed through Hibernate
+	public long getQueryExecutions() {
+		return queryExecutions;
+	}
+
+	public long getEntityLoads() {
+		return entityLoads;
+	}
+
+	// Lazy collections initialized, the usual source of N+1 selects
+	public long getCollectionFetches() {
+		return collectionFetches;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder();
+		text.append(statements.size()).append(" statements on ").append(connectionCount).append(" connections");
+		for (String statement : statements) {
+			text.append("\n  ").append(statement);
+		}
+		return text.toString();
+	}
+}
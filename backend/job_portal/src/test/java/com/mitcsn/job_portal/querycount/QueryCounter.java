@@ -0,0 +1,66 @@
+package com.mitcsn.job_portal.querycount;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Measures the database work of an action on the calling thread, such as a MockMvc request.
+ * Import {@link Config} into a {@code @SpringBootTest} to wrap the data source and get a counter.
+ * Hibernate statistics must be enabled ({@code hibernate.generate_statistics}, set in the test
+ * profile); they are global, so only the statement list is strictly per thread.
+ */
+public class QueryCounter {
+
+	private final Statistics statistics;
+
+	public QueryCounter(EntityManagerFactory entityManagerFactory) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	public QueryCount measure(Action action) throws Exception {
+		statistics.clear();
+		CountingDataSource.startRecording();
+		List<String> statements;
+		int connections;
+		try {
+			action.run();
+		} finally {
+			connections = CountingDataSource.connectionCount();
+			statements = CountingDataSource.stopRecording();
+		}
+		return new QueryCount(statements, connections, statistics.getQueryExecutionCount(), statistics.getEntityLoadCount(),
+				statistics.getCollectionFetchCount());
+	}
+
+	public interface Action {
+
+		void run() throws Exception;
+	}
+
+	@TestConfiguration
+	public static class Config {
+
+		// Static so the post-processor does not force early initialization of this configuration
+		@Bean
+		public static BeanPostProcessor countingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource ? CountingDataSource.wrap((DataSource) bean) : bean;
+				}
+			};
+		}
+
+		@Bean
+		public QueryCounter queryCounter(EntityManagerFactory entityManagerFactory) {
+			return new QueryCounter(entityManagerFactory);
+		}
+	}
+}
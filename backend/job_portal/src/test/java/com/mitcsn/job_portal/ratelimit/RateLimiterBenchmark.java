@@ -0,0 +1,92 @@
+package com.mitcsn.job_portal.ratelimit;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission throughput under contention, by thread count and number of stripes, for many clients
+ * and for a single hot client (every thread on one stripe), plus the bytes allocated per
+ * admission. Budgets are large so every request is admitted and only the bookkeeping is measured.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mitcsn.job_portal.ratelimit.RateLimiterBenchmark
+ * </pre>
+ */
+public class RateLimiterBenchmark {
+
+	private static final long WARMUP_MILLIS = 1000;
+	private static final long MEASURE_MILLIS = 2000;
+	private static final int CLIENTS = 10000;
+
+	public static void main(String[] args) throws Exception {
+		String[] clients = new String[CLIENTS];
+		for (int i = 0; i < CLIENTS; i++) {
+			clients[i] = "10.0." + (i / 256) + "." + (i % 256);
+		}
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		System.out.printf("%-12s %8s %8s %14s %12s%n", "clients", "threads", "stripes", "admits/s", "bytes/admit");
+		for (int threads : new int[]{1, Math.max(2, cores), cores * 4}) {
+			for (int stripes : new int[]{1, 16, 64}) {
+				run("10000", clients, threads, stripes);
+			}
+			run("1 hot", new String[]{clients[0]}, threads, 64);
+		}
+	}
+
+	private static void run(String label, String[] clients, int threads, int stripes) throws Exception {
+		double[] capacity = {1e12, 1e12, 1e12};
+		TokenBucketLimiter limiter = new TokenBucketLimiter(stripes, CLIENTS * 2, TimeUnit.HOURS.toNanos(1),
+				capacity, capacity);
+		Lane[] lanes = Lane.values();
+		AtomicBoolean measuring = new AtomicBoolean();
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder admits = new LongAdder();
+		LongAdder allocated = new LongAdder();
+		CountDownLatch done = new CountDownLatch(threads);
+
+		for (int t = 0; t < threads; t++) {
+			int seed = t;
+			Thread thread = new Thread(() -> {
+				com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+				long id = Thread.currentThread().getId();
+				int i = seed * 7919;
+				long count = 0;
+				long bytesBefore = 0;
+				boolean counting = false;
+				while (running.get()) {
+					if (!counting && measuring.get()) {
+						counting = true;
+						bytesBefore = mx.getThreadAllocatedBytes(id);
+					}
+					for (int n = 0; n < 64; n++) {
+						i++;
+						limiter.tryAcquire(clients[(i & Integer.MAX_VALUE) % clients.length], lanes[i % 3]);
+					}
+					if (counting) {
+						count += 64;
+					}
+				}
+				admits.add(count);
+				allocated.add(mx.getThreadAllocatedBytes(id) - bytesBefore);
+				done.countDown();
+			});
+			thread.start();
+		}
+
+		Thread.sleep(WARMUP_MILLIS);
+		measuring.set(true);
+		long started = System.nanoTime();
+		Thread.sleep(MEASURE_MILLIS);
+		running.set(false);
+		long elapsed = System.nanoTime() - started;
+		done.await();
+
+		System.out.printf("%-12s %8d %8d %,14.0f %12.2f%n", label, threads, stripes,
+				admits.sum() * 1e9 / elapsed, (double) allocated.sum() / Math.max(1, admits.sum()));
+	}
+}
@@ -0,0 +1,70 @@
+package com.mitcsn.job_portal.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private static TokenBucketLimiter limiter(int maxClients) {
+		return new TokenBucketLimiter(4, maxClients, 60 * SECOND, new double[]{10, 2, 1}, new double[]{10, 1, 0.5});
+	}
+
+	@Test
+	void admitsABurstThenRefillsAtTheRate() {
+		TokenBucketLimiter limiter = limiter(100);
+		for (int i = 0; i < 2; i++) {
+			assertEquals(0, limiter.tryAcquire("a", Lane.EXPENSIVE, 0));
+		}
+		long wait = limiter.tryAcquire("a", Lane.EXPENSIVE, 0);
+		assertEquals(SECOND, wait);
+
+		assertTrue(limiter.tryAcquire("a", Lane.EXPENSIVE, SECOND / 2) > 0);
+		assertEquals(0, limiter.tryAcquire("a", Lane.EXPENSIVE, SECOND));
+	}
+
+	@Test
+	void keepsLanesAndClientsApart() {
+		TokenBucketLimiter limiter = limiter(100);
+		assertEquals(0, limiter.tryAcquire("a", Lane.WRITE, 0));
+		assertTrue(limiter.tryAcquire("a", Lane.WRITE, 0) > 0);
+
+		assertEquals(0, limiter.tryAcquire("a", Lane.CHEAP, 0));
+		assertEquals(0, limiter.tryAcquire("b", Lane.WRITE, 0));
+	}
+
+	@Test
+	void boundsTheNumberOfClients() {
+		TokenBucketLimiter limiter = limiter(40);
+		for (int i = 0; i < 1000; i++) {
+			limiter.tryAcquire("client-" + i, Lane.CHEAP, i);
+		}
+		assertTrue(limiter.size() <= 40, "size " + limiter.size());
+	}
+
+	@Test
+	void evictsIdleClients() {
+		TokenBucketLimiter limiter = limiter(100);
+		limiter.tryAcquire("idle", Lane.CHEAP, 0);
+		limiter.tryAcquire("active", Lane.CHEAP, 59 * SECOND);
+
+		assertEquals(1, limiter.evictIdle(61 * SECOND));
+		assertEquals(1, limiter.size());
+	}
+
+	@Test
+	void classifiesRequestsIntoLanes() {
+		assertEquals(Lane.CHEAP, RateLimitFilter.lane("GET", "/api/v1/jobs/42"));
+		assertEquals(Lane.CHEAP, RateLimitFilter.lane("GET", "/api/v1/jobs/enums/job-types"));
+		assertEquals(Lane.CHEAP, RateLimitFilter.lane("GET", "/api/v1/jobs/stats"));
+		assertEquals(Lane.EXPENSIVE, RateLimitFilter.lane("GET", "/api/v1/jobs"));
+		assertEquals(Lane.EXPENSIVE, RateLimitFilter.lane("GET", "/api/v1/jobs/search"));
+		assertEquals(Lane.EXPENSIVE, RateLimitFilter.lane("GET", "/api/v1/jobs/batch"));
+		assertEquals(Lane.WRITE, RateLimitFilter.lane("POST", "/api/v1/jobs"));
+		assertEquals(Lane.WRITE, RateLimitFilter.lane("DELETE", "/api/v1/jobs/42"));
+	}
+}
@@ -0,0 +1,146 @@
+package com.mitcsn.job_portal.repository;
+
+import com.mitcsn.job_portal.config.FullTextSearchSchema;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Needs a live PostgreSQL: ./mvnw test -Djobportal.test.postgres=true
+@SpringBootTest(properties = "jobportal.search.backend=fulltext")
+@ActiveProfiles("postgres-test")
+@EnabledIfSystemProperty(named = "jobportal.test.postgres", matches = "true")
+class JobFullTextSearchTests {
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void createJobs() {
+		jobRepository.deleteAll();
+		List<Job> jobs = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String position = i % 10 == 0 ? "Kotlin Developer" : "Accountant";
+			String skills = i % 4 == 0 ? "Kotlin, Spring" : "Excel, Tally";
+			jobs.add(job("Company " + i, position, skills, "Role number " + i));
+		}
+		jobRepository.saveAll(jobs);
+	}
+
+	@Test
+	void matchUsesTheGinIndex() {
+		String plan = explain("SELECT j.id FROM jobs j WHERE j.is_active = true "
+				+ "AND j.search_vector @@ websearch_to_tsquery('english', 'kotlin')");
+		assertTrue(plan.contains(FullTextSearchSchema.INDEX_NAME), plan);
+		assertFalse(plan.contains("Seq Scan"), plan);
+	}
+
+	@Test
+	void ranksPositionMatchesFirst() {
+		List<JobSearchHit> hits = jobRepository.searchFullText("kotlin", JobFilter.ALL, 0, 1000);
+
+		// Every 10th job has Kotlin in the position, every 4th in the skills
+		assertEquals(50 + 125 - 25, hits.size());
+		assertEquals(hits.size(), jobRepository.countFullText("kotlin", JobFilter.ALL));
+		for (int i = 0; i < 50; i++) {
+			String position = jobRepository.findById(hits.get(i).getId()).get().getJobPosition();
+			assertEquals("Kotlin Developer", position);
+		}
+	}
+
+	@Test
+	void keysetPagesMatchTheFullOrder() {
+		List<JobSearchHit> all = jobRepository.searchFullText("kotlin", JobFilter.ALL, 0, 1000);
+
+		List<JobSearchHit> paged = new ArrayList<>();
+		List<JobSearchHit> page = jobRepository.searchFullText("kotlin", JobFilter.ALL, 0, 40);
+		while (!page.isEmpty()) {
+			paged.addAll(page);
+			page = jobRepository.searchFullTextAfter("kotlin", JobFilter.ALL, page.get(page.size() - 1), 40);
+		}
+		assertEquals(all, paged);
+	}
+
+	@Test
+	void appliesOnlyThePresentFilters() {
+		JobFilter remote = JobFilter.builder().jobLocationType(Job.JobLocationType.REMOTE).build();
+		assertEquals(0, jobRepository.countFullText("kotlin", remote));
+		// Kotlin in the position without Spring in the skills
+		assertEquals(25, jobRepository.countFullText("kotlin -spring developer", JobFilter.ALL));
+	}
+
+	@Test
+	void keepsEachValueToItsField() {
+		jobRepository.saveAll(Arrays.asList(job("Google", "Accountant", "Excel", "Keeps the books"),
+				job("Company 1000", "Accountant", "Excel", "Formerly at Google")));
+
+		// Both jobs match the word, only one has it in the company name
+		assertEquals(2, jobRepository.countFullText("google", JobFilter.ALL));
+		JobFilter company = JobFilter.builder().companyName("google").build();
+		List<JobSearchHit> hits = jobRepository.searchFullText("google", company, 0, 10);
+		assertEquals(1, hits.size());
+		assertEquals("Google", jobRepository.findById(hits.get(0).getId()).get().getCompanyName());
+		assertEquals(1, jobRepository.countFullText("google", company));
+	}
+
+	@Test
+	void ordersByTheRequestedSort() {
+		List<JobSearchHit> byId = jobRepository.searchFullText("kotlin", JobFilter.ALL, Sort.by("id"), 0, 1000);
+		for (int i = 1; i < byId.size(); i++) {
+			assertTrue(byId.get(i).getId() > byId.get(i - 1).getId());
+		}
+		assertEquals(jobRepository.searchFullText("kotlin", JobFilter.ALL, 0, 1000),
+				jobRepository.searchFullText("kotlin", JobFilter.ALL,
+						Sort.by(Sort.Direction.DESC, JobFullTextRepository.RELEVANCE), 0, 1000));
+		assertThrows(BadRequestException.class,
+				() -> jobRepository.searchFullText("kotlin", JobFilter.ALL, Sort.by("jobDescription"), 0, 10));
+	}
+
+	// The planner prefers sequential scans on small tables, so they are disabled for the statement
+	private String explain(String sql) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		return transactionTemplate.execute(status -> {
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+			return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+		});
+	}
+
+	private static Job job(String company, String position, String skills, String description) {
+		Job job = new Job();
+		job.setCompanyName(company);
+		job.setAddress("Pune");
+		job.setJobPosition(position);
+		job.setNumberOfOpenings(1);
+		job.setRequiredExperience("0-1 years");
+		job.setSalaryPackage(new BigDecimal("500000"));
+		job.setSkillsRequired(skills);
+		job.setJobDescription(description);
+		job.setJobType(Job.JobType.FULL_TIME);
+		job.setJobLocationType(Job.JobLocationType.ONSITE);
+		job.setExpectedJoiningDate(LocalDate.now().plusMonths(1));
+		job.setIsActive(true);
+		return job;
+	}
+}
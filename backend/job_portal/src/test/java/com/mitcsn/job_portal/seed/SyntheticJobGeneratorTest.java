@@ -0,0 +1,46 @@
+package com.mitcsn.job_portal.seed;
+
+import com.mitcsn.job_portal.entity.Job;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticJobGeneratorTest {
+
+	private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	@Test
+	void sameSeedAndIndexProduceSameJob() {
+		Job first = new SyntheticJobGenerator(7, BASE_TIME).generate(12345);
+		Job second = new SyntheticJobGenerator(7, BASE_TIME).generate(12345);
+
+		assertEquals(first, second);
+		assertNotEquals(first, new SyntheticJobGenerator(8, BASE_TIME).generate(12345));
+	}
+
+	@Test
+	void seedAloneDoesNotDependOnTheClock() {
+		Job job = new SyntheticJobGenerator(7).generate(12345);
+
+		assertEquals(new SyntheticJobGenerator(7, SyntheticJobGenerator.DEFAULT_BASE_TIME).generate(12345), job);
+		assertTrue(job.getCreatedAt().isBefore(SyntheticJobGenerator.DEFAULT_BASE_TIME));
+	}
+
+	@Test
+	void generatedJobsRespectColumnLimits() {
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(42, BASE_TIME);
+		for (long i = 0; i < 10_000; i++) {
+			Job job = generator.generate(i);
+			assertTrue(job.getCompanyName().length() <= 100);
+			assertTrue(job.getAddress().length() <= 500);
+			assertTrue(job.getSkillsRequired().length() <= 1000);
+			assertTrue(job.getJobDescription().length() <= 2000);
+			assertTrue(job.getHiringStages().length() <= 1000);
+			assertTrue(job.getNumberOfOpenings() > 0);
+			assertTrue(job.getSalaryPackage().signum() > 0);
+			assertTrue(job.getExpectedJoiningDate().isAfter(BASE_TIME.toLocalDate()));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.repository.JobStatsRepository;
+import com.mitcsn.job_portal.service.impl.JobFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class JobFeedServiceTest {
+
+	private final JobRepository jobRepository = mock(JobRepository.class);
+	private final JobStatsRepository jobStatsRepository = mock(JobStatsRepository.class);
+	private JobFeedServiceImpl feedService;
+
+	@BeforeEach
+	void setUp() {
+		when(jobStatsRepository.findByLastViewedAtAfter(any())).thenReturn(Collections.emptyList());
+		when(jobRepository.findByIsActiveTrueOrderByCreatedAtDesc(any())).thenReturn(Collections.emptyList());
+		// Every viewed job exists and is active, except job 1
+		when(jobRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+			List<Job> jobs = new ArrayList<>();
+			for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+				if (!id.equals(1L)) {
+					Job job = new Job();
+					job.setId((Long) id);
+					job.setIsActive(true);
+					jobs.add(job);
+				}
+			}
+			return jobs;
+		});
+
+		feedService = new JobFeedServiceImpl(jobRepository, jobStatsRepository, new JobMapper());
+		ReflectionTestUtils.setField(feedService, "feedSize", 10);
+		ReflectionTestUtils.setField(feedService, "halfLifeHours", 24.0);
+		ReflectionTestUtils.setField(feedService, "maxScoredJobs", 100);
+	}
+
+	@Test
+	void keepsOnlyTheHighestScores() {
+		for (long batch = 0; batch < 10; batch++) {
+			Map<Long, Long> views = new HashMap<>();
+			for (long id = batch * 1000 + 2; id < batch * 1000 + 1002; id++) {
+				views.put(id, id);
+			}
+			feedService.recordViews(views);
+		}
+
+		assertEquals(100, scores().size());
+		assertTrue(scores().containsKey(10_001L));
+		assertEquals(10_001L, feedService.getFeaturedJobs(1).get(0).getId());
+	}
+
+	@Test
+	void forgetsFeaturedJobsThatNoLongerExist() {
+		feedService.recordViews(Collections.singletonMap(1L, 1_000L));
+		feedService.recordViews(Collections.singletonMap(2L, 1L));
+		feedService.recordViews(Collections.singletonMap(2L, 1L));
+
+		assertFalse(scores().containsKey(1L));
+		assertEquals(1, feedService.getFeaturedJobs(10).size());
+		// Job 1 was looked up once and job 2 once, the last flush changed nothing
+		verify(jobRepository, times(2)).findAllById(anyIterable());
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Long, Double> scores() {
+		return (Map<Long, Double>) ReflectionTestUtils.getField(feedService, "scores");
+	}
+}
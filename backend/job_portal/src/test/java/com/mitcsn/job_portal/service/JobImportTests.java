@@ -0,0 +1,243 @@
+package com.mitcsn.job_portal.service;
+
+import com.mitcsn.job_portal.dedup.NearDuplicateDetector;
+import com.mitcsn.job_portal.dto.ImportReportDto;
+import com.mitcsn.job_portal.dto.ImportRowErrorDto;
+import com.mitcsn.job_portal.dto.JobFieldSet;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.repository.JobFilter;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.snapshot.JobSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the import pipeline against the embedded database with the job snapshot enabled, so lists
+ * are served from memory the way they are in production. Batches and the queue hold two rows and
+ * only two errors are reported, so small files already span several batches and reach the cap.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:jobportal_import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"jobportal.snapshot.enabled=true",
+		"jobportal.import.batch-size=2",
+		"jobportal.import.queue-capacity=2",
+		"jobportal.import.max-reported-errors=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobImportTests {
+
+	private static final String HEADER = "company_name,address,job_position,number_of_openings,required_experience,"
+			+ "skills_required,job_description,job_type,salary_package\n";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JobImportService jobImportService;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private JobSnapshot jobSnapshot;
+
+	@Autowired
+	private NearDuplicateDetector duplicateDetector;
+
+	@BeforeEach
+	void awaitSnapshot() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!jobSnapshot.find(JobFilter.ALL, JobFieldSet.ALL, PageRequest.of(0, 1)).isPresent()
+				|| !duplicateDetector.isReady()) {
+			assertTrue(System.currentTimeMillis() < deadline, "job snapshot was not loaded");
+			Thread.sleep(20);
+		}
+	}
+
+	@Test
+	void importedJobsAreListedRightAway() throws Exception {
+		ImportReportDto report = importCsv(HEADER
+				+ "Imported Labs,\"12 MG Road, Pune, Maharashtra, India\",Data Engineer,2,2-4 years,\"Python, SQL\",Builds pipelines,FULL_TIME,\n"
+				+ "Imported Labs,\"4 Park Street, Kolkata, West Bengal, India\",QA Engineer,1,0-1 years,Selenium,Tests releases,CONTRACT,\n");
+		assertEquals(2, report.getImportedRows());
+
+		mockMvc.perform(get("/api/v1/jobs/search").param("companyName", "Imported Labs"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(2))
+				.andExpect(jsonPath("$.content[*].jobPosition").value(hasItem("Data Engineer")));
+		mockMvc.perform(get("/api/v1/jobs/stats"))
+				.andExpect(jsonPath("$.byCompany['Imported Labs']").value(2));
+	}
+
+	@Test
+	void reportsInvalidRowsUpToTheCap() throws Exception {
+		ImportReportDto report = importCsv(HEADER
+				+ row("Invalid Labs", "Analyst", "1", "")
+				+ row("", "Analyst", "1", "")
+				+ row("Invalid Labs", "Tester", "0", "")
+				+ row("Invalid Labs", "Designer", "many", "")
+				+ row("Invalid Labs", "Writer", "2", ""));
+
+		assertEquals(5, report.getTotalRows());
+		assertEquals(2, report.getImportedRows());
+		assertEquals(3, report.getFailedRows());
+		assertTrue(report.isErrorsTruncated());
+		assertEquals(2, report.getErrors().size());
+		assertEquals(2, report.getErrors().get(0).getRow());
+		assertEquals(Collections.singletonList("companyName: Company name is required"),
+				report.getErrors().get(0).getErrors());
+		assertEquals(3, report.getErrors().get(1).getRow());
+		assertEquals(Collections.singletonList("numberOfOpenings: Number of openings must be positive"),
+				report.getErrors().get(1).getErrors());
+		assertEquals(2, persisted("Invalid Labs"));
+	}
+
+	@Test
+	void retriesAFailedBatchRowByRow() throws Exception {
+		// The salary passes validation but overflows NUMERIC(12, 2), failing the first batch as a whole
+		ImportReportDto report = importCsv(HEADER
+				+ row("Retry Labs", "Analyst", "1", "500000")
+				+ row("Retry Labs", "Tester", "1", "99999999999")
+				+ row("Retry Labs", "Writer", "1", ""));
+
+		assertEquals(3, report.getTotalRows());
+		assertEquals(2, report.getImportedRows());
+		assertEquals(1, report.getFailedRows());
+		assertFalse(report.isErrorsTruncated());
+		ImportRowErrorDto error = report.getErrors().get(0);
+		assertEquals(2, error.getRow());
+		assertTrue(error.getErrors().get(0).startsWith("Database error: "), error.getErrors().get(0));
+		assertEquals(2, persisted("Retry Labs"));
+	}
+
+	@Test
+	void flagsNearDuplicatesOfJobsAndOfEarlierRows() throws Exception {
+		importCsv(HEADER + duplicateRow("Flag Labs", "Data Engineer"));
+		long existingId = onlyJob("Flag Labs");
+
+		// Rows 1 and 2 share a batch and row 2 repeats row 1, row 3 repeats the job imported above
+		ImportReportDto report = importCsv(HEADER
+				+ duplicateRow("Flag Labs", "Platform Engineer")
+				+ duplicateRow("Flag Labs", "Platform Engineer")
+				+ duplicateRow("Flag Labs", "Data Engineer"));
+
+		assertEquals(3, report.getImportedRows());
+		assertEquals(0, report.getFailedRows());
+		List<Job> imported = jobRepository.findAll().stream()
+				.filter(job -> "Flag Labs".equals(job.getCompanyName()) && job.getId() != existingId)
+				.sorted(Comparator.comparing(Job::getId))
+				.collect(Collectors.toList());
+		assertNull(imported.get(0).getDuplicateOfId());
+		assertEquals(imported.get(0).getId(), imported.get(1).getDuplicateOfId());
+		assertEquals(existingId, imported.get(2).getDuplicateOfId());
+	}
+
+	@Test
+	void rejectsNearDuplicatesAsRowErrors() throws Exception {
+		importCsv(HEADER + duplicateRow("Reject Labs", "Data Engineer"));
+		long existingId = onlyJob("Reject Labs");
+
+		ReflectionTestUtils.setField(duplicateDetector, "policyName", "reject");
+		ImportReportDto report;
+		try {
+			report = importCsv(HEADER
+					+ duplicateRow("Reject Labs", "Platform Engineer")
+					+ duplicateRow("Reject Labs", "Platform Engineer")
+					+ duplicateRow("Reject Labs", "Data Engineer"));
+		} finally {
+			ReflectionTestUtils.setField(duplicateDetector, "policyName", "flag");
+		}
+
+		assertEquals(1, report.getImportedRows());
+		assertEquals(2, report.getFailedRows());
+		assertEquals(2, report.getErrors().get(0).getRow());
+		assertEquals(Collections.singletonList("Job is a near-duplicate of row 1"), report.getErrors().get(0).getErrors());
+		assertEquals(3, report.getErrors().get(1).getRow());
+		assertEquals(Collections.singletonList("Job is a near-duplicate of job with ID: " + existingId),
+				report.getErrors().get(1).getErrors());
+		assertEquals(2, persisted("Reject Labs"));
+	}
+
+	@Test
+	void stopsWhenTheInputFails() throws InterruptedException {
+		String rows = HEADER;
+		for (int i = 1; i <= 6; i++) {
+			rows += row("Broken Labs", "Engineer " + i, "1", "");
+		}
+		InputStream input = new SequenceInputStream(new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)),
+				new InputStream() {
+					@Override
+					public int read() throws IOException {
+						throw new IOException("Connection reset");
+					}
+				});
+
+		IOException ex = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IOException.class,
+				() -> jobImportService.importJobs(input, JobImportService.Format.CSV)));
+		assertEquals("Connection reset", ex.getMessage());
+		// Batches committed before the failure stay
+		assertEquals(6, persisted("Broken Labs"));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (parserRunning()) {
+			assertTrue(System.currentTimeMillis() < deadline, "parser thread did not stop");
+			Thread.sleep(20);
+		}
+	}
+
+	private static String row(String companyName, String jobPosition, String openings, String salary) {
+		return companyName + ",\"1 Main Road, Pune, Maharashtra, India\"," + jobPosition + "," + openings
+				+ ",1-2 years,Java,Imported job,FULL_TIME," + salary + "\n";
+	}
+
+	// Distinct per position, so only rows with the same company and position are near-duplicates
+	private static String duplicateRow(String companyName, String jobPosition) {
+		return companyName + ",\"1 Main Road, Pune, Maharashtra, India\"," + jobPosition + ",1,1-2 years,Java,"
+				+ "\"" + jobPosition + " owning the ingestion pipelines and on-call rotation of " + companyName
+				+ "\",FULL_TIME,\n";
+	}
+
+	private long onlyJob(String companyName) {
+		List<Job> jobs = jobRepository.findAll().stream()
+				.filter(job -> companyName.equals(job.getCompanyName())).collect(Collectors.toList());
+		assertEquals(1, jobs.size());
+		return jobs.get(0).getId();
+	}
+
+	private long persisted(String companyName) {
+		return jobRepository.findAll().stream().filter(job -> companyName.equals(job.getCompanyName())).count();
+	}
+
+	private static boolean parserRunning() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.anyMatch(thread -> thread.getName().equals("job-import-parser") && thread.isAlive());
+	}
+
+	private ImportReportDto importCsv(String csv) throws Exception {
+		return jobImportService.importJobs(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+				JobImportService.Format.CSV);
+	}
+}
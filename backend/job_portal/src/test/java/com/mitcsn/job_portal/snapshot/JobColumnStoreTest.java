@@ -0,0 +1,250 @@
+package com.mitcsn.job_portal.snapshot;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import com.mitcsn.job_portal.repository.JobFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobColumnStoreTest {
+
+	private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private final JobMapper jobMapper = new JobMapper();
+
+	@Test
+	void roundTripsAllStoredFields() {
+		JobResponseDto original = job(1);
+		JobColumnStore store = new JobColumnStore();
+		store.upsert(original);
+
+		JobResponseDto stored = store.query(JobFilter.ALL, false, false, 0, 10).getJobs().get(0);
+		original.setAddress(null);
+		original.setSkillsRequired(null);
+		original.setJobDescription(null);
+		original.setHiringStages(null);
+		// salary_package is NUMERIC(12, 2), the store returns it the way the database does
+		original.setSalaryPackage(original.getSalaryPackage().setScale(2));
+		assertEquals(original, stored);
+	}
+
+	@Test
+	void filtersMatchTheRepositoryQueries() {
+		List<JobResponseDto> jobs = new ArrayList<>();
+		JobColumnStore store = new JobColumnStore(16);
+		for (long id = 1; id <= 2000; id++) {
+			JobResponseDto job = job(id);
+			jobs.add(job);
+			store.upsert(job);
+		}
+
+		JobFilter filter = JobFilter.builder().skill("java").jobType(Job.JobType.FULL_TIME).build();
+		List<Long> expected = jobs.stream()
+				.filter(job -> job.getSkillsRequired().toLowerCase().contains("java"))
+				.filter(job -> job.getJobType() == Job.JobType.FULL_TIME)
+				.map(JobResponseDto::getId)
+				.collect(Collectors.toList());
+
+		JobColumnStore.Result result = store.query(filter, false, false, 0, Integer.MAX_VALUE);
+		assertEquals(expected, result.getJobs().stream().map(JobResponseDto::getId).collect(Collectors.toList()));
+		assertEquals(expected.size(), result.getTotal());
+	}
+
+	@Test
+	void matchesSkillsLikeTheWholeText() {
+		JobColumnStore store = new JobColumnStore();
+		JobResponseDto job = job(1);
+		StringBuilder skills = new StringBuilder("Spring Boot");
+		for (int i = 0; i < 200; i++) {
+			skills.append(",s").append(i);
+		}
+		job.setSkillsRequired(skills.append(", Apache Kafka").toString());
+		store.upsert(job);
+
+		for (String skill : new String[] {"spring boot", "G BO", "kafka", "s199"}) {
+			JobFilter filter = JobFilter.builder().skill(skill).build();
+			assertTrue(JobColumnStore.supports(filter), skill);
+			assertEquals(1, store.query(filter, false, false, 0, 10).getTotal(), skill);
+		}
+		// Only the full text can tell whether these match
+		for (String skill : new String[] {"boot,s0", " kafka", "kafka ", ""}) {
+			assertFalse(JobColumnStore.supports(JobFilter.builder().skill(skill).build()), skill);
+		}
+	}
+
+	@Test
+	void ordersByCreatedAtAndPages() {
+		JobColumnStore store = new JobColumnStore();
+		for (long id = 1; id <= 100; id++) {
+			store.upsert(job(id));
+		}
+
+		List<JobResponseDto> newest = store.query(JobFilter.ALL, true, true, 10, 20).getJobs();
+		assertEquals(20, newest.size());
+		for (int i = 1; i < newest.size(); i++) {
+			assertFalse(newest.get(i).getCreatedAt().isAfter(newest.get(i - 1).getCreatedAt()));
+		}
+	}
+
+	@Test
+	void keepsTheCreatedOrderAcrossWritesAndLoads() {
+		JobColumnStore updated = new JobColumnStore(16);
+		JobColumnStore loaded = new JobColumnStore(16);
+		for (long id = 1; id <= 300; id++) {
+			updated.upsert(job(id));
+			loaded.append(job(id));
+		}
+		loaded.sortCreatedOrder();
+		JobResponseDto moved = job(7);
+		moved.setCreatedAt(BASE_TIME.plusDays(1));
+		updated.upsert(moved);
+		loaded.upsert(moved);
+
+		List<JobResponseDto> newest = updated.query(JobFilter.ALL, true, true, 0, 300).getJobs();
+		assertEquals(7L, newest.get(0).getId());
+		assertEquals(newest, loaded.query(JobFilter.ALL, true, true, 0, 300).getJobs());
+		for (int i = 1; i < newest.size(); i++) {
+			assertFalse(newest.get(i).getCreatedAt().isAfter(newest.get(i - 1).getCreatedAt()));
+		}
+	}
+
+	@Test
+	void keepsTimestampsAfter2038() {
+		JobColumnStore updated = new JobColumnStore();
+		JobColumnStore loaded = new JobColumnStore();
+		LocalDateTime[] createdAt = {BASE_TIME, LocalDateTime.of(2040, 3, 1, 8, 30, 15, 123456000),
+				LocalDateTime.of(2106, 12, 31, 23, 59), LocalDateTime.of(2038, 1, 19, 3, 14, 8),
+				LocalDateTime.of(1960, 6, 1, 0, 0)};
+		for (int i = 0; i < createdAt.length; i++) {
+			JobResponseDto job = job(i + 1);
+			job.setCreatedAt(createdAt[i]);
+			job.setUpdatedAt(createdAt[i].plusYears(1));
+			updated.upsert(job);
+			loaded.append(job);
+		}
+		loaded.sortCreatedOrder();
+
+		for (JobColumnStore store : new JobColumnStore[] {updated, loaded}) {
+			List<JobResponseDto> newest = store.query(JobFilter.ALL, true, true, 0, 10).getJobs();
+			assertEquals(Arrays.asList(3L, 2L, 4L, 1L, 5L),
+					newest.stream().map(JobResponseDto::getId).collect(Collectors.toList()));
+			assertEquals(createdAt[1], newest.get(1).getCreatedAt());
+			assertEquals(createdAt[2].plusYears(1), newest.get(0).getUpdatedAt());
+		}
+	}
+
+	@Test
+	void readsStayConsistentDuringWrites() throws Exception {
+		JobColumnStore store = new JobColumnStore(16);
+		for (long id = 1; id <= 100; id++) {
+			store.upsert(job(id));
+		}
+		JobFilter filter = JobFilter.builder().companyName("a").skill("a").build();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService readers = Executors.newFixedThreadPool(4);
+		List<Future<?>> reads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			reads.add(readers.submit(() -> {
+				while (writing.get()) {
+					List<JobResponseDto> jobs = store.query(filter, true, true, 0, 50).getJobs();
+					for (int j = 1; j < jobs.size(); j++) {
+						assertFalse(jobs.get(j).getCreatedAt().isAfter(jobs.get(j - 1).getCreatedAt()));
+					}
+				}
+				return null;
+			}));
+		}
+		try {
+			// Every write adds new dictionary codes while the readers match against the dictionaries
+			for (long id = 101; id <= 20000; id++) {
+				JobResponseDto job = job(id);
+				job.setCompanyName(job.getCompanyName() + " " + id);
+				job.setSkillsRequired(job.getSkillsRequired() + ", Skill" + id);
+				store.upsert(job);
+			}
+		} finally {
+			writing.set(false);
+			readers.shutdown();
+		}
+		for (Future<?> read : reads) {
+			read.get(30, TimeUnit.SECONDS);
+		}
+		assertEquals(20000, store.size());
+	}
+
+	@Test
+	void removesAndReactivatesJobs() {
+		JobColumnStore store = new JobColumnStore();
+		store.upsert(job(1));
+		store.upsert(job(2));
+		store.remove(1);
+		assertEquals(1, store.size());
+
+		JobResponseDto inactive = job(2);
+		inactive.setIsActive(false);
+		store.upsert(inactive);
+		assertEquals(0, store.size());
+
+		store.upsert(job(1));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void insertsJobsCommittedOutOfIdOrder() {
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1; id <= 500; id++) {
+			ids.add(id);
+		}
+		Collections.shuffle(ids, new Random(7));
+		JobColumnStore shuffled = new JobColumnStore(16);
+		JobColumnStore ordered = new JobColumnStore(16);
+		for (long id : ids) {
+			shuffled.upsert(job(id));
+		}
+		for (long id = 1; id <= 500; id++) {
+			ordered.upsert(job(id));
+		}
+		JobResponseDto updated = job(3);
+		updated.setCreatedAt(BASE_TIME.plusDays(1));
+		updated.setCompanyName("Moved Labs");
+		shuffled.upsert(updated);
+		ordered.upsert(updated);
+		shuffled.remove(250);
+		ordered.remove(250);
+
+		List<JobResponseDto> byId = shuffled.query(JobFilter.ALL, false, false, 0, 500).getJobs();
+		assertEquals(499, byId.size());
+		for (int i = 1; i < byId.size(); i++) {
+			assertTrue(byId.get(i).getId() > byId.get(i - 1).getId());
+		}
+		assertEquals(ordered.query(JobFilter.ALL, false, false, 0, 500).getJobs(), byId);
+		List<JobResponseDto> newest = shuffled.query(JobFilter.ALL, true, true, 0, 500).getJobs();
+		assertEquals(3L, newest.get(0).getId());
+		assertEquals(ordered.query(JobFilter.ALL, true, true, 0, 500).getJobs(), newest);
+		JobFilter skill = JobFilter.builder().skill("java").build();
+		assertEquals(ordered.query(skill, false, false, 0, 500).getJobs(), shuffled.query(skill, false, false, 0, 500).getJobs());
+	}
+
+	private JobResponseDto job(long id) {
+		Job job = new SyntheticJobGenerator(42, BASE_TIME).generate(id);
+		job.setId(id);
+		job.setIsActive(true);
+		return jobMapper.toResponseDto(job);
+	}
+}
@@ -0,0 +1,73 @@
+package com.mitcsn.job_portal.snapshot;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.mapper.JobMapper;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the retained heap per job of the columnar snapshot with a list of response DTOs,
+ * with and without their free-text fields, by measuring used heap after forced collections.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mitcsn.job_portal.snapshot.SnapshotFootprintBenchmark -Dexec.args="200000"
+ * </pre>
+ */
+public class SnapshotFootprintBenchmark {
+
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(42, LocalDateTime.of(2025, 1, 1, 12, 0));
+		JobMapper jobMapper = new JobMapper();
+
+		long baseline = usedHeap();
+		List<JobResponseDto> objects = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			objects.add(dto(generator, jobMapper, i));
+		}
+		long objectBytes = usedHeap() - baseline;
+
+		for (JobResponseDto dto : objects) {
+			dto.setAddress(null);
+			dto.setSkillsRequired(null);
+			dto.setJobDescription(null);
+			dto.setHiringStages(null);
+		}
+		long objectWithoutTextBytes = usedHeap() - baseline;
+		objects = null;
+
+		baseline = usedHeap();
+		JobColumnStore store = new JobColumnStore(count);
+		for (int i = 0; i < count; i++) {
+			store.append(dto(generator, jobMapper, i));
+		}
+		store.sortCreatedOrder();
+		long columnBytes = usedHeap() - baseline;
+
+		System.out.printf("%,d jobs%n", count);
+		System.out.printf("objects (all fields):      %,6d bytes/job%n", objectBytes / count);
+		System.out.printf("objects (without text):    %,6d bytes/job%n", objectWithoutTextBytes / count);
+		System.out.printf("columnar snapshot:         %,6d bytes/job (estimated %,d)%n",
+				columnBytes / count, store.estimatedBytesPerJob());
+	}
+
+	private static JobResponseDto dto(SyntheticJobGenerator generator, JobMapper jobMapper, long index) {
+		Job job = generator.generate(index);
+		job.setId(index + 1);
+		job.setIsActive(true);
+		return jobMapper.toResponseDto(job);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
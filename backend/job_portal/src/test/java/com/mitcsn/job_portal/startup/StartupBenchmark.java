@@ -0,0 +1,160 @@
+package com.mitcsn.job_portal.startup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures time-to-first-request: the wall time from launching a fresh JVM until the first
+ * successful response. Each run starts a new process on a free port and kills it afterwards.
+ *
+ * <pre>
+ * ./mvnw -DskipTests package
+ * ./mvnw -Pstartup-bench test-compile exec:java -Dexec.args="--runs=5 --max-millis=4000"
+ * ./mvnw -Pstartup-bench test-compile exec:java -Dexec.args="--cds=target/cds/app.jsa"
+ * </pre>
+ */
+public class StartupBenchmark {
+
+	private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+	private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (!arg.startsWith("--") || separator < 0) {
+				throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+			}
+			options.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+
+		int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+		String profile = options.getOrDefault("profile", "fast-startup");
+		String path = options.getOrDefault("path", "/api/v1/jobs/enums/job-types");
+		String cds = options.get("cds");
+		long maxMillis = Long.parseLong(options.getOrDefault("max-millis", "0"));
+		List<String> jvmArgs = options.containsKey("jvm-args")
+				? Arrays.asList(options.get("jvm-args").split(" ")) : Collections.<String>emptyList();
+
+		List<Long> firstRequestMillis = new ArrayList<>();
+		for (int run = 1; run <= runs; run++) {
+			int port = freePort();
+			List<String> command = new ArrayList<>();
+			command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+			command.addAll(jvmArgs);
+			if (cds != null) {
+				// The archive only applies to a flat class path, as produced by scripts/build-cds-archive.sh
+				File exploded = new File(cds).getParentFile();
+				command.add("-XX:SharedArchiveFile=" + cds);
+				command.add("-cp");
+				command.add(new File(exploded, "application.jar") + File.pathSeparator
+						+ new File(exploded, "lib") + File.separator + "*");
+				command.add("com.mitcsn.job_portal.JobPortalApplication");
+			} else {
+				command.add("-jar");
+				command.add(options.getOrDefault("jar", findBootJar()));
+			}
+			command.add("--server.port=" + port);
+			if (!profile.isEmpty()) {
+				command.add("--spring.profiles.active=" + profile);
+			}
+
+			long launchedAt = System.nanoTime();
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			AtomicReference<String> reportedStartup = new AtomicReference<>("?");
+			Thread outputReader = readOutput(process.getInputStream(), reportedStartup);
+			try {
+				long elapsed = waitForFirstResponse(process, "http://localhost:" + port + path, launchedAt);
+				firstRequestMillis.add(elapsed);
+				System.out.printf("run %d: first response after %d ms (Spring reported startup %s s)%n",
+						run, elapsed, reportedStartup.get());
+			} finally {
+				process.destroy();
+				if (!process.waitFor(10, TimeUnit.SECONDS)) {
+					process.destroyForcibly();
+				}
+				outputReader.join(TimeUnit.SECONDS.toMillis(5));
+			}
+		}
+
+		Collections.sort(firstRequestMillis);
+		long median = firstRequestMillis.get(firstRequestMillis.size() / 2);
+		System.out.printf("time-to-first-request over %d runs: min %d ms, median %d ms, max %d ms%n", runs,
+				firstRequestMillis.get(0), median, firstRequestMillis.get(firstRequestMillis.size() - 1));
+
+		if (maxMillis > 0 && median > maxMillis) {
+			System.out.printf("REGRESSION: median %d ms exceeds the limit of %d ms%n", median, maxMillis);
+			System.exit(1);
+		}
+	}
+
+	private static long waitForFirstResponse(Process process, String url, long launchedAt) throws Exception {
+		while (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt) < TIMEOUT_MILLIS) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with status " + process.exitValue());
+			}
+			try {
+				HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+				connection.setConnectTimeout(100);
+				connection.setReadTimeout((int) TIMEOUT_MILLIS);
+				if (connection.getResponseCode() == 200) {
+					return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+				}
+			} catch (IOException ex) {
+				// Not listening yet
+			}
+			Thread.sleep(10);
+		}
+		throw new IllegalStateException("No successful response from " + url + " within " + TIMEOUT_MILLIS + " ms");
+	}
+
+	private static Thread readOutput(InputStream output, AtomicReference<String> reportedStartup) {
+		Thread thread = new Thread(() -> {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(output, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					Matcher matcher = STARTED.matcher(line);
+					if (matcher.find()) {
+						reportedStartup.set(matcher.group(1));
+					}
+				}
+			} catch (IOException ex) {
+				// Process was terminated
+			}
+		}, "startup-output");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private static String findBootJar() {
+		File[] jars = new File("target").listFiles((dir, name) -> name.startsWith("job_portal-") && name.endsWith(".jar"));
+		if (jars == null || jars.length == 0) {
+			throw new IllegalStateException("No boot jar in target/, run ./mvnw -DskipTests package first");
+		}
+		return jars[0].getPath();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
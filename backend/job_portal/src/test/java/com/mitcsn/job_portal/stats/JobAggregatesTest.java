@@ -0,0 +1,114 @@
+package com.mitcsn.job_portal.stats;
+
+import com.mitcsn.job_portal.dto.JobResponseDto;
+import com.mitcsn.job_portal.dto.JobStatisticsDto;
+import com.mitcsn.job_portal.dto.PositionStatisticsDto;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.util.Addresses;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobAggregatesTest {
+
+	private static JobResponseDto job(String company, String address, String position, int openings, String salary) {
+		JobResponseDto job = new JobResponseDto();
+		job.setCompanyName(company);
+		job.setAddress(address);
+		job.setJobPosition(position);
+		job.setNumberOfOpenings(openings);
+		job.setSalaryPackage(salary == null ? null : new BigDecimal(salary));
+		job.setCompanySize(Job.CompanySize.MEDIUM);
+		job.setJobType(Job.JobType.FULL_TIME);
+		job.setIsActive(true);
+		return job;
+	}
+
+	@Test
+	void countsGroupsAndAveragesSalaries() {
+		JobAggregates aggregates = new JobAggregates();
+		aggregates.add(job("Acme", "1 MG Road, Pune, Maharashtra, India", "Developer", 2, "500000"));
+		aggregates.add(job("Acme", "Pune, Maharashtra, India", "Developer", 3, "700000.50"));
+		aggregates.add(job("Globex", "Bangalore", "Developer", 1, null));
+		aggregates.add(job("Globex", "Bangalore", "Tester", 4, "400000"));
+
+		JobStatisticsDto stats = aggregates.toDto(null);
+		assertEquals(4, stats.getTotalJobs());
+		assertEquals(10, stats.getTotalOpenings());
+		assertEquals(2L, stats.getByCompany().get("Acme"));
+		assertEquals(4L, stats.getByCompanySize().get(Job.CompanySize.MEDIUM));
+		assertEquals(4L, stats.getByJobType().get(Job.JobType.FULL_TIME));
+		assertEquals(2L, stats.getByCity().get("Pune"));
+		assertEquals(2L, stats.getByCity().get("Bangalore"));
+
+		PositionStatisticsDto developer = stats.getByPosition().get("Developer");
+		assertEquals(3, developer.getJobs());
+		assertEquals(6, developer.getOpenings());
+		assertEquals(new BigDecimal("600000.25"), developer.getAverageSalary());
+		assertEquals("Developer", new ArrayList<>(stats.getByPosition().keySet()).get(0));
+	}
+
+	@Test
+	void removingEveryJobDropsItsGroups() {
+		JobAggregates aggregates = new JobAggregates();
+		JobResponseDto kept = job("Acme", "Pune", "Developer", 2, "500000");
+		JobResponseDto removed = job("Globex", "Delhi", "Tester", 1, null);
+		aggregates.add(kept);
+		aggregates.add(removed);
+		aggregates.remove(removed);
+
+		JobStatisticsDto stats = aggregates.toDto(null);
+		assertEquals(1, stats.getTotalJobs());
+		assertEquals(2, stats.getTotalOpenings());
+		assertFalse(stats.getByCompany().containsKey("Globex"));
+		assertFalse(stats.getByCity().containsKey("Delhi"));
+		assertFalse(stats.getByPosition().containsKey("Tester"));
+		assertEquals(1L, stats.getByJobType().get(Job.JobType.FULL_TIME));
+
+		JobAggregates recounted = new JobAggregates();
+		recounted.add(kept);
+		assertTrue(aggregates.matches(recounted));
+	}
+
+	@Test
+	void listsTheLargestGroupsUpToTheCap() {
+		JobAggregates aggregates = new JobAggregates();
+		JobResponseDto moved = job("Initech", "Delhi", "Tester", 1, null);
+		aggregates.add(job("Acme", "Pune", "Developer", 1, null));
+		aggregates.add(job("Globex", "Pune", "Developer", 1, null));
+		aggregates.add(job("Globex", "Delhi", "Designer", 1, null));
+		aggregates.add(job("Hooli", "Delhi", "Designer", 1, null));
+		aggregates.add(moved);
+		aggregates.add(job("Initech", "Chennai", "Tester", 1, null));
+		aggregates.add(job("Initech", "Chennai", "Tester", 1, null));
+
+		JobStatisticsDto stats = aggregates.toDto(null, 2);
+		assertEquals(7, stats.getTotalJobs());
+		assertEquals(Arrays.asList("Initech", "Globex"), new ArrayList<>(stats.getByCompany().keySet()));
+		assertEquals(Arrays.asList("Tester", "Designer"), new ArrayList<>(stats.getByPosition().keySet()));
+		// Equal sizes are listed by name
+		assertEquals(Arrays.asList("Delhi", "Chennai"), new ArrayList<>(stats.getByCity().keySet()));
+
+		aggregates.remove(moved);
+		aggregates.add(job("Acme", "Pune", "Developer", 1, null));
+		stats = aggregates.toDto(null, 2);
+		assertEquals(Arrays.asList("Pune", "Chennai"), new ArrayList<>(stats.getByCity().keySet()));
+		assertEquals(3L, stats.getByCity().get("Pune"));
+		assertEquals(Arrays.asList("Developer", "Designer"), new ArrayList<>(stats.getByPosition().keySet()));
+		assertEquals(Arrays.asList("Acme", "Globex", "Initech", "Hooli"),
+				new ArrayList<>(aggregates.toDto(null).getByCompany().keySet()));
+	}
+
+	@Test
+	void findsTheCityOfAnAddress() {
+		assertEquals("Pune", Addresses.city("411 MG Road, Pune, Maharashtra, India"));
+		assertEquals("Pune", Addresses.city("Pune, Maharashtra, India"));
+		assertEquals("Pune", Addresses.city(" Pune "));
+		assertNull(Addresses.city(" "));
+		assertNull(Addresses.city(null));
+	}
+}
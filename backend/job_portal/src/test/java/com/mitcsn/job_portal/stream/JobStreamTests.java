@@ -0,0 +1,154 @@
+package com.mitcsn.job_portal.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mitcsn.job_portal.entity.Job;
+import com.mitcsn.job_portal.repository.JobRepository;
+import com.mitcsn.job_portal.seed.SyntheticJobGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Runs on a real server: the non-blocking writes are not available through MockMvc. The small
+ * chunk size makes every stream span several fetches.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:jobportal_stream;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"jobportal.stream.chunk-size=3"})
+@ActiveProfiles("test")
+class JobStreamTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@SpyBean
+	private JobRepository jobRepository;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private List<Job> jobs;
+
+	@BeforeEach
+	void createJobs() {
+		jobRepository.deleteAll();
+		SyntheticJobGenerator generator = new SyntheticJobGenerator(7);
+		List<Job> generated = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			generated.add(generator.generate(i));
+		}
+		jobs = jobRepository.saveAll(generated);
+	}
+
+	@Test
+	void streamsAllActiveJobsInIdOrder() throws Exception {
+		ResponseEntity<String> response = restTemplate.getForEntity("/api/v1/jobs/stream", String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(JobStreamer.CONTENT_TYPE, response.getHeaders().getContentType().toString());
+
+		List<Long> expected = jobs.stream().filter(Job::getIsActive).map(Job::getId).sorted().collect(Collectors.toList());
+		List<Long> streamed = new ArrayList<>();
+		for (JsonNode row : rows(response.getBody())) {
+			streamed.add(row.get("id").asLong());
+			assertTrue(row.has("jobDescription"));
+		}
+		assertEquals(expected, streamed);
+	}
+
+	@Test
+	void appliesFiltersAndFields() throws Exception {
+		Job.JobType jobType = jobs.get(0).getJobType();
+		ResponseEntity<String> response = restTemplate.getForEntity(
+				"/api/v1/jobs/stream?jobType={type}&fields=companyName", String.class, jobType);
+
+		List<Long> expected = jobs.stream().filter(job -> job.getIsActive() && job.getJobType() == jobType)
+				.map(Job::getId).sorted().collect(Collectors.toList());
+		List<Long> streamed = new ArrayList<>();
+		for (JsonNode row : rows(response.getBody())) {
+			streamed.add(row.get("id").asLong());
+			assertEquals(2, row.size());
+		}
+		assertEquals(expected, streamed);
+	}
+
+	@Test
+	void endsACompleteStreamWithTheCompleteStatus() throws Exception {
+		String response = rawGet("/api/v1/jobs/stream");
+		assertTrue(response.contains("Trailer: " + JobStreamer.STATUS_TRAILER), response);
+		assertTrue(response.endsWith("\r\n0\r\n" + JobStreamer.STATUS_TRAILER + ": complete\r\n\r\n"), response);
+	}
+
+	@Test
+	void marksAStreamCutShortByAFailedFetch() throws Exception {
+		// The first chunk loads, the next fails after the status and rows are sent
+		doThrow(new DataAccessResourceFailureException("Connection refused"))
+				.when(jobRepository).findProjectedAfter(any(), any(), longThat(afterId -> afterId > 0), anyInt());
+
+		String response = rawGet("/api/v1/jobs/stream");
+		assertTrue(response.startsWith("HTTP/1.1 200"), response);
+		assertTrue(response.endsWith("\r\n0\r\n" + JobStreamer.STATUS_TRAILER + ": failed\r\n\r\n"), response);
+	}
+
+	@Test
+	void rejectsUnknownFieldsBeforeStreaming() {
+		ResponseEntity<String> response = restTemplate.getForEntity("/api/v1/jobs/stream?fields=bogus", String.class);
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+	}
+
+	// The whole response as sent, trailers included, which HTTP clients do not expose
+	private String rawGet(String path) throws IOException {
+		try (Socket socket = new Socket("localhost", port)) {
+			socket.setSoTimeout(10_000);
+			OutputStream out = socket.getOutputStream();
+			out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+					.getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			InputStream in = socket.getInputStream();
+			byte[] buffer = new byte[8192];
+			for (int read; (read = in.read(buffer)) != -1; ) {
+				response.write(buffer, 0, read);
+			}
+			return new String(response.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private List<JsonNode> rows(String body) throws Exception {
+		List<JsonNode> rows = new ArrayList<>();
+		if (body == null) {
+			return rows;
+		}
+		for (String line : body.split("\n")) {
+			rows.add(objectMapper.readTree(line));
+		}
+		return rows;
+	}
+}
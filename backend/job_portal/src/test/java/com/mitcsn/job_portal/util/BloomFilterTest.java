@@ -0,0 +1,35 @@
+package com.mitcsn.job_portal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+	@Test
+	void neverMissesAddedKeys() {
+		BloomFilter filter = new BloomFilter(100000, 0.01);
+		for (long id = 1; id <= 100000; id++) {
+			filter.put(id);
+		}
+		for (long id = 1; id <= 100000; id++) {
+			assertTrue(filter.mightContain(id), "id " + id);
+		}
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheConfiguredRate() {
+		BloomFilter filter = new BloomFilter(100000, 0.01);
+		for (long id = 1; id <= 100000; id++) {
+			filter.put(id);
+		}
+		int falsePositives = 0;
+		for (long id = 1000001; id <= 1100000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 1500, "false positives: " + falsePositives);
+		assertEquals(7, filter.hashCount());
+	}
+}
@@ -0,0 +1,39 @@
+package com.mitcsn.job_portal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+	@Test
+	void readsPlainAndQuotedFields() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader(
+				"companyName,skillsRequired\r\nAcme,\"Java, Spring\"\n\"Say \"\"hi\"\"\",\"line1\nline2\"\n"));
+
+		assertEquals(Arrays.asList("companyName", "skillsRequired"), reader.readRecord());
+		assertEquals(Arrays.asList("Acme", "Java, Spring"), reader.readRecord());
+		assertEquals(Arrays.asList("Say \"hi\"", "line1\nline2"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void keepsEmptyFieldsAndLastRecordWithoutNewline() throws IOException {
+		CsvReader reader = new CsvReader(new StringReader("a,,c\n,,"));
+
+		assertEquals(Arrays.asList("a", "", "c"), reader.readRecord());
+		assertEquals(Arrays.asList("", "", ""), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void rejectsUnterminatedQuote() {
+		CsvReader reader = new CsvReader(new StringReader("\"open"));
+
+		assertThrows(IOException.class, reader::readRecord);
+	}
+}
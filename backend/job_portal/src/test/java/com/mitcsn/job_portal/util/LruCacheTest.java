@@ -0,0 +1,34 @@
+package com.mitcsn.job_portal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntry() {
+		LruCache<String, Integer> cache = new LruCache<>(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		// Reading a makes b the eldest
+		assertEquals(1, cache.get("a"));
+		cache.put("c", 3);
+
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.get("a"));
+		assertEquals(3, cache.get("c"));
+	}
+
+	@Test
+	void keepsAcceptingNewKeysWhenFull() {
+		LruCache<Integer, Integer> cache = new LruCache<>(4);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, i);
+		}
+		assertEquals(4, cache.size());
+		assertEquals(99, cache.get(99));
+		assertNull(cache.get(95));
+	}
+}